@@ -0,0 +1,238 @@
+// BallSystem.java - Semua bola disimpan sebagai array primitif (struct-of-arrays)
+package com.gimm;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+public class BallSystem implements SpatialHash.Points {
+
+    // Di bawah jumlah ini overhead fork-join lebih mahal daripada loop biasa
+    public static final int PARALLEL_THRESHOLD = 16384;
+    private static final int PARALLEL_CHUNK = 4096;
+
+    private final float radius;
+    private final float[] x;
+    private final float[] y;
+    private final float[] speedX;
+    private final float[] speedY;
+    private int count;
+    private int version;
+
+    private final SpatialHash grid;
+    private final int[] neighbours;
+    private ForkJoinPool pool;
+
+    public BallSystem(int capacity, float radius) {
+        this.radius = radius;
+        x = new float[capacity];
+        y = new float[capacity];
+        speedX = new float[capacity];
+        speedY = new float[capacity];
+        // Cell selebar jarak tabrakan bola-bola, jadi query cukup 2x2 cell
+        grid = new SpatialHash((int) Math.ceil(4 * radius), capacity);
+        neighbours = new int[capacity];
+    }
+
+    /** Pool untuk update paralel saat jumlah bola >= PARALLEL_THRESHOLD; null = selalu serial. */
+    public void setPool(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    public void resize(int width, int height) {
+        grid.resize(width, height);
+    }
+
+    /** Tambah bola; mengembalikan index-nya, atau -1 jika penuh. */
+    public int add(float px, float py, float vx, float vy) {
+        if (count == x.length) {
+            return -1;
+        }
+        int index = count++;
+        x[index] = px;
+        y[index] = py;
+        speedX[index] = vx;
+        speedY[index] = vy;
+        version++;
+        return index;
+    }
+
+    public void clear() {
+        count = 0;
+        version++;
+    }
+
+    public int size() {
+        return count;
+    }
+
+    public int capacity() {
+        return x.length;
+    }
+
+    public float getRadius() {
+        return radius;
+    }
+
+    public int getVersion() {
+        return version;
+    }
+
+    public float getPointX(int index) {
+        return x[index];
+    }
+
+    public float getPointY(int index) {
+        return y[index];
+    }
+
+    public float getSpeedX(int index) {
+        return speedX[index];
+    }
+
+    public float getSpeedY(int index) {
+        return speedY[index];
+    }
+
+    /** Kalikan kecepatan satu bola, dipakai power-up speed/slow. */
+    public void scaleSpeed(int index, float factor) {
+        speedX[index] *= factor;
+        speedY[index] *= factor;
+    }
+
+    /** Balik arah semua bola (tap layar). */
+    public void reverseAll() {
+        for (int i = 0; i < count; i++) {
+            speedX[i] = -speedX[i];
+            speedY[i] = -speedY[i];
+        }
+    }
+
+    /**
+     * Gerakkan semua bola sejauh speed * dt, pantulkan di tepi layar lalu
+     * selesaikan tabrakan antar bola. Mengembalikan jumlah pantulan tepi (untuk skor).
+     */
+    public int step(float dt, int width, int height) {
+        int bounces;
+        if (pool != null && count >= PARALLEL_THRESHOLD) {
+            bounces = pool.invoke(new MoveTask(this, 0, count, dt, width, height));
+        } else {
+            bounces = move(0, count, dt, width, height);
+        }
+        version++;
+        collideBalls();
+        return bounces;
+    }
+
+    // Loop datar tanpa pemanggilan method agar JIT bisa meng-unroll/vektorisasi
+    int move(int from, int to, float dt, int width, int height) {
+        float[] x = this.x;
+        float[] y = this.y;
+        float[] speedX = this.speedX;
+        float[] speedY = this.speedY;
+        for (int i = from; i < to; i++) {
+            x[i] += speedX[i] * dt;
+            y[i] += speedY[i] * dt;
+        }
+
+        float maxX = width - radius;
+        float maxY = height - radius;
+        int bounces = 0;
+        for (int i = from; i < to; i++) {
+            if (x[i] <= radius) {
+                speedX[i] = Math.abs(speedX[i]);
+                bounces++;
+            } else if (x[i] >= maxX) {
+                speedX[i] = -Math.abs(speedX[i]);
+                bounces++;
+            }
+            if (y[i] <= radius) {
+                speedY[i] = Math.abs(speedY[i]);
+                bounces++;
+            } else if (y[i] >= maxY) {
+                speedY[i] = -Math.abs(speedY[i]);
+                bounces++;
+            }
+        }
+        return bounces;
+    }
+
+    // Tabrakan elastis massa sama: komponen kecepatan sepanjang normal ditukar
+    private void collideBalls() {
+        if (count < 2) {
+            return;
+        }
+        grid.build(this);
+        float diameter = 2 * radius;
+        for (int i = 0; i < count; i++) {
+            int found = grid.query(this, x[i], y[i], diameter, neighbours, 0);
+            for (int n = 0; n < found; n++) {
+                int j = neighbours[n];
+                if (j > i) {
+                    resolve(i, j, diameter);
+                }
+            }
+        }
+    }
+
+    private void resolve(int i, int j, float diameter) {
+        float dx = x[j] - x[i];
+        float dy = y[j] - y[i];
+        float distance = (float) Math.sqrt(dx * dx + dy * dy);
+        float nx;
+        float ny;
+        if (distance == 0f) {
+            nx = 1f;
+            ny = 0f;
+        } else {
+            nx = dx / distance;
+            ny = dy / distance;
+        }
+
+        // Dorong keluar supaya tidak saling menempel di frame berikutnya
+        float push = (diameter - distance) * 0.5f;
+        x[i] -= nx * push;
+        y[i] -= ny * push;
+        x[j] += nx * push;
+        y[j] += ny * push;
+
+        float approach = (speedX[i] - speedX[j]) * nx + (speedY[i] - speedY[j]) * ny;
+        if (approach > 0) {
+            speedX[i] -= approach * nx;
+            speedY[i] -= approach * ny;
+            speedX[j] += approach * nx;
+            speedY[j] += approach * ny;
+        }
+    }
+
+    static class MoveTask extends RecursiveTask<Integer> {
+        private static final long serialVersionUID = 1L;
+
+        private final BallSystem balls;
+        private final int from;
+        private final int to;
+        private final float dt;
+        private final int width;
+        private final int height;
+
+        MoveTask(BallSystem balls, int from, int to, float dt, int width, int height) {
+            this.balls = balls;
+            this.from = from;
+            this.to = to;
+            this.dt = dt;
+            this.width = width;
+            this.height = height;
+        }
+
+        @Override
+        protected Integer compute() {
+            if (to - from <= PARALLEL_CHUNK) {
+                return balls.move(from, to, dt, width, height);
+            }
+            int middle = (from + to) >>> 1;
+            MoveTask left = new MoveTask(balls, from, middle, dt, width, height);
+            left.fork();
+            int right = new MoveTask(balls, middle, to, dt, width, height).compute();
+            return right + left.join();
+        }
+    }
+}
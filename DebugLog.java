@@ -0,0 +1,168 @@
+package com.gimm;
+
+import java.io.IOException;
+
+/**
+ * Ring buffer untuk debug log dengan kapasitas tetap. Semua slot dialokasikan di
+ * awal; log() hanya menyimpan timestamp, level, referensi template dan argumen
+ * numerik. Teks baru diformat saat overlay atau export benar-benar membacanya.
+ *
+ * Template memakai placeholder "{}" yang diganti berurutan dengan argumen.
+ */
+public final class DebugLog {
+  // Set ke false untuk release build: javac membuang semua blok "if (DebugLog.ENABLED ...)"
+  public static final boolean ENABLED = true;
+
+  public static final byte LEVEL_DEBUG = 0;
+  public static final byte LEVEL_INFO = 1;
+  public static final byte LEVEL_ERROR = 2;
+
+  private final long[] timestamps;
+  private final byte[] levels;
+  private final String[] messages;
+  private final byte[] argCounts;
+  private final double[] firstArgs;
+  private final double[] secondArgs;
+
+  private int head;
+  private int size;
+
+  public DebugLog(int capacity) {
+    if (capacity <= 0) {
+      throw new IllegalArgumentException("capacity must be positive: " + capacity);
+    }
+    timestamps = new long[capacity];
+    levels = new byte[capacity];
+    messages = new String[capacity];
+    argCounts = new byte[capacity];
+    firstArgs = new double[capacity];
+    secondArgs = new double[capacity];
+  }
+
+  public void log(byte level, String message) {
+    write(level, message, 0, 0, 0);
+  }
+
+  public void log(byte level, String template, double arg) {
+    write(level, template, 1, arg, 0);
+  }
+
+  public void log(byte level, String template, double first, double second) {
+    write(level, template, 2, first, second);
+  }
+
+  private void write(byte level, String message, int argCount, double first, double second) {
+    int slot = head;
+    timestamps[slot] = System.currentTimeMillis();
+    levels[slot] = level;
+    messages[slot] = message;
+    argCounts[slot] = (byte) argCount;
+    firstArgs[slot] = first;
+    secondArgs[slot] = second;
+
+    head = (head + 1) % messages.length;
+    if (size < messages.length) {
+      size++;
+    }
+  }
+
+  public int size() {
+    return size;
+  }
+
+  public int capacity() {
+    return messages.length;
+  }
+
+  public void clear() {
+    for (int i = 0; i < messages.length; i++) {
+      messages[i] = null;
+    }
+    head = 0;
+    size = 0;
+  }
+
+  /** Index 0 adalah entry paling lama, size() - 1 yang paling baru. */
+  public long getTimestamp(int index) {
+    return timestamps[slot(index)];
+  }
+
+  public byte getLevel(int index) {
+    return levels[slot(index)];
+  }
+
+  /** Format satu entry ke builder yang dipakai ulang, tanpa alokasi String baru. */
+  public void format(int index, StringBuilder out) {
+    int slot = slot(index);
+    out.append('[').append(timestamps[slot]).append("] ");
+    if (levels[slot] == LEVEL_ERROR) {
+      out.append("ERROR: ");
+    }
+
+    String message = messages[slot];
+    int args = argCounts[slot];
+    int argIndex = 0;
+    int start = 0;
+    int placeholder;
+    while (argIndex < args && (placeholder = message.indexOf("{}", start)) >= 0) {
+      out.append(message, start, placeholder);
+      appendNumber(out, argIndex == 0 ? firstArgs[slot] : secondArgs[slot]);
+      argIndex++;
+      start = placeholder + 2;
+    }
+    out.append(message, start, message.length());
+  }
+
+  public void export(Appendable out) throws IOException {
+    StringBuilder line = new StringBuilder(128);
+    for (int i = 0; i < size; i++) {
+      line.setLength(0);
+      format(i, line);
+      out.append(line).append('\n');
+    }
+  }
+
+  public String export() {
+    StringBuilder out = new StringBuilder(size * 64);
+    for (int i = 0; i < size; i++) {
+      format(i, out);
+      out.append('\n');
+    }
+    return out.toString();
+  }
+
+  private int slot(int index) {
+    if (index < 0 || index >= size) {
+      throw new IndexOutOfBoundsException("index " + index + ", size " + size);
+    }
+    int oldest = head - size;
+    if (oldest < 0) {
+      oldest += messages.length;
+    }
+    return (oldest + index) % messages.length;
+  }
+
+  // Angka bulat tanpa ".0", selain itu dua digit desimal; tidak lewat Double.toString
+  static void appendNumber(StringBuilder out, double value) {
+    long whole = (long) value;
+    if (whole == value) {
+      out.append(whole);
+      return;
+    }
+    if (value < 0) {
+      out.append('-');
+      value = -value;
+      whole = (long) value;
+    }
+    long hundredths = Math.round((value - whole) * 100);
+    if (hundredths == 100) {
+      whole++;
+      hundredths = 0;
+    }
+    out.append(whole).append('.');
+    if (hundredths < 10) {
+      out.append('0');
+    }
+    out.append(hundredths);
+  }
+}
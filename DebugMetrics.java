@@ -0,0 +1,136 @@
+package com.gimm;
+
+/**
+ * Angka yang ditampilkan di debug overlay, juga bisa dibaca langsung lewat getter.
+ * Statistik yang mahal (heap) hanya di-refresh setiap heapRefreshIntervalMs.
+ */
+public final class DebugMetrics {
+  private static final int FPS_SAMPLE_FRAMES = 60;
+
+  private long heapRefreshIntervalMs = 1000;
+  private long lastHeapSampleNanos = Long.MIN_VALUE;
+  private long heapUsedBytes;
+  private long heapTotalBytes;
+
+  private long frameCount;
+  private long fpsWindowStartNanos;
+  private float fps;
+
+  private int gameState;
+  private int score;
+  private int highScore;
+  private float birdY;
+  private float velocity;
+  private int tapCount;
+  private int collisionCount;
+  private int scoringTube;
+  private int numberOfTubes;
+
+  /** Dipanggil sekali per frame dengan System.nanoTime(). */
+  public void onFrame(long nowNanos) {
+    if (frameCount == 0) {
+      fpsWindowStartNanos = nowNanos;
+    }
+    frameCount++;
+
+    // Hitung FPS setiap 60 frame
+    if (frameCount % FPS_SAMPLE_FRAMES == 0) {
+      long elapsed = nowNanos - fpsWindowStartNanos;
+      if (elapsed > 0) {
+        fps = FPS_SAMPLE_FRAMES * 1e9f / elapsed;
+      }
+      fpsWindowStartNanos = nowNanos;
+    }
+
+    if (nowNanos - lastHeapSampleNanos >= heapRefreshIntervalMs * 1000000L
+        || lastHeapSampleNanos == Long.MIN_VALUE) {
+      Runtime runtime = Runtime.getRuntime();
+      heapTotalBytes = runtime.totalMemory();
+      heapUsedBytes = heapTotalBytes - runtime.freeMemory();
+      lastHeapSampleNanos = nowNanos;
+    }
+  }
+
+  public void setGameStats(int gameState, int score, int highScore, float birdY, float velocity,
+                           int tapCount, int collisionCount, int scoringTube, int numberOfTubes) {
+    this.gameState = gameState;
+    this.score = score;
+    this.highScore = highScore;
+    this.birdY = birdY;
+    this.velocity = velocity;
+    this.tapCount = tapCount;
+    this.collisionCount = collisionCount;
+    this.scoringTube = scoringTube;
+    this.numberOfTubes = numberOfTubes;
+  }
+
+  public void setHeapRefreshIntervalMs(long heapRefreshIntervalMs) {
+    this.heapRefreshIntervalMs = Math.max(0, heapRefreshIntervalMs);
+  }
+
+  public long getHeapRefreshIntervalMs() {
+    return heapRefreshIntervalMs;
+  }
+
+  public long getHeapUsedBytes() {
+    return heapUsedBytes;
+  }
+
+  public long getHeapTotalBytes() {
+    return heapTotalBytes;
+  }
+
+  public long getFrameCount() {
+    return frameCount;
+  }
+
+  public float getFps() {
+    return fps;
+  }
+
+  public int getGameState() {
+    return gameState;
+  }
+
+  public int getScore() {
+    return score;
+  }
+
+  public int getHighScore() {
+    return highScore;
+  }
+
+  public float getBirdY() {
+    return birdY;
+  }
+
+  public float getVelocity() {
+    return velocity;
+  }
+
+  public int getTapCount() {
+    return tapCount;
+  }
+
+  public int getCollisionCount() {
+    return collisionCount;
+  }
+
+  public int getScoringTube() {
+    return scoringTube;
+  }
+
+  public int getNumberOfTubes() {
+    return numberOfTubes;
+  }
+
+  /** Satu digit desimal tanpa String.format dan tanpa boxing. */
+  static StringBuilder appendOneDecimal(StringBuilder out, float value) {
+    if (value < 0) {
+      out.append('-');
+      value = -value;
+    }
+    long tenths = Math.round(value * 10.0);
+    return out.append(tenths / 10).append('.').append(tenths % 10);
+  }
+}
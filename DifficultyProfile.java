@@ -0,0 +1,93 @@
+package com.gimm;
+
+/**
+ * Satu profil kesulitan (easy/normal/hard): tangga level berisi PhysicsParams
+ * immutable yang dihitung sekali saat profil dibuat. Game hanya memilih satu level
+ * saat sesi dimulai, jadi tidak ada lookup atau alokasi selama permainan.
+ * Perpindahan level antar sesi diatur {@link DifficultyTracker} memakai
+ * promoteScore/demoteScore terhadap rata-rata skor terakhir.
+ */
+public final class DifficultyProfile {
+  // Batas bawah supaya level tertinggi masih bisa dimainkan
+  static final float MIN_GAP = 150f;
+  static final float MIN_SPACING = 0.4f;
+
+  private final String name;
+  private final PhysicsParams[] levels;
+  private final int startLevel;
+  private final int window;
+  private final float promoteScore;
+  private final float demoteScore;
+
+  private DifficultyProfile(String name, PhysicsParams[] levels, int startLevel, int window,
+                            float promoteScore, float demoteScore) {
+    this.name = name;
+    this.levels = levels;
+    this.startLevel = Math.max(0, Math.min(levels.length - 1, startLevel));
+    this.window = window;
+    this.promoteScore = promoteScore;
+    this.demoteScore = demoteScore;
+  }
+
+  /**
+   * Membangun tangga level dari params level 0. Setiap level berikutnya menambah
+   * gapStep ke gap dan minGap, speedStep ke tubeSpeed dan spacingStep ke jarak
+   * antar tiang (biasanya gapStep dan spacingStep negatif).
+   */
+  public static DifficultyProfile build(String name, PhysicsParams base, int levelCount,
+                                        float gapStep, float speedStep, float spacingStep,
+                                        int startLevel, int window,
+                                        float promoteScore, float demoteScore) {
+    if (levelCount < 1 || window < 1) {
+      throw new IllegalArgumentException("Invalid profile " + name + ": levels=" + levelCount
+          + " window=" + window);
+    }
+    PhysicsParams[] levels = new PhysicsParams[levelCount];
+    for (int i = 0; i < levelCount; i++) {
+      levels[i] = new PhysicsParams(base.getNumberOfTubes(),
+          Math.max(MIN_GAP, base.getGap() + gapStep * i),
+          base.getTubeSpeed() + speedStep * i,
+          base.getGravity(), base.getFlapStrength(), base.getMaxVelocity(),
+          Math.max(MIN_SPACING, base.getTubeSpacing() + spacingStep * i),
+          Math.max(MIN_GAP, base.getMinGap() + gapStep * i),
+          Math.max(MIN_SPACING, base.getMinTubeSpacing() + spacingStep * i),
+          base.getRampScore());
+    }
+    return new DifficultyProfile(name, levels, startLevel, window, promoteScore, demoteScore);
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public int getLevelCount() {
+    return levels.length;
+  }
+
+  /** Params level yang sudah dihitung; level di luar rentang di-clamp. */
+  public PhysicsParams getLevel(int level) {
+    return levels[Math.max(0, Math.min(levels.length - 1, level))];
+  }
+
+  public int getStartLevel() {
+    return startLevel;
+  }
+
+  /** Jumlah sesi terakhir yang dirata-rata sebelum level boleh berubah. */
+  public int getWindow() {
+    return window;
+  }
+
+  public float getPromoteScore() {
+    return promoteScore;
+  }
+
+  public float getDemoteScore() {
+    return demoteScore;
+  }
+
+  @Override
+  public String toString() {
+    return name + " (" + levels.length + " levels, start " + startLevel + ")";
+  }
+}
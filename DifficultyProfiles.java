@@ -0,0 +1,105 @@
+package com.gimm;
+
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.XmlReader;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Semua profil kesulitan, dibaca dari config/difficulty.xml:
+ * <pre>
+ * &lt;difficulty&gt;
+ *   &lt;profile name="normal" gap="400" tube-speed="240" spacing="1"
+ *            min-gap="340" min-spacing="0.85" ramp-score="60"
+ *            levels="4" gap-step="-15" speed-step="15" spacing-step="-0.05"
+ *            window="3" promote-score="20" demote-score="4"/&gt;
+ * &lt;/difficulty&gt;
+ * </pre>
+ * Atribut yang tidak ditulis memakai nilai {@link PhysicsParams#DEFAULT}. Jika file
+ * tidak ada, profil bawaan yang sama dipakai. Kecepatan karakter dari player.xml
+ * diterapkan sebagai pengali tubeSpeed saat tangga level dihitung.
+ */
+public final class DifficultyProfiles {
+  public static final String DEFAULT_PROFILE = "normal";
+  // <speed> di player.xml yang berarti kecepatan normal
+  public static final float DEFAULT_PLAYER_SPEED = 10f;
+
+  private final Map<String, DifficultyProfile> profiles = new HashMap<String, DifficultyProfile>();
+
+  private DifficultyProfiles() {
+  }
+
+  /** Profil bawaan easy/normal/hard. */
+  public static DifficultyProfiles defaults(float speedScale) {
+    PhysicsParams base = PhysicsParams.DEFAULT;
+    DifficultyProfiles result = new DifficultyProfiles();
+    result.add(DifficultyProfile.build("easy",
+        scaled(base.withGap(480f).withTubeSpeed(200f).withTubeSpacing(1.15f)
+            .withRamp(420f, 1f, 50), speedScale),
+        3, -20f, 10f, -0.05f, 0, 3, 12f, 3f));
+    result.add(DifficultyProfile.build("normal",
+        scaled(base.withRamp(340f, 0.85f, 60), speedScale),
+        4, -15f, 15f, -0.05f, 0, 3, 20f, 4f));
+    result.add(DifficultyProfile.build("hard",
+        scaled(base.withGap(340f).withTubeSpeed(280f).withTubeSpacing(0.9f)
+            .withRamp(290f, 0.8f, 40), speedScale),
+        4, -10f, 20f, -0.03f, 0, 3, 25f, 5f));
+    return result;
+  }
+
+  /** Root &lt;difficulty&gt; dari XmlReader; profil bawaan yang tidak ditimpa tetap ada. */
+  public static DifficultyProfiles fromXml(XmlReader.Element root, float speedScale) {
+    DifficultyProfiles result = defaults(speedScale);
+    Array<XmlReader.Element> elements = root.getChildrenByName("profile");
+    for (int i = 0; i < elements.size; i++) {
+      result.add(parse(elements.get(i), speedScale));
+    }
+    return result;
+  }
+
+  private static DifficultyProfile parse(XmlReader.Element element, float speedScale) {
+    PhysicsParams defaults = PhysicsParams.DEFAULT;
+    float gap = element.getFloatAttribute("gap", defaults.getGap());
+    PhysicsParams base = new PhysicsParams(
+        element.getIntAttribute("tubes", defaults.getNumberOfTubes()),
+        gap,
+        element.getFloatAttribute("tube-speed", defaults.getTubeSpeed()),
+        element.getFloatAttribute("gravity", defaults.getGravity()),
+        element.getFloatAttribute("flap-strength", defaults.getFlapStrength()),
+        element.getFloatAttribute("max-velocity", defaults.getMaxVelocity()),
+        element.getFloatAttribute("spacing", 1f),
+        element.getFloatAttribute("min-gap", gap),
+        element.getFloatAttribute("min-spacing", element.getFloatAttribute("spacing", 1f)),
+        element.getIntAttribute("ramp-score", 0));
+    String name = element.getAttribute("name", DEFAULT_PROFILE).trim().toLowerCase(Locale.US);
+    return DifficultyProfile.build(name, scaled(base, speedScale),
+        element.getIntAttribute("levels", 1),
+        element.getFloatAttribute("gap-step", 0f),
+        element.getFloatAttribute("speed-step", 0f),
+        element.getFloatAttribute("spacing-step", 0f),
+        element.getIntAttribute("start-level", 0),
+        element.getIntAttribute("window", 3),
+        element.getFloatAttribute("promote-score", Float.MAX_VALUE),
+        element.getFloatAttribute("demote-score", -1f));
+  }
+
+  private static PhysicsParams scaled(PhysicsParams params, float speedScale) {
+    return speedScale == 1f ? params : params.withTubeSpeed(params.getTubeSpeed() * speedScale);
+  }
+
+  /** Pengali tubeSpeed dari &lt;speed&gt; di player.xml. */
+  public static float speedScale(float playerSpeed) {
+    return playerSpeed > 0 ? playerSpeed / DEFAULT_PLAYER_SPEED : 1f;
+  }
+
+  private void add(DifficultyProfile profile) {
+    profiles.put(profile.getName(), profile);
+  }
+
+  /** Profil dengan nama tersebut, atau {@link #DEFAULT_PROFILE} jika tidak dikenal. */
+  public DifficultyProfile get(String name) {
+    DifficultyProfile profile = name != null ? profiles.get(name.trim().toLowerCase(Locale.US)) : null;
+    return profile != null ? profile : profiles.get(DEFAULT_PROFILE);
+  }
+}
@@ -0,0 +1,233 @@
+package com.gimm;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Simulator batch headless untuk tuning difficulty tanpa playtest. Menjalankan
+ * banyak sesi {@link FlappySimulation} dengan {@link FlapPolicy} tertentu secara
+ * paralel (fork-join di semua core) dan mengumpulkan distribusi lama bertahan
+ * serta skor. Throughput (tick per detik) juga dilaporkan sebagai metrik regresi.
+ */
+public final class DifficultySimulator {
+  private static final int TICKS_PER_SECOND = Math.round(1f / FlappySimulation.STEP);
+  // Jumlah sesi per leaf task sebelum tidak dipecah lagi
+  private static final int LEAF_RUNS = 64;
+
+  private final ForkJoinPool pool;
+  private final int width;
+  private final int height;
+  private final float tubeWidth;
+  private final float tubeHeight;
+  private final float birdWidth;
+  private final float birdHeight;
+  private final int maxSeconds;
+  private final int maxScore;
+  private final long baseSeed;
+
+  public DifficultySimulator(ForkJoinPool pool, int width, int height, float tubeWidth,
+                             float tubeHeight, float birdWidth, float birdHeight,
+                             int maxSeconds, long baseSeed) {
+    this.pool = pool;
+    this.width = width;
+    this.height = height;
+    this.tubeWidth = tubeWidth;
+    this.tubeHeight = tubeHeight;
+    this.birdWidth = birdWidth;
+    this.birdHeight = birdHeight;
+    this.maxSeconds = maxSeconds;
+    this.maxScore = 1000;
+    this.baseSeed = baseSeed;
+  }
+
+  /** Sesi ke-i selalu memakai seed baseSeed + i, jadi hasilnya reproducible. */
+  public Result run(PhysicsParams params, FlapPolicy policy, int runs) {
+    long start = System.nanoTime();
+    Histograms histograms = pool.invoke(new RunTask(params, policy, 0, runs));
+    return new Result(params, policy, runs, histograms, System.nanoTime() - start);
+  }
+
+  private final class RunTask extends RecursiveTask<Histograms> {
+    private static final long serialVersionUID = 1L;
+
+    private final PhysicsParams params;
+    private final FlapPolicy policy;
+    private final int from;
+    private final int to;
+
+    RunTask(PhysicsParams params, FlapPolicy policy, int from, int to) {
+      this.params = params;
+      this.policy = policy;
+      this.from = from;
+      this.to = to;
+    }
+
+    @Override
+    protected Histograms compute() {
+      if (to - from <= LEAF_RUNS) {
+        return simulate();
+      }
+      int middle = (from + to) >>> 1;
+      RunTask left = new RunTask(params, policy, from, middle);
+      left.fork();
+      Histograms right = new RunTask(params, policy, middle, to).compute();
+      return right.merge(left.join());
+    }
+
+    private Histograms simulate() {
+      Histograms histograms = new Histograms(maxSeconds, maxScore);
+      FlappySimulation simulation = new FlappySimulation(params);
+      simulation.setWorld(width, height, tubeWidth, tubeHeight, tubeHeight, birdWidth, birdHeight);
+      SimRandom policyRandom = new SimRandom(0);
+      long maxTicks = (long) maxSeconds * TICKS_PER_SECOND;
+
+      for (int run = from; run < to; run++) {
+        simulation.reset(baseSeed + run);
+        policyRandom.setSeed(~(baseSeed + run));
+        while (!simulation.isCrashed() && simulation.getTick() < maxTicks) {
+          if (policy.shouldFlap(simulation, policyRandom)) {
+            simulation.flap();
+          }
+          simulation.tick();
+        }
+        histograms.record(simulation.getTick(), simulation.getScore(), simulation.isCrashed());
+      }
+      return histograms;
+    }
+  }
+
+  static final class Histograms {
+    // Index = detik bertahan (dibulatkan ke bawah); slot terakhir = bertahan sampai batas
+    final long[] survivalSeconds;
+    final long[] scores;
+    long totalTicks;
+    long survivors;
+
+    Histograms(int maxSeconds, int maxScore) {
+      survivalSeconds = new long[maxSeconds + 1];
+      scores = new long[maxScore + 1];
+    }
+
+    void record(long ticks, int score, boolean crashed) {
+      totalTicks += ticks;
+      int seconds = (int) Math.min(ticks / TICKS_PER_SECOND, survivalSeconds.length - 1);
+      survivalSeconds[crashed ? Math.min(seconds, survivalSeconds.length - 2) : survivalSeconds.length - 1]++;
+      scores[Math.min(score, scores.length - 1)]++;
+      if (!crashed) {
+        survivors++;
+      }
+    }
+
+    Histograms merge(Histograms other) {
+      for (int i = 0; i < survivalSeconds.length; i++) {
+        survivalSeconds[i] += other.survivalSeconds[i];
+      }
+      for (int i = 0; i < scores.length; i++) {
+        scores[i] += other.scores[i];
+      }
+      totalTicks += other.totalTicks;
+      survivors += other.survivors;
+      return this;
+    }
+  }
+
+  public static final class Result {
+    private final PhysicsParams params;
+    private final FlapPolicy policy;
+    private final int runs;
+    private final Histograms histograms;
+    private final long elapsedNanos;
+
+    Result(PhysicsParams params, FlapPolicy policy, int runs, Histograms histograms, long elapsedNanos) {
+      this.params = params;
+      this.policy = policy;
+      this.runs = runs;
+      this.histograms = histograms;
+      this.elapsedNanos = elapsedNanos;
+    }
+
+    public int getRuns() {
+      return runs;
+    }
+
+    public long getTotalTicks() {
+      return histograms.totalTicks;
+    }
+
+    public double getTicksPerSecond() {
+      return elapsedNanos == 0 ? 0 : histograms.totalTicks * 1e9 / elapsedNanos;
+    }
+
+    /** Fraksi sesi yang tidak crash sampai batas maxSeconds. */
+    public double getSurvivorFraction() {
+      return runs == 0 ? 0 : (double) histograms.survivors / runs;
+    }
+
+    /** Detik bertahan pada persentil tertentu (0..100). */
+    public int getSurvivalPercentile(double percentile) {
+      return percentile(histograms.survivalSeconds, percentile);
+    }
+
+    public int getScorePercentile(double percentile) {
+      return percentile(histograms.scores, percentile);
+    }
+
+    public double getMeanScore() {
+      long sum = 0;
+      for (int i = 0; i < histograms.scores.length; i++) {
+        sum += histograms.scores[i] * i;
+      }
+      return runs == 0 ? 0 : (double) sum / runs;
+    }
+
+    public long[] getSurvivalHistogram() {
+      return histograms.survivalSeconds.clone();
+    }
+
+    private int percentile(long[] histogram, double percentile) {
+      long target = (long) Math.ceil(percentile / 100.0 * runs);
+      long cumulative = 0;
+      for (int i = 0; i < histogram.length; i++) {
+        cumulative += histogram[i];
+        if (cumulative >= Math.max(1, target)) {
+          return i;
+        }
+      }
+      return histogram.length - 1;
+    }
+
+    @Override
+    public String toString() {
+      return String.format("%s | %s | runs=%d survive p50=%ds p90=%ds alive=%.1f%% "
+              + "score mean=%.2f p50=%d p90=%d | %.1fM ticks/s",
+          params, policy, runs,
+          getSurvivalPercentile(50), getSurvivalPercentile(90), getSurvivorFraction() * 100,
+          getMeanScore(), getScorePercentile(50), getScorePercentile(90),
+          getTicksPerSecond() / 1e6);
+    }
+  }
+
+  /** Sweep gap dan kecepatan tiang untuk beberapa policy; argumen: [runs per set]. */
+  public static void main(String[] args) {
+    int runs = args.length > 0 ? Integer.parseInt(args[0]) : 100000;
+    DifficultySimulator simulator = new DifficultySimulator(ForkJoinPool.commonPool(),
+        1080, 1920, 100, 500, 50, 50, 120, 1L);
+
+    FlapPolicy[] policies = {
+      new FlapPolicy.GapTracking(40f, 0.02f),
+      new FlapPolicy.GapTracking(120f, 0.10f),
+      new FlapPolicy.RandomFlap(0.05f)
+    };
+    float[] gaps = {300f, 400f, 500f};
+    float[] speeds = {180f, 240f, 300f};
+
+    for (FlapPolicy policy : policies) {
+      for (float gap : gaps) {
+        for (float speed : speeds) {
+          PhysicsParams params = PhysicsParams.DEFAULT.withGap(gap).withTubeSpeed(speed);
+          System.out.println(simulator.run(params, policy, runs));
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,65 @@
+package com.gimm;
+
+/**
+ * Level aktif satu profil, disesuaikan dari skor sesi-sesi terakhir. Skor disimpan
+ * di ring buffer sepanjang window profil; setelah window penuh, rata-rata di atas
+ * promoteScore menaikkan level dan di bawah demoteScore menurunkannya. Buffer
+ * dikosongkan setiap kali level berubah supaya level tidak melompat beberapa
+ * tingkat karena sesi yang sama.
+ */
+public final class DifficultyTracker {
+  private final DifficultyProfile profile;
+  private final int[] recentScores;
+  private int next;
+  private int count;
+  private int level;
+
+  public DifficultyTracker(DifficultyProfile profile) {
+    this.profile = profile;
+    this.recentScores = new int[profile.getWindow()];
+    this.level = profile.getStartLevel();
+  }
+
+  public DifficultyProfile getProfile() {
+    return profile;
+  }
+
+  public int getLevel() {
+    return level;
+  }
+
+  /** Params untuk sesi berikutnya. */
+  public PhysicsParams getParams() {
+    return profile.getLevel(level);
+  }
+
+  /** Dipanggil saat game over; true jika level berubah. */
+  public boolean record(int score) {
+    recentScores[next] = score;
+    next = (next + 1) % recentScores.length;
+    if (count < recentScores.length) {
+      count++;
+    }
+    if (count < recentScores.length) {
+      return false;
+    }
+
+    long sum = 0;
+    for (int recentScore : recentScores) {
+      sum += recentScore;
+    }
+    float average = sum / (float) recentScores.length;
+    int previous = level;
+    if (average >= profile.getPromoteScore() && level < profile.getLevelCount() - 1) {
+      level++;
+    } else if (average <= profile.getDemoteScore() && level > 0) {
+      level--;
+    }
+    if (level == previous) {
+      return false;
+    }
+    count = 0;
+    next = 0;
+    return true;
+  }
+}
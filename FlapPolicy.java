@@ -0,0 +1,59 @@
+package com.gimm;
+
+/**
+ * Strategi flap untuk simulasi headless. Dipanggil sekali sebelum setiap tick;
+ * implementasi tidak boleh menyimpan state per sesi karena satu instance dipakai
+ * bersama oleh semua worker. Noise diambil dari SimRandom milik worker.
+ */
+public interface FlapPolicy {
+  boolean shouldFlap(FlappySimulation simulation, SimRandom random);
+
+  /** Flap acak dengan peluang tetap per tick, sebagai baseline "pemain asal tap". */
+  final class RandomFlap implements FlapPolicy {
+    private final float probability;
+
+    public RandomFlap(float probability) {
+      this.probability = probability;
+    }
+
+    @Override
+    public boolean shouldFlap(FlappySimulation simulation, SimRandom random) {
+      return random.nextFloat() < probability;
+    }
+
+    @Override
+    public String toString() {
+      return "random(" + probability + ")";
+    }
+  }
+
+  /**
+   * Mengejar titik tengah celah tiang berikutnya: flap saat burung jatuh di bawah
+   * target. aimError (pixel) dan missRate mensimulasikan pemain yang tidak sempurna.
+   */
+  final class GapTracking implements FlapPolicy {
+    private final float aimError;
+    private final float missRate;
+
+    public GapTracking(float aimError, float missRate) {
+      this.aimError = aimError;
+      this.missRate = missRate;
+    }
+
+    @Override
+    public boolean shouldFlap(FlappySimulation simulation, SimRandom random) {
+      if (simulation.getVelocity() <= 0) {
+        return false;
+      }
+      float target = simulation.getGapCenterY(simulation.getScoringTube())
+          + (random.nextFloat() * 2 - 1) * aimError;
+      float birdCenter = simulation.getBirdY() + simulation.getBirdHeight() / 2;
+      return birdCenter < target && random.nextFloat() >= missRate;
+    }
+
+    @Override
+    public String toString() {
+      return "gapTracking(aim=" + aimError + ", miss=" + missRate + ")";
+    }
+  }
+}
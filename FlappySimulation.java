@@ -0,0 +1,411 @@
+package com.gimm;
+
+/**
+ * Headless simulation core untuk mode flappy: burung, tiang, skor dan tabrakan.
+ * Maju dengan fixed timestep lewat accumulator, tidak bergantung pada libGDX
+ * dan tidak mengalokasikan object apa pun per tick. Dengan seed dan urutan input
+ * yang sama hasilnya selalu identik, sehingga sesi bisa di-replay.
+ */
+public final class FlappySimulation {
+  public static final float STEP = 1f / 60f;
+  // Batas frame time supaya tidak terjadi "spiral of death" setelah freeze
+  public static final float MAX_FRAME_TIME = 0.25f;
+
+  // Event flags yang dikembalikan oleh tick() dan advance()
+  public static final int EVENT_SCORED = 1;
+  public static final int EVENT_TUBE_RECYCLED = 1 << 1;
+  public static final int EVENT_CRASHED = 1 << 2;
+
+  public static final int CRASH_NONE = -2;
+  public static final int CRASH_OUT_OF_BOUNDS = -1;
+
+  private final PhysicsParams params;
+  // Salinan dari params supaya loop tick membaca field langsung
+  private final int numberOfTubes;
+  private final float gap;
+  private final float tubeSpeed;
+  private final float gravity;
+  private final float flapStrength;
+  private final float maxVelocity;
+  private final float tubeSpacing;
+  private final float minGap;
+  private final float minTubeSpacing;
+  private final int rampScore;
+
+  private final float[] tubeX;
+  private final float[] previousTubeX;
+  private final float[] tubeOffset;
+  private final float[] distanceBetweenTubes;
+
+  // Collision bounds tiang dalam layout struct-of-arrays. X dan lebar sama untuk
+  // tiang atas dan bawah, Y hanya berubah saat tiang di-recycle.
+  private final float[] topTubeY;
+  private final float[] bottomTubeY;
+
+  private final SimRandom random = new SimRandom(0);
+
+  // Dimensi dunia, diisi dari ukuran layar dan texture
+  private int width;
+  private int height;
+  private float tubeWidth = 100;
+  private float topTubeHeight = 500;
+  private float bottomTubeHeight = 500;
+  private float birdWidth = 50;
+  private float birdHeight = 50;
+
+  private float birdY;
+  private float previousBirdY;
+  private float velocity;
+  private float birdRotation;
+  private boolean flapRequested;
+  private boolean crashed;
+  private int crashTube = CRASH_NONE;
+
+  // Gap dan pengali jarak untuk tiang berikutnya; hanya berubah saat tiang di-recycle
+  private float currentGap;
+  private float currentSpacing;
+
+  private int score;
+  private int scoringTube;
+  private int lastRecycledTube = -1;
+  private long tick;
+  private float accumulator;
+
+  public FlappySimulation(PhysicsParams params) {
+    this.params = params;
+    this.numberOfTubes = params.getNumberOfTubes();
+    this.gap = params.getGap();
+    this.tubeSpeed = params.getTubeSpeed();
+    this.gravity = params.getGravity();
+    this.flapStrength = params.getFlapStrength();
+    this.maxVelocity = params.getMaxVelocity();
+    this.tubeSpacing = params.getTubeSpacing();
+    this.minGap = params.getMinGap();
+    this.minTubeSpacing = params.getMinTubeSpacing();
+    this.rampScore = params.getRampScore();
+
+    tubeX = new float[numberOfTubes];
+    previousTubeX = new float[numberOfTubes];
+    tubeOffset = new float[numberOfTubes];
+    distanceBetweenTubes = new float[numberOfTubes];
+    topTubeY = new float[numberOfTubes];
+    bottomTubeY = new float[numberOfTubes];
+  }
+
+  public void setWorld(int width, int height, float tubeWidth, float topTubeHeight,
+                       float bottomTubeHeight, float birdWidth, float birdHeight) {
+    this.width = width;
+    this.height = height;
+    this.tubeWidth = tubeWidth;
+    this.topTubeHeight = topTubeHeight;
+    this.bottomTubeHeight = bottomTubeHeight;
+    this.birdWidth = birdWidth;
+    this.birdHeight = birdHeight;
+  }
+
+  public void reset(long seed) {
+    random.setSeed(seed);
+    birdY = height / 2 - birdHeight / 2;
+    previousBirdY = birdY;
+    velocity = 0;
+    birdRotation = 0;
+    flapRequested = false;
+    crashed = false;
+    crashTube = CRASH_NONE;
+    score = 0;
+    scoringTube = 0;
+    lastRecycledTube = -1;
+    tick = 0;
+    accumulator = 0;
+    currentGap = gap;
+    currentSpacing = tubeSpacing;
+
+    // Set jarak berbeda untuk setiap tiang
+    float baseDistance = width * 3 / 4;
+    for (int i = 0; i < numberOfTubes; i++) {
+      distanceBetweenTubes[i] = baseDistance * (0.8f + random.nextFloat() * 0.4f);
+      tubeOffset[i] = randomTubeOffset();
+      updateTubeBounds(i);
+
+      if (i == 0) {
+        tubeX[i] = width / 2 - tubeWidth / 2 + width;
+      } else {
+        tubeX[i] = tubeX[i - 1] + distanceBetweenTubes[i - 1] * currentSpacing;
+      }
+      previousTubeX[i] = tubeX[i];
+    }
+  }
+
+  /** Flap diterapkan pada tick berikutnya. */
+  public void flap() {
+    flapRequested = true;
+  }
+
+  /**
+   * Menambahkan waktu frame ke accumulator dan menjalankan tick sebanyak yang muat.
+   * Mengembalikan gabungan event flags dari semua tick yang dijalankan.
+   */
+  public int advance(float frameTime) {
+    if (frameTime > MAX_FRAME_TIME) {
+      frameTime = MAX_FRAME_TIME;
+    }
+    accumulator += frameTime;
+
+    int events = 0;
+    while (accumulator >= STEP) {
+      events |= tick();
+      accumulator -= STEP;
+    }
+    return events;
+  }
+
+  /** Satu langkah simulasi dengan durasi {@link #STEP}. */
+  public int tick() {
+    if (crashed) {
+      return 0;
+    }
+    tick++;
+    int events = 0;
+
+    previousBirdY = birdY;
+    for (int i = 0; i < numberOfTubes; i++) {
+      previousTubeX[i] = tubeX[i];
+    }
+
+    // Update score ketika melewati tiang
+    if (tubeX[scoringTube] < width / 2 - tubeWidth / 2) {
+      score++;
+      scoringTube = (scoringTube + 1) % numberOfTubes;
+      events |= EVENT_SCORED;
+    }
+
+    if (flapRequested) {
+      velocity = -flapStrength;
+      flapRequested = false;
+    }
+
+    // Update fisika burung
+    velocity += gravity * STEP;
+    velocity = Math.min(velocity, maxVelocity);
+    birdY -= velocity * STEP;
+    birdRotation = Math.max(-90, Math.min(30, velocity * 0.2f));
+
+    // Update posisi tiang
+    for (int i = 0; i < numberOfTubes; i++) {
+      if (tubeX[i] < -tubeWidth) {
+        int previous = (i + numberOfTubes - 1) % numberOfTubes;
+        updateDifficulty();
+        tubeX[i] = tubeX[previous] + distanceBetweenTubes[previous] * currentSpacing;
+        tubeOffset[i] = randomTubeOffset();
+        updateTubeBounds(i);
+        // Jangan interpolasi dari posisi lama di kiri layar
+        previousTubeX[i] = tubeX[i];
+        lastRecycledTube = i;
+        events |= EVENT_TUBE_RECYCLED;
+      } else {
+        tubeX[i] -= tubeSpeed * STEP;
+      }
+    }
+
+    // Cek game over condition
+    if (birdY <= 0 || birdY >= height - birdHeight) {
+      crash(CRASH_OUT_OF_BOUNDS);
+      return events | EVENT_CRASHED;
+    }
+
+    int hit = findCollidingTube();
+    if (hit >= 0) {
+      crash(hit);
+      events |= EVENT_CRASHED;
+    }
+    return events;
+  }
+
+  private void crash(int tube) {
+    crashed = true;
+    crashTube = tube;
+  }
+
+  // Dynamic difficulty: dihitung sekali per recycle dari skor saat ini, bukan per tick
+  private void updateDifficulty() {
+    if (rampScore == 0) {
+      return;
+    }
+    float t = Math.min(score, rampScore) / (float) rampScore;
+    currentGap = gap + (minGap - gap) * t;
+    currentSpacing = tubeSpacing + (minTubeSpacing - tubeSpacing) * t;
+  }
+
+  private void updateTubeBounds(int i) {
+    topTubeY[i] = height / 2 + currentGap / 2 + tubeOffset[i];
+    bottomTubeY[i] = height / 2 - currentGap / 2 - bottomTubeHeight + tubeOffset[i];
+  }
+
+  private int findCollidingTube() {
+    float circleX = width / 2;
+    float circleY = birdY + birdHeight / 2;
+    float radius = birdWidth / 3;
+    float left = circleX - radius;
+    float right = circleX + radius;
+
+    for (int i = 0; i < numberOfTubes; i++) {
+      float x = tubeX[i];
+      // Broad-phase: lewati tiang yang tidak bersinggungan secara horizontal
+      if (x > right || x + tubeWidth < left) {
+        continue;
+      }
+      if (overlaps(circleX, circleY, radius, x, topTubeY[i], tubeWidth, topTubeHeight)
+          || overlaps(circleX, circleY, radius, x, bottomTubeY[i], tubeWidth, bottomTubeHeight)) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  // Sama dengan Intersector.overlaps(Circle, Rectangle)
+  private static boolean overlaps(float cx, float cy, float radius,
+                                  float x, float y, float w, float h) {
+    float closestX = cx;
+    float closestY = cy;
+
+    if (cx < x) {
+      closestX = x;
+    } else if (cx > x + w) {
+      closestX = x + w;
+    }
+
+    if (cy < y) {
+      closestY = y;
+    } else if (cy > y + h) {
+      closestY = y + h;
+    }
+
+    closestX = closestX - cx;
+    closestY = closestY - cy;
+    return closestX * closestX + closestY * closestY < radius * radius;
+  }
+
+  private float randomTubeOffset() {
+    return (random.nextFloat() - 0.5f) * (height - currentGap - 200);
+  }
+
+  /** Sisa accumulator dalam rentang [0, 1) untuk interpolasi rendering. */
+  public float getAlpha() {
+    return accumulator / STEP;
+  }
+
+  public float getInterpolatedBirdY(float alpha) {
+    return previousBirdY + (birdY - previousBirdY) * alpha;
+  }
+
+  public float getInterpolatedTubeX(int i, float alpha) {
+    return previousTubeX[i] + (tubeX[i] - previousTubeX[i]) * alpha;
+  }
+
+  public float getTopTubeY(int i) {
+    return topTubeY[i];
+  }
+
+  public float getBottomTubeY(int i) {
+    return bottomTubeY[i];
+  }
+
+  public float getTubeWidth() {
+    return tubeWidth;
+  }
+
+  public float getTopTubeHeight() {
+    return topTubeHeight;
+  }
+
+  public float getBottomTubeHeight() {
+    return bottomTubeHeight;
+  }
+
+  /** Titik tengah vertikal celah tiang i. */
+  public float getGapCenterY(int i) {
+    return height / 2 + tubeOffset[i];
+  }
+
+  public int getNumberOfTubes() {
+    return numberOfTubes;
+  }
+
+  public float getTubeX(int i) {
+    return tubeX[i];
+  }
+
+  public float getTubeOffset(int i) {
+    return tubeOffset[i];
+  }
+
+  public float getDistanceBetweenTubes(int i) {
+    return distanceBetweenTubes[i] * currentSpacing;
+  }
+
+  /** Gap untuk tiang yang di-recycle berikutnya. */
+  public float getCurrentGap() {
+    return currentGap;
+  }
+
+  public float getBirdY() {
+    return birdY;
+  }
+
+  public float getVelocity() {
+    return velocity;
+  }
+
+  public float getBirdRotation() {
+    return birdRotation;
+  }
+
+  public boolean isCrashed() {
+    return crashed;
+  }
+
+  /** Index tiang yang ditabrak, {@link #CRASH_OUT_OF_BOUNDS} atau {@link #CRASH_NONE}. */
+  public int getCrashTube() {
+    return crashTube;
+  }
+
+  public int getScore() {
+    return score;
+  }
+
+  public int getScoringTube() {
+    return scoringTube;
+  }
+
+  public int getLastRecycledTube() {
+    return lastRecycledTube;
+  }
+
+  public long getTick() {
+    return tick;
+  }
+
+  public long getSeed() {
+    return random.getSeed();
+  }
+
+  public int getWidth() {
+    return width;
+  }
+
+  public int getHeight() {
+    return height;
+  }
+
+  public float getBirdWidth() {
+    return birdWidth;
+  }
+
+  public float getBirdHeight() {
+    return birdHeight;
+  }
+
+  public PhysicsParams getParams() {
+    return params;
+  }
+}
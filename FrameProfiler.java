@@ -0,0 +1,143 @@
+package com.gimm;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Profiler per frame untuk render loop. Setiap fase dicatat dengan System.nanoTime()
+ * ke {@link LatencyHistogram} sendiri, ditambah histogram untuk total frame dan
+ * penghitung jank. Report bisa ditulis ke file untuk membandingkan build di device low-end.
+ */
+public final class FrameProfiler {
+  public static final int PHASE_DRAW_MENU = 0;
+  public static final int PHASE_UPDATE_GAMEPLAY = 1;
+  public static final int PHASE_DRAW_BIRD = 2;
+  public static final int PHASE_CHECK_COLLISIONS = 3;
+  public static final int PHASE_DRAW_DEBUG_INFO = 4;
+  public static final int PHASE_BATCH_FLUSH = 5;
+  public static final int PHASE_COUNT = 6;
+
+  private static final String[] PHASE_NAMES = {
+    "drawMenu", "updateGameplay", "drawBird", "checkCollisions", "drawDebugInfo", "batchFlush"
+  };
+
+  private final LatencyHistogram frameHistogram = new LatencyHistogram();
+  private final LatencyHistogram[] phaseHistograms = new LatencyHistogram[PHASE_COUNT];
+  private final long[] phaseStart = new long[PHASE_COUNT];
+
+  private final long targetFrameNanos;
+  private final AtomicLong jankFrames = new AtomicLong();
+  private final AtomicLong severeJankFrames = new AtomicLong();
+
+  private long frameStart;
+  private boolean enabled = true;
+
+  /** @param targetFps target refresh rate; frame yang lebih lama dari satu budget dihitung jank */
+  public FrameProfiler(int targetFps) {
+    this.targetFrameNanos = 1000000000L / targetFps;
+    for (int i = 0; i < PHASE_COUNT; i++) {
+      phaseHistograms[i] = new LatencyHistogram();
+    }
+  }
+
+  public void setEnabled(boolean enabled) {
+    this.enabled = enabled;
+  }
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  public void beginFrame() {
+    if (enabled) {
+      frameStart = System.nanoTime();
+    }
+  }
+
+  public void endFrame() {
+    if (!enabled || frameStart == 0) {
+      return;
+    }
+    long frameTime = System.nanoTime() - frameStart;
+    frameHistogram.record(frameTime);
+
+    // Jank: melewati budget satu frame (+50%), severe: tiga frame atau lebih
+    if (frameTime > targetFrameNanos * 3 / 2) {
+      jankFrames.incrementAndGet();
+    }
+    if (frameTime > targetFrameNanos * 3) {
+      severeJankFrames.incrementAndGet();
+    }
+  }
+
+  public void begin(int phase) {
+    if (enabled) {
+      phaseStart[phase] = System.nanoTime();
+    }
+  }
+
+  public void end(int phase) {
+    if (enabled && phaseStart[phase] != 0) {
+      phaseHistograms[phase].record(System.nanoTime() - phaseStart[phase]);
+      phaseStart[phase] = 0;
+    }
+  }
+
+  public LatencyHistogram getFrameHistogram() {
+    return frameHistogram;
+  }
+
+  public LatencyHistogram getPhaseHistogram(int phase) {
+    return phaseHistograms[phase];
+  }
+
+  public static String getPhaseName(int phase) {
+    return PHASE_NAMES[phase];
+  }
+
+  public long getJankFrames() {
+    return jankFrames.get();
+  }
+
+  public long getSevereJankFrames() {
+    return severeJankFrames.get();
+  }
+
+  public void reset() {
+    frameHistogram.reset();
+    for (int i = 0; i < PHASE_COUNT; i++) {
+      phaseHistograms[i].reset();
+    }
+    jankFrames.set(0);
+    severeJankFrames.set(0);
+  }
+
+  public void writeReport(Writer out) throws IOException {
+    out.write("Frame profile (target " + formatMillis(targetFrameNanos) + " ms)\n");
+    out.write("frames: " + frameHistogram.getCount()
+        + ", jank: " + jankFrames.get()
+        + ", severe jank: " + severeJankFrames.get() + "\n\n");
+    out.write(String.format("%-16s %10s %10s %10s %10s %10s%n",
+        "phase", "count", "mean ms", "p50 ms", "p99 ms", "max ms"));
+    writeRow(out, "frame", frameHistogram);
+    for (int i = 0; i < PHASE_COUNT; i++) {
+      writeRow(out, PHASE_NAMES[i], phaseHistograms[i]);
+    }
+    out.flush();
+  }
+
+  private static void writeRow(Writer out, String name, LatencyHistogram histogram) throws IOException {
+    out.write(String.format("%-16s %10d %10s %10s %10s %10s%n",
+        name,
+        histogram.getCount(),
+        formatMillis((long) histogram.getMean()),
+        formatMillis(histogram.getPercentile(50)),
+        formatMillis(histogram.getPercentile(99)),
+        formatMillis(histogram.getMax())));
+  }
+
+  private static String formatMillis(long nanos) {
+    return String.format("%.3f", nanos / 1e6);
+  }
+}
@@ -0,0 +1,175 @@
+package com.gimm;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.assets.AssetDescriptor;
+import com.badlogic.gdx.assets.AssetErrorListener;
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.utils.Disposable;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Memuat sprite game secara asynchronous lewat AssetManager.
+ *
+ * Jika sprites.atlas (hasil tools/AtlasPacker) tersedia, semua sprite diambil
+ * dari satu atlas sehingga SpriteBatch cukup satu texture bind. Jika tidak,
+ * setiap PNG dimuat sendiri sebagai fallback. Path yang sama hanya dimuat sekali,
+ * dan placeholder untuk sprite yang hilang dibuat satu kali saja.
+ */
+public final class GameAssets implements Disposable {
+  public static final String ATLAS_PATH = "sprites.atlas";
+
+  private final AssetManager manager = new AssetManager();
+  private final Set<String> paths = new LinkedHashSet<String>();
+  private final Set<String> failedPaths = new HashSet<String>();
+  private final Map<String, TextureRegion> regions = new HashMap<String, TextureRegion>();
+
+  private boolean useAtlas;
+  private boolean started;
+  private boolean finished;
+  private Texture placeholderTexture;
+  private TextureRegion placeholder;
+
+  public GameAssets() {
+    manager.setErrorListener(new AssetErrorListener() {
+      @Override
+      public void error(AssetDescriptor asset, Throwable throwable) {
+        failedPaths.add(asset.fileName);
+        Gdx.app.error("GameAssets", "Failed to load " + asset.fileName, throwable);
+      }
+    });
+  }
+
+  /** Daftarkan sprite sebelum update() pertama. Path duplikat diabaikan. */
+  public void queue(String... spritePaths) {
+    if (started) {
+      throw new IllegalStateException("Assets already loading");
+    }
+    for (String path : spritePaths) {
+      paths.add(path);
+    }
+  }
+
+  /** Lanjutkan loading satu langkah; true jika semua asset sudah siap. */
+  public boolean update() {
+    if (!started) {
+      start();
+    }
+    if (finished) {
+      return true;
+    }
+    if (manager.update()) {
+      resolveRegions();
+      finished = true;
+    }
+    return finished;
+  }
+
+  public float getProgress() {
+    return finished ? 1f : manager.getProgress();
+  }
+
+  public boolean isUsingAtlas() {
+    return useAtlas;
+  }
+
+  /** Jumlah texture berbeda yang dipakai untuk sprite (1 jika memakai atlas). */
+  public int getTextureCount() {
+    if (useAtlas && !failedPaths.contains(ATLAS_PATH)) {
+      return 1;
+    }
+    return paths.size() - failedPaths.size();
+  }
+
+  /** Region untuk path yang sudah di-queue, atau placeholder jika gagal dimuat. */
+  public TextureRegion get(String path) {
+    TextureRegion region = regions.get(path);
+    return region != null ? region : getPlaceholder();
+  }
+
+  public TextureRegion getPlaceholder() {
+    if (placeholder == null) {
+      placeholderTexture = createPlaceholderTexture();
+      placeholder = new TextureRegion(placeholderTexture);
+    }
+    return placeholder;
+  }
+
+  private void start() {
+    started = true;
+    useAtlas = Gdx.files.internal(ATLAS_PATH).exists();
+    if (useAtlas) {
+      manager.load(ATLAS_PATH, TextureAtlas.class);
+    } else {
+      for (String path : paths) {
+        manager.load(path, Texture.class);
+      }
+    }
+  }
+
+  private void resolveRegions() {
+    TextureAtlas atlas = null;
+    if (useAtlas && manager.isLoaded(ATLAS_PATH)) {
+      atlas = manager.get(ATLAS_PATH, TextureAtlas.class);
+    }
+
+    for (String path : paths) {
+      TextureRegion region = null;
+      if (atlas != null) {
+        // TexturePacker menamai region dengan nama file tanpa ekstensi
+        region = atlas.findRegion(regionName(path));
+      } else if (!useAtlas && manager.isLoaded(path)) {
+        region = new TextureRegion(manager.get(path, Texture.class));
+      }
+
+      if (region != null) {
+        regions.put(path, region);
+      } else {
+        failedPaths.add(path);
+        Gdx.app.error("GameAssets", "Missing sprite: " + path);
+      }
+    }
+  }
+
+  private static String regionName(String path) {
+    int slash = path.lastIndexOf('/');
+    int dot = path.lastIndexOf('.');
+    return path.substring(slash + 1, dot > slash ? dot : path.length());
+  }
+
+  private static Texture createPlaceholderTexture() {
+    // Checkerboard magenta dan hitam, diisi per blok 8x8
+    Pixmap pixmap = new Pixmap(64, 64, Pixmap.Format.RGBA8888);
+    pixmap.setColor(Color.BLACK);
+    pixmap.fill();
+    pixmap.setColor(Color.MAGENTA);
+    for (int x = 0; x < 64; x += 8) {
+      for (int y = 0; y < 64; y += 8) {
+        if ((x / 8 + y / 8) % 2 == 0) {
+          pixmap.fillRectangle(x, y, 8, 8);
+        }
+      }
+    }
+    Texture texture = new Texture(pixmap);
+    pixmap.dispose();
+    return texture;
+  }
+
+  @Override
+  public void dispose() {
+    manager.dispose();
+    if (placeholderTexture != null) {
+      placeholderTexture.dispose();
+      placeholderTexture = null;
+      placeholder = null;
+    }
+  }
+}
@@ -1,222 +1,322 @@
 // GameContent.java - Basic Bouncing Ball Game
+import com.gimm.BallSystem;
+import com.gimm.PowerUpScheduler;
+import com.gimm.PowerUpStore;
+import com.gimm.SpatialHash;
+
 public class GameContent {
     
     // Game configuration - bisa diubah via URL
-    public static final int BALL_SPEED = 12;
+    public static final int BALL_SPEED = 720; // pixels per second
     public static final int BALL_RADIUS = 40;
     public static final String BALL_COLOR = "#FF6B35";
     public static final String BG_COLOR = "#2E294E";
     public static final boolean ENABLE_GRAVITY = false;
     public static final int TOUCH_BONUS = 8;
+    public static final int POWER_UP_RADIUS = 15;
+    public static final int POWER_UP_DURATION = 5000; // ms
+    public static final int MAX_POWER_UPS = 4096;
+    public static final int STORM_SPAWNS_PER_SECOND = 960;
+    // Rata-rata jeda spawn otomatis, sama dengan peluang 0.2% per frame (60 FPS) sebelumnya
+    public static final double POWER_UP_SPAWN_INTERVAL = 8.333; // seconds
+    public static final double TOUCH_SPAWN_CHANCE = 0.3;
+    // Cell selebar diameter area tabrakan, jadi satu query paling banyak menyentuh 2x2 cell
+    public static final int POWER_UP_CELL_SIZE = 2 * (BALL_RADIUS + POWER_UP_RADIUS);
+    public static final int MAX_BALLS = 32768;
+    // Mode multi-ball: radius dikecilkan supaya semua bola menutupi paling banyak sekitar 30% layar
+    public static final float MAX_BALL_COVERAGE = 0.3f;
+    
+    // Simulasi maju dengan step tetap 120 Hz berapa pun refresh rate layar, jadi
+    // hasilnya sama di 30, 60 dan 120 Hz; updateGame hanya menambah waktu nyata ke accumulator
+    public static final long STEP_NANOS = 1000000000L / 120;
+    // Jeda lebih panjang (pause, debugger) dipotong supaya tidak menyusul ribuan step
+    public static final long MAX_FRAME_NANOS = 250000000L;
+    private static final float STEP_SECONDS = STEP_NANOS / 1e9f;
+    private static final long NANOS_PER_MS = 1000000L;
     
     // Game state variables
-    private int ballX, ballY;
-    private int ballSpeedX, ballSpeedY;
+    // Bola utama adalah index 0; mode multi-ball menambah bola lain di array yang sama
+    private BallSystem balls;
+    private int ballCount = 1;
+    private float ballRadius = BALL_RADIUS;
     private int score = 0;
     private int highScore = 0;
     private int screenWidth, screenHeight;
-    private long startTime;
+    private long seed = System.nanoTime();
+    // true setelah setSeed(): setiap initGame memakai seed yang sama (replay/benchmark)
+    private boolean seedFixed;
+    private java.util.SplittableRandom random;
+    // nanoTime boleh negatif, jadi "belum ada update" disimpan terpisah, bukan sentinel -1
+    private boolean hasLastUpdate;
+    private long lastUpdateNanos;
+    private long accumulatorNanos;
+    // Waktu simulasi; semua timestamp power-up memakai jam ini, bukan System.nanoTime()
+    private long simulationNanos;
     private int gameTime = 0;
     
     // Game objects
-    private java.util.ArrayList<PowerUp> powerUps;
+    private final PowerUpStore powerUps = new PowerUpStore(MAX_POWER_UPS);
+    private final PowerUpScheduler powerUpScheduler = new PowerUpScheduler(powerUps, POWER_UP_DURATION * NANOS_PER_MS);
+    private final SpatialHash powerUpGrid = new SpatialHash(POWER_UP_CELL_SIZE, MAX_POWER_UPS);
+    private final int[] powerUpQuery = new int[MAX_POWER_UPS];
+    // (index power-up << 32) | index bola
+    private final long[] powerUpHits = new long[MAX_POWER_UPS];
     private boolean isGameActive = true;
+    private boolean powerUpStorm = false;
+    
+    // Paint, warna dan typeface dibuat sekali per theme, bukan setiap frame
+    private RenderCache renderCache;
+    private final StringBuilder textBuffer = new StringBuilder(32);
     
     public void initGame(int width, int height) {
         this.screenWidth = width;
         this.screenHeight = height;
+        if (!seedFixed && random != null) {
+            // Restart setelah game over harus memberi permainan baru
+            seed = random.nextLong();
+        }
+        random = new java.util.SplittableRandom(seed);
+        hasLastUpdate = false;
+        accumulatorNanos = 0;
+        simulationNanos = 0;
+        gameTime = 0;
         
-        // Initialize ball position
-        ballX = width / 2;
-        ballY = height / 2;
-        ballSpeedX = BALL_SPEED;
-        ballSpeedY = BALL_SPEED;
+        // Initialize ball position; array hanya dialokasi ulang jika jumlah/ukuran bola berubah
+        ballRadius = (float) Math.min(BALL_RADIUS,
+                Math.sqrt(MAX_BALL_COVERAGE * width * height / (Math.PI * ballCount)));
+        if (balls == null || balls.capacity() != ballCount || balls.getRadius() != ballRadius) {
+            balls = new BallSystem(ballCount, ballRadius);
+        }
+        balls.resize(width, height);
+        balls.setPool(java.util.concurrent.ForkJoinPool.commonPool());
+        balls.clear();
+        balls.add(width / 2, height / 2, BALL_SPEED, BALL_SPEED);
+        for (int i = 1; i < ballCount; i++) {
+            double angle = random.nextDouble() * 2 * Math.PI;
+            float x = (float)(random.nextDouble() * (width - 2 * ballRadius)) + ballRadius;
+            float y = (float)(random.nextDouble() * (height - 2 * ballRadius)) + ballRadius;
+            balls.add(x, y, (float)(Math.cos(angle) * BALL_SPEED), (float)(Math.sin(angle) * BALL_SPEED));
+        }
         
         // Initialize power-ups
-        powerUps = new java.util.ArrayList<>();
-        spawnPowerUp();
-        
-        startTime = System.currentTimeMillis();
+        powerUpGrid.resize(width, height);
+        powerUpScheduler.setSpawnArea(50, 100, width - 50, height - 100);
+        powerUpScheduler.reset(random.nextLong(), simulationNanos);
+        powerUpScheduler.setMeanSpawnInterval(getSpawnInterval(), simulationNanos);
+        powerUpScheduler.spawn(simulationNanos);
     }
     
     public void updateGame() {
+        updateGame(System.nanoTime());
+    }
+    
+    /** Majukan game sampai nowNanos (jam monotonic, mis. System.nanoTime() atau Choreographer). */
+    public void updateGame(long nowNanos) {
         if (!isGameActive) return;
         
-        // Update game time
-        gameTime = (int)((System.currentTimeMillis() - startTime) / 1000);
-        
-        // Update ball position
-        ballX += ballSpeedX;
-        ballY += ballSpeedY;
-        
-        // Boundary collision with score
-        if (ballX <= BALL_RADIUS) {
-            ballSpeedX = Math.abs(ballSpeedX);
-            score += 1;
-        }
-        if (ballX >= screenWidth - BALL_RADIUS) {
-            ballSpeedX = -Math.abs(ballSpeedX);
-            score += 1;
-        }
-        if (ballY <= BALL_RADIUS) {
-            ballSpeedY = Math.abs(ballSpeedY);
-            score += 1;
+        if (!hasLastUpdate) {
+            lastUpdateNanos = nowNanos;
+            hasLastUpdate = true;
         }
-        if (ballY >= screenHeight - BALL_RADIUS) {
-            ballSpeedY = -Math.abs(ballSpeedY);
-            score += 1;
+        long frameNanos = Math.max(0, Math.min(nowNanos - lastUpdateNanos, MAX_FRAME_NANOS));
+        lastUpdateNanos = nowNanos;
+        
+        accumulatorNanos += frameNanos;
+        while (accumulatorNanos >= STEP_NANOS) {
+            accumulatorNanos -= STEP_NANOS;
+            step();
         }
         
+        // Update game time
+        gameTime = (int)(simulationNanos / 1000000000L);
+    }
+    
+    private void step() {
+        simulationNanos += STEP_NANOS;
+        
+        // Update ball positions; setiap pantulan di tepi layar bernilai 1 poin
+        score += balls.step(STEP_SECONDS, screenWidth, screenHeight);
+        
         // Update high score
         if (score > highScore) {
             highScore = score;
         }
         
-        // Update power-ups
+        // Update power-ups: expiry dan spawn berjalan lewat scheduler, lalu cek tabrakan
+        powerUpScheduler.update(simulationNanos);
         updatePowerUps();
-        
-        // Randomly spawn new power-ups
-        if (Math.random() < 0.002) { // 0.2% chance per frame
-            spawnPowerUp();
-        }
+    }
+    
+    /**
+     * Seed untuk posisi bola dan power-up; seed sama menghasilkan permainan yang sama.
+     * Berlaku untuk setiap initGame berikutnya. Tanpa setSeed tiap restart memakai seed baru.
+     */
+    public void setSeed(long seed) {
+        this.seed = seed;
+        this.seedFixed = true;
+    }
+    
+    /**
+     * Mode multi-ball: jumlah bola (1..MAX_BALLS), berlaku saat initGame berikutnya.
+     * Untuk jumlah besar radius bola otomatis dikecilkan (lihat MAX_BALL_COVERAGE).
+     */
+    public void setBallCount(int count) {
+        this.ballCount = Math.max(1, Math.min(count, MAX_BALLS));
+    }
+    
+    /** Mode "power-up storm": pool diisi terus sampai MAX_POWER_UPS. */
+    public void setPowerUpStorm(boolean enabled) {
+        this.powerUpStorm = enabled;
+        powerUpScheduler.setMeanSpawnInterval(getSpawnInterval(), simulationNanos);
+    }
+    
+    // Dalam nanodetik, satuan jam scheduler
+    private double getSpawnInterval() {
+        return 1e9 * (powerUpStorm ? 1.0 / STORM_SPAWNS_PER_SECOND : POWER_UP_SPAWN_INTERVAL);
     }
     
     public void drawGame(java.awt.Canvas canvas) {
-        // Draw background
-        canvas.drawColor(android.graphics.Color.parseColor(BG_COLOR));
-        
-        // Draw ball with gradient effect
-        android.graphics.Paint ballPaint = new android.graphics.Paint();
-        ballPaint.setColor(android.graphics.Color.parseColor(BALL_COLOR));
-        ballPaint.setStyle(android.graphics.Paint.Style.FILL);
+        RenderCache cache = getRenderCache();
         
-        // Draw main ball
-        canvas.drawCircle(ballX, ballY, BALL_RADIUS, ballPaint);
+        // Draw background
+        canvas.drawColor(cache.backgroundColor);
         
-        // Draw inner circle for 3D effect
-        android.graphics.Paint innerPaint = new android.graphics.Paint();
-        innerPaint.setColor(android.graphics.Color.parseColor("#FF8C5A"));
-        canvas.drawCircle(ballX - 10, ballY - 10, BALL_RADIUS - 15, innerPaint);
+        // Draw balls
+        for (int i = 0, n = balls.size(); i < n; i++) {
+            float x = balls.getPointX(i);
+            float y = balls.getPointY(i);
+            canvas.drawCircle(x, y, ballRadius, cache.ballPaint);
+            
+            // Draw inner circle for 3D effect (proporsi sama dengan bola 40px: offset 10, radius 25)
+            canvas.drawCircle(x - ballRadius * 0.25f, y - ballRadius * 0.25f, ballRadius * 0.625f, cache.innerPaint);
+        }
         
         // Draw power-ups
-        drawPowerUps(canvas);
+        drawPowerUps(canvas, cache);
         
         // Draw UI
-        drawUI(canvas);
+        drawUI(canvas, cache);
     }
     
-    private void drawUI(java.awt.Canvas canvas) {
-        android.graphics.Paint textPaint = new android.graphics.Paint();
-        textPaint.setColor(android.graphics.Color.WHITE);
-        textPaint.setTextSize(36);
-        textPaint.setTypeface(android.graphics.Typeface.create(android.graphics.Typeface.DEFAULT, android.graphics.Typeface.BOLD));
-        
+    /** Ganti warna bola dan background; paint dibangun ulang sekali di sini. */
+    public void setTheme(String ballColor, String backgroundColor) {
+        renderCache = new RenderCache(ballColor, backgroundColor);
+    }
+    
+    private RenderCache getRenderCache() {
+        if (renderCache == null) {
+            renderCache = new RenderCache(BALL_COLOR, BG_COLOR);
+        }
+        return renderCache;
+    }
+    
+    private void drawUI(java.awt.Canvas canvas, RenderCache cache) {
         // Draw scores
-        canvas.drawText("Score: " + score, 20, 50, textPaint);
-        canvas.drawText("High Score: " + highScore, 20, 100, textPaint);
-        canvas.drawText("Time: " + gameTime + "s", 20, 150, textPaint);
+        drawText(canvas, textBuffer.append("Score: ").append(score), 20, 50, cache.textPaint);
+        drawText(canvas, textBuffer.append("High Score: ").append(highScore), 20, 100, cache.textPaint);
+        drawText(canvas, textBuffer.append("Time: ").append(gameTime).append('s'), 20, 150, cache.textPaint);
         
         // Draw game title
-        textPaint.setTextSize(42);
-        textPaint.setColor(android.graphics.Color.parseColor("#FFD166"));
-        canvas.drawText("Bouncing Ball Pro", screenWidth / 2 - 180, 60, textPaint);
+        canvas.drawText("Bouncing Ball Pro", screenWidth / 2 - 180, 60, cache.titlePaint);
         
         // Draw instructions
-        textPaint.setTextSize(24);
-        textPaint.setColor(android.graphics.Color.LTGRAY);
-        canvas.drawText("Touch screen to change direction", screenWidth / 2 - 160, screenHeight - 50, textPaint);
+        canvas.drawText("Touch screen to change direction", screenWidth / 2 - 160, screenHeight - 50, cache.hintPaint);
         
         if (!isGameActive) {
             // Draw game over screen
-            android.graphics.Paint overlayPaint = new android.graphics.Paint();
-            overlayPaint.setColor(android.graphics.Color.argb(200, 0, 0, 0));
-            canvas.drawRect(0, 0, screenWidth, screenHeight, overlayPaint);
+            canvas.drawRect(0, 0, screenWidth, screenHeight, cache.overlayPaint);
             
-            textPaint.setTextSize(48);
-            textPaint.setColor(android.graphics.Color.RED);
-            canvas.drawText("GAME OVER", screenWidth / 2 - 140, screenHeight / 2 - 50, textPaint);
+            canvas.drawText("GAME OVER", screenWidth / 2 - 140, screenHeight / 2 - 50, cache.gameOverPaint);
             
-            textPaint.setTextSize(36);
-            textPaint.setColor(android.graphics.Color.WHITE);
-            canvas.drawText("Final Score: " + score, screenWidth / 2 - 120, screenHeight / 2 + 20, textPaint);
-            canvas.drawText("Tap to restart", screenWidth / 2 - 100, screenHeight / 2 + 80, textPaint);
+            drawText(canvas, textBuffer.append("Final Score: ").append(score),
+                    screenWidth / 2 - 120, screenHeight / 2 + 20, cache.textPaint);
+            canvas.drawText("Tap to restart", screenWidth / 2 - 100, screenHeight / 2 + 80, cache.textPaint);
         }
     }
     
-    private void drawPowerUps(java.awt.Canvas canvas) {
-        for (PowerUp powerUp : powerUps) {
-            android.graphics.Paint paint = new android.graphics.Paint();
-            
-            switch (powerUp.type) {
-                case "SPEED":
-                    paint.setColor(android.graphics.Color.GREEN);
-                    break;
-                case "SCORE":
-                    paint.setColor(android.graphics.Color.YELLOW);
-                    break;
-                case "SLOW":
-                    paint.setColor(android.graphics.Color.BLUE);
-                    break;
-            }
-            
-            canvas.drawCircle(powerUp.x, powerUp.y, 15, paint);
+    // Gambar isi textBuffer tanpa membuat String baru, lalu kosongkan lagi
+    private void drawText(java.awt.Canvas canvas, StringBuilder text, float x, float y,
+                          android.graphics.Paint paint) {
+        canvas.drawText(text, 0, text.length(), x, y, paint);
+        text.setLength(0);
+    }
+    
+    private void drawPowerUps(java.awt.Canvas canvas, RenderCache cache) {
+        for (int i = 0, n = powerUps.size(); i < n; i++) {
+            int x = powerUps.getX(i);
+            int y = powerUps.getY(i);
+            canvas.drawCircle(x, y, POWER_UP_RADIUS, cache.powerUpPaints[powerUps.getType(i)]);
             
             // Draw plus sign for power-ups
-            android.graphics.Paint textPaint = new android.graphics.Paint();
-            textPaint.setColor(android.graphics.Color.BLACK);
-            textPaint.setTextSize(20);
-            textPaint.setTextAlign(android.graphics.Paint.Align.CENTER);
-            canvas.drawText("+", powerUp.x, powerUp.y + 7, textPaint);
+            canvas.drawText("+", x, y + 7, cache.plusPaint);
         }
     }
     
     private void updatePowerUps() {
-        java.util.Iterator<PowerUp> iterator = powerUps.iterator();
-        while (iterator.hasNext()) {
-            PowerUp powerUp = iterator.next();
-            powerUp.duration--;
-            
-            if (powerUp.duration <= 0) {
-                iterator.remove();
+        if (powerUps.size() == 0) {
+            return;
+        }
+        
+        // Broad-phase lewat grid (rebuild hanya jika ada spawn/remove), lalu jarak kuadrat
+        powerUpGrid.build(powerUps);
+        int hits = 0;
+        for (int ball = 0, n = balls.size(); ball < n && hits < powerUpHits.length; ball++) {
+            hits = collectPowerUpHits(ball, hits);
+        }
+        resolvePowerUpHits(hits);
+    }
+    
+    /** Tambahkan power-up yang tersentuh bola ke powerUpHits; jika penuh, sisanya dicek step berikutnya. */
+    private int collectPowerUpHits(int ball, int hits) {
+        int found = powerUpGrid.query(powerUps, balls.getPointX(ball), balls.getPointY(ball),
+                ballRadius + POWER_UP_RADIUS, powerUpQuery, 0);
+        for (int i = 0; i < found && hits < powerUpHits.length; i++) {
+            powerUpHits[hits++] = (long) powerUpQuery[i] << 32 | ball;
+        }
+        return hits;
+    }
+    
+    private void resolvePowerUpHits(int hits) {
+        // Urutkan index menurun (insertion sort, hits biasanya sedikit). Dengan swap-remove,
+        // menghapus dari index terbesar tidak menggeser index hit yang belum diproses.
+        for (int i = 1; i < hits; i++) {
+            long value = powerUpHits[i];
+            int j = i - 1;
+            while (j >= 0 && powerUpHits[j] < value) {
+                powerUpHits[j + 1] = powerUpHits[j];
+                j--;
             }
-            
-            // Check collision with ball
-            double distance = Math.sqrt(Math.pow(ballX - powerUp.x, 2) + Math.pow(ballY - powerUp.y, 2));
-            if (distance < BALL_RADIUS + 15) {
-                applyPowerUp(powerUp);
-                iterator.remove();
+            powerUpHits[j + 1] = value;
+        }
+        
+        int previous = -1;
+        for (int i = 0; i < hits; i++) {
+            int index = (int)(powerUpHits[i] >>> 32);
+            if (index == previous) {
+                continue; // power-up yang sama tersentuh lebih dari satu bola
             }
+            applyPowerUp(powerUps.getType(index), (int) powerUpHits[i]);
+            powerUps.removeAt(index);
+            previous = index;
         }
     }
     
-    private void applyPowerUp(PowerUp powerUp) {
-        switch (powerUp.type) {
-            case "SPEED":
-                ballSpeedX *= 1.5;
-                ballSpeedY *= 1.5;
+    private void applyPowerUp(byte type, int ball) {
+        switch (type) {
+            case PowerUpStore.TYPE_SPEED:
+                balls.scaleSpeed(ball, 1.5f);
                 score += 10;
                 break;
-            case "SCORE":
+            case PowerUpStore.TYPE_SCORE:
                 score += 25;
                 break;
-            case "SLOW":
-                ballSpeedX *= 0.7;
-                ballSpeedY *= 0.7;
+            case PowerUpStore.TYPE_SLOW:
+                balls.scaleSpeed(ball, 0.7f);
                 score += 5;
                 break;
         }
     }
     
-    private void spawnPowerUp() {
-        String[] types = {"SPEED", "SCORE", "SLOW"};
-        String type = types[(int)(Math.random() * types.length)];
-        
-        int x = (int)(Math.random() * (screenWidth - 100)) + 50;
-        int y = (int)(Math.random() * (screenHeight - 200)) + 100;
-        
-        powerUps.add(new PowerUp(x, y, type));
-    }
-    
     public boolean handleTouch(android.view.MotionEvent event) {
         if (event.getAction() == android.view.MotionEvent.ACTION_DOWN) {
             if (!isGameActive) {
@@ -227,13 +327,12 @@ public class GameContent {
             }
             
             // Reverse direction with bonus points
-            ballSpeedX = -ballSpeedX;
-            ballSpeedY = -ballSpeedY;
+            balls.reverseAll();
             score += TOUCH_BONUS;
             
             // Chance to spawn power-up on touch
-            if (Math.random() < 0.3) { // 30% chance
-                spawnPowerUp();
+            if (random.nextDouble() < TOUCH_SPAWN_CHANCE) {
+                powerUpScheduler.spawn(simulationNanos);
             }
             
             return true;
@@ -242,19 +341,66 @@ public class GameContent {
     }
     
     public void setGameActive(boolean active) {
+        if (active && !isGameActive) {
+            // Waktu selama pause tidak dihitung
+            hasLastUpdate = false;
+        }
         this.isGameActive = active;
     }
     
-    // PowerUp inner class
-    class PowerUp {
-        int x, y;
-        String type;
-        int duration = 300; // frames
+    // Semua Paint yang dipakai drawGame, dibuat sekali per theme
+    static class RenderCache {
+        final int backgroundColor;
+        final android.graphics.Paint ballPaint;
+        final android.graphics.Paint innerPaint;
+        final android.graphics.Paint textPaint;
+        final android.graphics.Paint titlePaint;
+        final android.graphics.Paint hintPaint;
+        final android.graphics.Paint overlayPaint;
+        final android.graphics.Paint gameOverPaint;
+        // Index = PowerUpStore.TYPE_*
+        final android.graphics.Paint[] powerUpPaints;
+        final android.graphics.Paint plusPaint;
+        
+        RenderCache(String ballColor, String bgColor) {
+            backgroundColor = android.graphics.Color.parseColor(bgColor);
+            
+            ballPaint = fillPaint(android.graphics.Color.parseColor(ballColor));
+            innerPaint = fillPaint(android.graphics.Color.parseColor("#FF8C5A"));
+            
+            android.graphics.Typeface bold = android.graphics.Typeface.create(
+                    android.graphics.Typeface.DEFAULT, android.graphics.Typeface.BOLD);
+            textPaint = textPaint(android.graphics.Color.WHITE, 36, bold);
+            titlePaint = textPaint(android.graphics.Color.parseColor("#FFD166"), 42, bold);
+            hintPaint = textPaint(android.graphics.Color.LTGRAY, 24, bold);
+            gameOverPaint = textPaint(android.graphics.Color.RED, 48, bold);
+            overlayPaint = fillPaint(android.graphics.Color.argb(200, 0, 0, 0));
+            
+            powerUpPaints = new android.graphics.Paint[PowerUpStore.TYPE_COUNT];
+            powerUpPaints[PowerUpStore.TYPE_SPEED] = fillPaint(android.graphics.Color.GREEN);
+            powerUpPaints[PowerUpStore.TYPE_SCORE] = fillPaint(android.graphics.Color.YELLOW);
+            powerUpPaints[PowerUpStore.TYPE_SLOW] = fillPaint(android.graphics.Color.BLUE);
+            
+            plusPaint = textPaint(android.graphics.Color.BLACK, 20, null);
+            plusPaint.setTextAlign(android.graphics.Paint.Align.CENTER);
+        }
         
-        PowerUp(int x, int y, String type) {
-            this.x = x;
-            this.y = y;
-            this.type = type;
+        private static android.graphics.Paint fillPaint(int color) {
+            android.graphics.Paint paint = new android.graphics.Paint();
+            paint.setColor(color);
+            paint.setStyle(android.graphics.Paint.Style.FILL);
+            return paint;
+        }
+        
+        private static android.graphics.Paint textPaint(int color, float size,
+                                                        android.graphics.Typeface typeface) {
+            android.graphics.Paint paint = new android.graphics.Paint();
+            paint.setColor(color);
+            paint.setTextSize(size);
+            if (typeface != null) {
+                paint.setTypeface(typeface);
+            }
+            return paint;
         }
     }
 }
@@ -3,76 +3,75 @@ package com.gimm;
 import com.badlogic.gdx.ApplicationAdapter;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.graphics.Color;
-import com.badlogic.gdx.graphics.Texture;
-import com.badlogic.gdx.graphics.Pixmap;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.graphics.g2d.GlyphLayout;
-import com.badlogic.gdx.math.Circle;
-import com.badlogic.gdx.math.Intersector;
-import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.Preferences;
-import java.util.Random;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.XmlReader;
+import java.io.Writer;
 
 public class GameSuperClass extends ApplicationAdapter {
   private BitmapFont titleFont;
   private BitmapFont scoreFont;
   private BitmapFont menuFont;
   private BitmapFont debugFont;
-  private Circle birdCircle;
-  private Random randomGenerator;
+  private FlappySimulation simulation;
+  private final ReplayRecorder replayRecorder = new ReplayRecorder();
+  private Replay lastReplay;
   private SpriteBatch batch;
-  private Texture topTube;
-  private Texture bottomTube;
-  private Texture background;
-  private Texture gameover;
-  private Texture menuBackground;
-  private Texture playButton;
-  private Texture birdAlive;
-  private Texture birdDead;
-  private Texture missingTexture;
-
-  private float birdY;
-  private float[] distanceBetweenTubes;
+  private GameAssets assets;
+  private boolean assetsLoaded;
+  private final StringBuilder loadingText = new StringBuilder(32);
+  private TextureRegion topTube;
+  private TextureRegion bottomTube;
+  private TextureRegion background;
+  private TextureRegion gameover;
+  private TextureRegion menuBackground;
+  private TextureRegion playButton;
+  private TextureRegion birdAlive;
+  private TextureRegion birdDead;
+  private TextureRegion missingTexture;
+  // Frame animasi sayap, dipotong dari sprite burung jika berupa strip horizontal
+  private TextureRegion[] birdFrames;
+
   private float maxTubeOffset;
-  private float velocity;
-  private float birdRotation;
 
   private int flapState;
-  private int score;
   private int highScore;
-  private int scoringTube;
   private int gameState;
+  private int simulationEvents;
   private int width;
   private int height;
   private int flapCounter;
-  private int frameCount;
-  private long startTime;
-  private float fps;
-
-  private final float gap = 400f;
-  private final float tubeVelocity = 4f;
-  private final int numberOfTubes = 4;
-  private final float gravity = 15f;
-  private final float flapStrength = 450f;
-  private final float maxVelocity = 400f;
-
-  private final float[] tubeX = new float[numberOfTubes];
-  private final float[] tubeOffset = new float[numberOfTubes];
-
-  private final Rectangle[] topTubeRectangles = new Rectangle[numberOfTubes];
-  private final Rectangle[] bottomTubeRectangles = new Rectangle[numberOfTubes];
+
+  // gap, tubeVelocity, gravity, flapStrength dan maxVelocity sekarang di PhysicsParams,
+  // dipilih dari profil kesulitan di settings.xml setiap kali game dimulai
+  private DifficultyProfiles difficultyProfiles;
+  private DifficultyTracker difficulty;
+  private String difficultyName = DifficultyProfiles.DEFAULT_PROFILE;
+  private int numberOfTubes;
   
   private Preferences prefs;
+  private HighScoreStore highScoreStore;
+  // Batas waktu skor baru boleh tertahan di memori sebelum ditulis
+  private static final long HIGH_SCORE_FLUSH_INTERVAL_MS = 5000;
   private GlyphLayout glyphLayout;
 
   // Debug variables
   private boolean showDebug = true;
-  private StringBuilder debugLog;
+  private DebugLog debugLog;
   private int debugLogSize = 10;
   private int collisionCount = 0;
   private int tapCount = 0;
   private Exception lastException = null;
+  private final DebugMetrics debugMetrics = new DebugMetrics();
+  // Dipakai ulang untuk setiap baris overlay supaya tidak ada String baru per frame
+  private final StringBuilder debugLine = new StringBuilder(128);
+  private int debugLogLines = 3;
+  private final FrameProfiler profiler = new FrameProfiler(60);
+  private static final String PROFILE_REPORT_FILE = "frame-profile.txt";
 
   // Konstanta untuk state game
   private static final int STATE_MENU = 0;
@@ -82,21 +81,23 @@ public class GameSuperClass extends ApplicationAdapter {
   @Override
   public void create() {
     try {
-      debugLog = new StringBuilder();
+      debugLog = new DebugLog(debugLogSize);
       logDebug("Game initializing...");
       
       batch = new SpriteBatch();
       logDebug("SpriteBatch created successfully");
       
       // Load preferences untuk menyimpan high score
+      // Skor lama di Preferences tetap dibaca untuk migrasi
       prefs = Gdx.app.getPreferences("FlappyBirdPrefs");
-      highScore = prefs.getInteger("highScore", 0);
-      logDebug("Preferences loaded - High Score: " + highScore);
+      highScoreStore = new HighScoreStore(Gdx.files.local("highscore.dat").file(),
+          HIGH_SCORE_FLUSH_INTERVAL_MS);
+      highScore = highScoreStore.load(prefs.getInteger("highScore", 0));
+      logDebug("High score loaded: " + highScore);
       
-      // Load textures dengan error handling
+      // Texture dimuat asynchronous, game dimulai setelah selesai (lihat render)
       loadTextures();
       
-      birdCircle = new Circle();
       glyphLayout = new GlyphLayout();
       
       // Setup fonts
@@ -107,14 +108,10 @@ public class GameSuperClass extends ApplicationAdapter {
       logDebug("Screen dimensions: " + width + "x" + height);
 
       // Initialize game variables
-      distanceBetweenTubes = new float[numberOfTubes];
-      maxTubeOffset = height / 2 - gap / 2 - 100;
-      randomGenerator = new Random();
+      loadDifficulty();
+      difficulty = new DifficultyTracker(difficultyProfiles.get(difficultyName));
+      simulation = new FlappySimulation(difficulty.getParams());
       
-      startTime = System.currentTimeMillis();
-      frameCount = 0;
-      
-      startGame();
       logDebug("Game created successfully");
       
     } catch (Exception e) {
@@ -122,63 +119,88 @@ public class GameSuperClass extends ApplicationAdapter {
     }
   }
 
-  private void loadTextures() {
+  // Dibaca sekali saat create; tangga level semua profil langsung dihitung di sini
+  private void loadDifficulty() {
+    XmlReader xml = new XmlReader();
+    float playerSpeed = DifficultyProfiles.DEFAULT_PLAYER_SPEED;
     try {
-      background = loadTextureSafe("bg.png");
-      gameover = loadTextureSafe("gameover.png");
-      menuBackground = loadTextureSafe("bg.png");
-      playButton = loadTextureSafe("play_button.png");
-      birdAlive = loadTextureSafe("bird.png");
-      birdDead = loadTextureSafe("bird2.png");
-      topTube = loadTextureSafe("toptube.png");
-      bottomTube = loadTextureSafe("bottomtube.png");
-      
-      // Create missing texture placeholder
-      missingTexture = createMissingTexture();
-      
+      FileHandle settings = Gdx.files.internal("config/settings.xml");
+      if (settings.exists()) {
+        difficultyName = xml.parse(settings).get("difficulty", difficultyName);
+      }
+      FileHandle player = Gdx.files.internal("characters/player.xml");
+      if (player.exists()) {
+        // <health> tidak dipakai: di mode flappy satu tabrakan langsung game over
+        playerSpeed = xml.parse(player).getFloat("speed", playerSpeed);
+      }
     } catch (Exception e) {
-      handleException("Texture loading failed", e);
+      handleException("Reading settings failed", e);
     }
-  }
 
-  private Texture loadTextureSafe(String path) {
+    float speedScale = DifficultyProfiles.speedScale(playerSpeed);
+    difficultyProfiles = DifficultyProfiles.defaults(speedScale);
     try {
-      Texture texture = new Texture(Gdx.files.internal(path));
-      logDebug("Loaded texture: " + path + " (" + texture.getWidth() + "x" + texture.getHeight() + ")");
-      return texture;
+      FileHandle profiles = Gdx.files.internal("config/difficulty.xml");
+      if (profiles.exists()) {
+        difficultyProfiles = DifficultyProfiles.fromXml(xml.parse(profiles), speedScale);
+      }
     } catch (Exception e) {
-      logDebug("ERROR: Failed to load texture: " + path + " - " + e.getMessage());
-      return createMissingTexture();
+      handleException("Reading difficulty profiles failed, using defaults", e);
     }
+    logDebug("Difficulty: " + difficultyName + ", player speed " + playerSpeed);
   }
 
-  private Texture createMissingTexture() {
+  private void loadTextures() {
     try {
-      // Create a simple missing texture pattern menggunakan Pixmap
-      Pixmap pixmap = new Pixmap(64, 64, Pixmap.Format.RGBA8888);
-      
-      // Fill with magenta and black checkerboard pattern
-      for (int x = 0; x < 64; x++) {
-        for (int y = 0; y < 64; y++) {
-          if ((x / 8 + y / 8) % 2 == 0) {
-            pixmap.setColor(Color.MAGENTA);
-          } else {
-            pixmap.setColor(Color.BLACK);
-          }
-          pixmap.drawPixel(x, y);
-        }
-      }
-      
-      Texture texture = new Texture(pixmap);
-      pixmap.dispose(); // Important: dispose pixmap after creating texture
-      
-      logDebug("Created missing texture placeholder");
-      return texture;
-      
+      assets = new GameAssets();
+      // bg.png dipakai untuk background dan menu, tetapi hanya dimuat sekali
+      assets.queue("bg.png", "gameover.png", "play_button.png", "bird.png", "bird2.png",
+          "toptube.png", "bottomtube.png");
     } catch (Exception e) {
-      logDebug("CRITICAL: Cannot create missing texture placeholder");
-      return null;
+      handleException("Texture loading failed", e);
+    }
+  }
+
+  private void drawLoading() {
+    if (assets.update()) {
+      onAssetsLoaded();
+      return;
+    }
+
+    loadingText.setLength(0);
+    loadingText.append("Loading ").append((int) (assets.getProgress() * 100)).append('%');
+    batch.begin();
+    menuFont.setColor(Color.WHITE);
+    glyphLayout.setText(menuFont, loadingText);
+    menuFont.draw(batch, loadingText, width/2 - glyphLayout.width/2, height/2);
+    batch.end();
+  }
+
+  private void onAssetsLoaded() {
+    background = assets.get("bg.png");
+    menuBackground = assets.get("bg.png");
+    gameover = assets.get("gameover.png");
+    playButton = assets.get("play_button.png");
+    birdAlive = assets.get("bird.png");
+    birdDead = assets.get("bird2.png");
+    topTube = assets.get("toptube.png");
+    bottomTube = assets.get("bottomtube.png");
+    missingTexture = assets.getPlaceholder();
+
+    int frameWidth = birdAlive.getRegionHeight();
+    if (frameWidth > 0 && birdAlive.getRegionWidth() >= frameWidth * 2) {
+      birdFrames = new TextureRegion[] {
+        new TextureRegion(birdAlive, 0, 0, frameWidth, frameWidth),
+        new TextureRegion(birdAlive, frameWidth, 0, frameWidth, frameWidth)
+      };
+    } else {
+      birdFrames = new TextureRegion[] { birdAlive };
     }
+
+    assetsLoaded = true;
+    logDebug("Assets loaded - atlas: " + assets.isUsingAtlas()
+        + ", textures: " + assets.getTextureCount());
+    startGame();
   }
 
   private void setupFonts() {
@@ -214,31 +236,35 @@ public class GameSuperClass extends ApplicationAdapter {
     try {
       logDebug("Starting new game...");
       
-      birdY = height / 2 - getBirdTexture().getHeight() / 2;
-      score = 0;
-      scoringTube = 0;
-      velocity = 0;
-      birdRotation = 0;
       flapCounter = 0;
       collisionCount = 0;
       tapCount = 0;
+      simulationEvents = 0;
+
+      // Params level sudah dihitung di profil; simulasi baru hanya dibuat saat level berubah
+      PhysicsParams params = difficulty.getParams();
+      if (simulation.getParams() != params) {
+        simulation = new FlappySimulation(params);
+      }
+      numberOfTubes = params.getNumberOfTubes();
+      maxTubeOffset = height / 2 - params.getGap() / 2 - 100;
+      logDebug("Difficulty " + difficulty.getProfile().getName() + " level " + difficulty.getLevel()
+          + ": " + params);
+
+      TextureRegion bird = getBirdTexture();
+      simulation.setWorld(width, height,
+          topTube != null ? topTube.getRegionWidth() : 100,
+          topTube != null ? topTube.getRegionHeight() : 500,
+          bottomTube != null ? bottomTube.getRegionHeight() : 500,
+          bird != null ? bird.getRegionWidth() : 50,
+          bird != null ? bird.getRegionHeight() : 50);
+      // Seed disimpan di replay, jadi sesi ini bisa diputar ulang persis sama
+      simulation.reset(System.nanoTime() ^ System.currentTimeMillis() << 20);
+      replayRecorder.begin();
 
-      // Set jarak berbeda untuk setiap tiang
-      float baseDistance = width * 3 / 4;
       for (int i = 0; i < numberOfTubes; i++) {
-        distanceBetweenTubes[i] = baseDistance * (0.8f + randomGenerator.nextFloat() * 0.4f);
-        tubeOffset[i] = (randomGenerator.nextFloat() - 0.5f) * (height - gap - 200);
-        
-        if (i == 0) {
-          tubeX[i] = width / 2 - topTube.getWidth() / 2 + width;
-        } else {
-          tubeX[i] = tubeX[i-1] + distanceBetweenTubes[i-1];
-        }
-        
-        topTubeRectangles[i] = new Rectangle();
-        bottomTubeRectangles[i] = new Rectangle();
-        
-        logDebug("Tube " + i + " - Distance: " + distanceBetweenTubes[i] + ", Offset: " + tubeOffset[i]);
+        logDebug("Tube " + i + " - Distance: " + simulation.getDistanceBetweenTubes(i)
+            + ", Offset: " + simulation.getTubeOffset(i));
       }
       
       logDebug("Game started successfully");
@@ -251,14 +277,13 @@ public class GameSuperClass extends ApplicationAdapter {
   @Override
   public void render() {
     try {
-      frameCount++;
-      
-      // Calculate FPS every 60 frames
-      if (frameCount % 60 == 0) {
-        long currentTime = System.currentTimeMillis();
-        fps = 1000.0f / ((currentTime - startTime) / 60.0f);
-        startTime = currentTime;
+      if (!assetsLoaded) {
+        drawLoading();
+        return;
       }
+
+      profiler.beginFrame();
+      debugMetrics.onFrame(System.nanoTime());
       
       batch.begin();
       
@@ -267,11 +292,15 @@ public class GameSuperClass extends ApplicationAdapter {
 
       switch (gameState) {
         case STATE_MENU:
+          profiler.begin(FrameProfiler.PHASE_DRAW_MENU);
           drawMenu();
+          profiler.end(FrameProfiler.PHASE_DRAW_MENU);
           break;
           
         case STATE_PLAYING:
+          profiler.begin(FrameProfiler.PHASE_UPDATE_GAMEPLAY);
           updateGameplay();
+          profiler.end(FrameProfiler.PHASE_UPDATE_GAMEPLAY);
           break;
           
         case STATE_GAME_OVER:
@@ -281,20 +310,44 @@ public class GameSuperClass extends ApplicationAdapter {
 
       // Gambar burung (kecuali di menu)
       if (gameState != STATE_MENU) {
+        profiler.begin(FrameProfiler.PHASE_DRAW_BIRD);
         drawBird();
+        profiler.end(FrameProfiler.PHASE_DRAW_BIRD);
         
         // Update collision circle dan cek tabrakan
         if (gameState == STATE_PLAYING) {
+          profiler.begin(FrameProfiler.PHASE_CHECK_COLLISIONS);
           checkCollisions();
+          profiler.end(FrameProfiler.PHASE_CHECK_COLLISIONS);
         }
       }
       
+      debugMetrics.setGameStats(gameState, simulation.getScore(), highScore,
+          simulation.getBirdY(), simulation.getVelocity(), tapCount, collisionCount,
+          simulation.getScoringTube(), numberOfTubes);
+
+      // Toggle debug with D key
+      if (Gdx.input.isKeyJustPressed(com.badlogic.gdx.Input.Keys.D)) {
+        showDebug = !showDebug;
+        logDebug(showDebug ? "Debug display enabled" : "Debug display disabled");
+      }
+
+      // Simpan report profiler dengan P key
+      if (Gdx.input.isKeyJustPressed(com.badlogic.gdx.Input.Keys.P)) {
+        writeProfileReport();
+      }
+
       // Draw debug info
       if (showDebug) {
+        profiler.begin(FrameProfiler.PHASE_DRAW_DEBUG_INFO);
         drawDebugInfo();
+        profiler.end(FrameProfiler.PHASE_DRAW_DEBUG_INFO);
       }
       
+      profiler.begin(FrameProfiler.PHASE_BATCH_FLUSH);
       batch.end();
+      profiler.end(FrameProfiler.PHASE_BATCH_FLUSH);
+      profiler.endFrame();
       
     } catch (Exception e) {
       handleException("Render loop failed", e);
@@ -308,7 +361,7 @@ public class GameSuperClass extends ApplicationAdapter {
     }
   }
 
-  private void drawTextureSafe(Texture texture, float x, float y, float width, float height) {
+  private void drawTextureSafe(TextureRegion texture, float x, float y, float width, float height) {
     if (texture != null) {
       batch.draw(texture, x, y, width, height);
     } else {
@@ -326,7 +379,7 @@ public class GameSuperClass extends ApplicationAdapter {
   }
 
   // Overloaded method untuk draw texture dengan ukuran asli
-  private void drawTextureSafe(Texture texture, float x, float y) {
+  private void drawTextureSafe(TextureRegion texture, float x, float y) {
     if (texture != null) {
       batch.draw(texture, x, y);
     } else {
@@ -348,7 +401,7 @@ public class GameSuperClass extends ApplicationAdapter {
       titleFont.draw(batch, title, width/2 - 280, height/2 + 200);
 
       // Gambar button play
-      float buttonX = width/2 - (playButton != null ? playButton.getWidth() : 128) / 2;
+      float buttonX = width/2 - (playButton != null ? playButton.getRegionWidth() : 128) / 2;
       float buttonY = height/2 - 100;
       if (playButton != null) {
         batch.draw(playButton, buttonX, buttonY);
@@ -373,7 +426,7 @@ public class GameSuperClass extends ApplicationAdapter {
 
       if (Gdx.input.justTouched()) {
         tapCount++;
-        logDebug("Menu tap detected - Total taps: " + tapCount);
+        logDebug("Menu tap detected - Total taps: {}", tapCount);
         gameState = STATE_PLAYING;
         startGame();
       }
@@ -385,69 +438,44 @@ public class GameSuperClass extends ApplicationAdapter {
 
   private void updateGameplay() {
     try {
-      // Update score ketika melewati tiang
-      if (tubeX[scoringTube] < width / 2 - (topTube != null ? topTube.getWidth() : 100) / 2) {
-        score++;
-        logDebug("Score increased to: " + score + " (Tube: " + scoringTube + ")");
-        if (score > highScore) {
-          highScore = score;
-          // Simpan high score baru
-          prefs.putInteger("highScore", highScore);
-          prefs.flush();
-          logDebug("New high score: " + highScore);
-        }
-        scoringTube = (scoringTube + 1) % numberOfTubes;
-      }
-
       // Kontrol burung yang lebih smooth
       if (Gdx.input.justTouched()) {
         tapCount++;
-        velocity = -flapStrength;
+        replayRecorder.recordFlap(simulation.getTick());
+        simulation.flap();
         flapCounter = 0;
-        logDebug("Flap detected - Velocity: " + velocity + " - Total taps: " + tapCount);
+        logDebug("Flap detected - Total taps: {}", tapCount);
       }
 
-      // Update fisika burung
-      float deltaTime = Gdx.graphics.getDeltaTime();
-      velocity += gravity * deltaTime;
-      velocity = Math.min(velocity, maxVelocity);
-      birdY -= velocity * deltaTime;
-
-      // Update rotasi burung berdasarkan velocity
-      birdRotation = Math.max(-90, Math.min(30, velocity * 0.2f));
+      // Simulasi maju dengan fixed timestep, rendering diinterpolasi
+      simulationEvents = simulation.advance(Gdx.graphics.getDeltaTime());
+      int score = simulation.getScore();
 
-      // Update posisi tiang
-      for (int i = 0; i < numberOfTubes; i++) {
-        float tubeWidth = topTube != null ? topTube.getWidth() : 100;
-        
-        if (tubeX[i] < -tubeWidth) {
-          tubeX[i] = tubeX[(i + numberOfTubes - 1) % numberOfTubes] + 
-                     distanceBetweenTubes[(i + numberOfTubes - 1) % numberOfTubes];
-          tubeOffset[i] = (randomGenerator.nextFloat() - 0.5f) * (height - gap - 200);
-          logDebug("Tube " + i + " recycled - New offset: " + tubeOffset[i]);
-        } else {
-          tubeX[i] -= tubeVelocity;
+      if ((simulationEvents & FlappySimulation.EVENT_SCORED) != 0) {
+        logDebug("Score increased to: {} (Tube: {})", score, simulation.getScoringTube());
+        if (score > highScore) {
+          highScore = score;
+          // Simpan high score baru, ditulis di background thread
+          highScoreStore.submit(highScore);
+          logDebug("New high score: {}", highScore);
         }
+      }
 
-        final float topY = height / 2 + gap / 2 + tubeOffset[i];
-        final float bottomY = height / 2 - gap / 2 - (bottomTube != null ? bottomTube.getHeight() : 500) + tubeOffset[i];
+      if ((simulationEvents & FlappySimulation.EVENT_TUBE_RECYCLED) != 0) {
+        int tube = simulation.getLastRecycledTube();
+        logDebug("Tube {} recycled - New offset: {}", tube, simulation.getTubeOffset(tube));
+      }
 
+      // Gambar tiang pada posisi interpolasi
+      float alpha = simulation.getAlpha();
+      for (int i = 0; i < numberOfTubes; i++) {
+        float x = simulation.getInterpolatedTubeX(i, alpha);
         if (topTube != null) {
-          batch.draw(topTube, tubeX[i], topY);
+          batch.draw(topTube, x, simulation.getTopTubeY(i));
         }
         if (bottomTube != null) {
-          batch.draw(bottomTube, tubeX[i], bottomY);
+          batch.draw(bottomTube, x, simulation.getBottomTubeY(i));
         }
-
-        topTubeRectangles[i] = new Rectangle(tubeX[i], topY, tubeWidth, topTube != null ? topTube.getHeight() : 500);
-        bottomTubeRectangles[i] = new Rectangle(tubeX[i], bottomY, tubeWidth, bottomTube != null ? bottomTube.getHeight() : 500);
-      }
-
-      // Cek game over condition
-      float birdHeight = getBirdTexture() != null ? getBirdTexture().getHeight() : 50;
-      if (birdY <= 0 || birdY >= height - birdHeight) {
-        logDebug("Game over - Bird out of bounds. Y: " + birdY + ", Height: " + height);
-        gameState = STATE_GAME_OVER;
       }
 
       // Gambar score dengan shadow effect
@@ -466,8 +494,11 @@ public class GameSuperClass extends ApplicationAdapter {
     }
   }
 
-  private Texture getBirdTexture() {
-    return (gameState == STATE_GAME_OVER) ? birdDead : birdAlive;
+  private TextureRegion getBirdTexture() {
+    if (gameState == STATE_GAME_OVER) {
+      return birdDead;
+    }
+    return birdFrames != null ? birdFrames[0] : birdAlive;
   }
 
   private void drawBird() {
@@ -479,31 +510,29 @@ public class GameSuperClass extends ApplicationAdapter {
         flapState = (flapCounter / 10) % 2;
       }
       
-      Texture currentBird = getBirdTexture();
+      TextureRegion currentBird = getBirdTexture();
+      if (gameState == STATE_PLAYING) {
+        currentBird = birdFrames[flapState % birdFrames.length];
+      }
       if (currentBird == null) {
         currentBird = missingTexture;
       }
       
-      float birdX = width / 2 - currentBird.getWidth() / 2;
+      float birdX = width / 2 - currentBird.getRegionWidth() / 2;
+      float birdY = simulation.getInterpolatedBirdY(simulation.getAlpha());
       
       if (gameState == STATE_PLAYING) {
         // Gambar burung dengan rotasi
         batch.draw(currentBird, 
                   birdX, birdY, 
-                  currentBird.getWidth()/2, currentBird.getHeight()/2,
-                  currentBird.getWidth(), currentBird.getHeight(),
+                  currentBird.getRegionWidth()/2, currentBird.getRegionHeight()/2,
+                  currentBird.getRegionWidth(), currentBird.getRegionHeight(),
                   1, 1, 
-                  birdRotation, 
-                  flapState * currentBird.getHeight(), 0, 
-                  currentBird.getWidth(), currentBird.getHeight(), 
-                  false, false);
+                  simulation.getBirdRotation());
       } else {
         batch.draw(currentBird, birdX, birdY);
       }
       
-      // Update collision circle
-      birdCircle.set(width / 2, birdY + currentBird.getHeight() / 2, currentBird.getWidth() / 3);
-      
     } catch (Exception e) {
       handleException("Bird drawing failed", e);
     }
@@ -511,15 +540,20 @@ public class GameSuperClass extends ApplicationAdapter {
 
   private void checkCollisions() {
     try {
-      for (int i = 0; i < numberOfTubes; i++) {
-        if (topTubeRectangles[i] != null && bottomTubeRectangles[i] != null) {
-          if (Intersector.overlaps(birdCircle, topTubeRectangles[i]) || 
-              Intersector.overlaps(birdCircle, bottomTubeRectangles[i])) {
-            collisionCount++;
-            logDebug("Collision detected with tube " + i + " - Total collisions: " + collisionCount);
-            gameState = STATE_GAME_OVER;
-            break;
-          }
+      // Tabrakan sudah dihitung oleh simulasi pada tick terakhir
+      if ((simulationEvents & FlappySimulation.EVENT_CRASHED) != 0) {
+        int tube = simulation.getCrashTube();
+        if (tube == FlappySimulation.CRASH_OUT_OF_BOUNDS) {
+          logDebug("Game over - Bird out of bounds. Y: {}, Height: {}", simulation.getBirdY(), height);
+        } else {
+          collisionCount++;
+          logDebug("Collision detected with tube {} - Total collisions: {}", tube, collisionCount);
+        }
+        gameState = STATE_GAME_OVER;
+        highScoreStore.flushAsync();
+        lastReplay = replayRecorder.finish(simulation);
+        if (difficulty.record(simulation.getScore())) {
+          logDebug("Difficulty level changed to {}", difficulty.getLevel());
         }
       }
     } catch (Exception e) {
@@ -542,8 +576,8 @@ public class GameSuperClass extends ApplicationAdapter {
       
       // Score
       menuFont.setColor(Color.CYAN);
-      glyphLayout.setText(menuFont, "Score: " + score);
-      menuFont.draw(batch, "Score: " + score, 
+      glyphLayout.setText(menuFont, "Score: " + simulation.getScore());
+      menuFont.draw(batch, "Score: " + simulation.getScore(), 
                    width/2 - glyphLayout.width/2, height/2 + 50);
       
       // High Score
@@ -573,37 +607,68 @@ public class GameSuperClass extends ApplicationAdapter {
     try {
       debugFont.setColor(Color.YELLOW);
       float yPos = height - 30;
-      
+      StringBuilder line = debugLine;
+
       // Basic debug info
-      String[] debugLines = {
-        "FPS: " + String.format("%.1f", fps),
-        "State: " + getStateName(gameState),
-        "Score: " + score + " | High: " + highScore,
-        "Bird: Y=" + String.format("%.1f", birdY) + " V=" + String.format("%.1f", velocity),
-        "Taps: " + tapCount + " | Collisions: " + collisionCount,
-        "Memory: " + (Runtime.getRuntime().totalMemory() - Runtime.getRuntime().freeMemory()) / (1024 * 1024) + "MB",
-        "Tubes: " + scoringTube + "/" + numberOfTubes
-      };
-      
-      for (String line : debugLines) {
-        debugFont.draw(batch, line, 10, yPos);
-        yPos -= 25;
+      line.setLength(0);
+      DebugMetrics.appendOneDecimal(line.append("FPS: "), debugMetrics.getFps());
+      yPos = drawDebugLine(line, yPos);
+
+      line.setLength(0);
+      line.append("State: ").append(getStateName(debugMetrics.getGameState()));
+      yPos = drawDebugLine(line, yPos);
+
+      line.setLength(0);
+      line.append("Score: ").append(debugMetrics.getScore())
+          .append(" | High: ").append(debugMetrics.getHighScore());
+      yPos = drawDebugLine(line, yPos);
+
+      line.setLength(0);
+      DebugMetrics.appendOneDecimal(line.append("Bird: Y="), debugMetrics.getBirdY());
+      DebugMetrics.appendOneDecimal(line.append(" V="), debugMetrics.getVelocity());
+      yPos = drawDebugLine(line, yPos);
+
+      line.setLength(0);
+      line.append("Taps: ").append(debugMetrics.getTapCount())
+          .append(" | Collisions: ").append(debugMetrics.getCollisionCount());
+      yPos = drawDebugLine(line, yPos);
+
+      line.setLength(0);
+      line.append("Memory: ").append(debugMetrics.getHeapUsedBytes() / (1024 * 1024)).append("MB");
+      yPos = drawDebugLine(line, yPos);
+
+      line.setLength(0);
+      line.append("Tubes: ").append(debugMetrics.getScoringTube())
+          .append('/').append(debugMetrics.getNumberOfTubes());
+      yPos = drawDebugLine(line, yPos);
+
+      line.setLength(0);
+      line.append("Difficulty: ").append(difficulty.getProfile().getName())
+          .append(" L").append(difficulty.getLevel());
+      DebugMetrics.appendOneDecimal(line.append(" gap="), simulation.getCurrentGap());
+      yPos = drawDebugLine(line, yPos);
+
+      // Beberapa entry log terakhir, diformat langsung dari ring buffer
+      debugFont.setColor(Color.LIGHT_GRAY);
+      int logSize = debugLog.size();
+      for (int i = Math.max(0, logSize - debugLogLines); i < logSize; i++) {
+        line.setLength(0);
+        debugLog.format(i, line);
+        yPos = drawDebugLine(line, yPos);
       }
-      
+
       // Show last exception if any
       if (lastException != null) {
         debugFont.setColor(Color.RED);
         String errorMsg = lastException.getMessage();
+        line.setLength(0);
+        line.append("LAST ERROR: ");
         if (errorMsg != null && errorMsg.length() > 50) {
-          errorMsg = errorMsg.substring(0, 50) + "...";
+          line.append(errorMsg, 0, 50).append("...");
+        } else {
+          line.append(errorMsg);
         }
-        debugFont.draw(batch, "LAST ERROR: " + errorMsg, 10, yPos - 50);
-      }
-      
-      // Toggle debug with D key
-      if (Gdx.input.isKeyJustPressed(com.badlogic.gdx.Input.Keys.D)) {
-        showDebug = !showDebug;
-        logDebug("Debug display " + (showDebug ? "enabled" : "disabled"));
+        debugFont.draw(batch, line, 10, yPos - 50);
       }
       
     } catch (Exception e) {
@@ -612,6 +677,43 @@ public class GameSuperClass extends ApplicationAdapter {
     }
   }
 
+  private float drawDebugLine(CharSequence line, float yPos) {
+    debugFont.draw(batch, line, 10, yPos);
+    return yPos - 25;
+  }
+
+  public DebugMetrics getDebugMetrics() {
+    return debugMetrics;
+  }
+
+  /** Replay sesi terakhir yang selesai, atau null. */
+  public Replay getLastReplay() {
+    return lastReplay;
+  }
+
+  public FrameProfiler getProfiler() {
+    return profiler;
+  }
+
+  private void writeProfileReport() {
+    Writer writer = null;
+    try {
+      writer = Gdx.files.local(PROFILE_REPORT_FILE).writer(false);
+      profiler.writeReport(writer);
+      logDebug("Frame profile written to " + PROFILE_REPORT_FILE);
+    } catch (Exception e) {
+      handleException("Writing frame profile failed", e);
+    } finally {
+      if (writer != null) {
+        try {
+          writer.close();
+        } catch (Exception ignored) {
+          // Report sudah di-flush
+        }
+      }
+    }
+  }
+
   private String getStateName(int state) {
     switch (state) {
       case STATE_MENU: return "MENU";
@@ -621,12 +723,70 @@ public class GameSuperClass extends ApplicationAdapter {
     }
   }
 
+  // Logging di hot path hanya aktif saat overlay debug tampil. Argumen numerik
+  // disimpan sebagai primitive dan baru diformat saat log dibaca.
+  private boolean isLogging() {
+    return DebugLog.ENABLED && showDebug && debugLog != null;
+  }
+
   private void logDebug(String message) {
-    String logMessage = "[" + System.currentTimeMillis() + "] " + message;
-    if (debugLog != null) {
-      debugLog.append(logMessage).append("\n");
-      
-      // Keep log size manageable
-      String[] lines = debugLog.toString().split("\n");
-      if (lines.length > debugLogSize) {
-        
+    if (isLogging()) {
+      debugLog.log(DebugLog.LEVEL_INFO, message);
+    }
+  }
+
+  private void logDebug(String template, double arg) {
+    if (isLogging()) {
+      debugLog.log(DebugLog.LEVEL_INFO, template, arg);
+    }
+  }
+
+  private void logDebug(String template, double first, double second) {
+    if (isLogging()) {
+      debugLog.log(DebugLog.LEVEL_INFO, template, first, second);
+    }
+  }
+
+  // Error selalu dicatat, juga saat overlay debug disembunyikan
+  private void logError(String message) {
+    if (DebugLog.ENABLED && debugLog != null) {
+      debugLog.log(DebugLog.LEVEL_ERROR, message);
+    }
+    Gdx.app.error("GameSuperClass", message);
+  }
+
+  public String exportDebugLog() {
+    return debugLog != null ? debugLog.export() : "";
+  }
+
+  private void handleException(String context, Exception e) {
+    lastException = e;
+    logError(context + ": " + e.getMessage());
+    Gdx.app.error("GameSuperClass", context, e);
+  }
+
+  @Override
+  public void pause() {
+    if (highScoreStore != null) {
+      highScoreStore.flushAsync();
+    }
+    writeProfileReport();
+  }
+
+  @Override
+  public void dispose() {
+    writeProfileReport();
+    try {
+      if (highScoreStore != null) highScoreStore.close();
+      if (batch != null) batch.dispose();
+      // AssetManager ikut membuang atlas / texture dan placeholder
+      if (assets != null) assets.dispose();
+      if (titleFont != null) titleFont.dispose();
+      if (scoreFont != null) scoreFont.dispose();
+      if (menuFont != null) menuFont.dispose();
+      if (debugFont != null) debugFont.dispose();
+    } catch (Exception e) {
+      Gdx.app.error("GameSuperClass", "Dispose failed", e);
+    }
+  }
+}
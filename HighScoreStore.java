@@ -0,0 +1,187 @@
+package com.gimm;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.CRC32;
+
+/**
+ * Penyimpanan high score yang tidak pernah menulis disk di render thread.
+ * submit() hanya memperbarui nilai di memori; penulisan dilakukan oleh satu
+ * background thread saat game over / pause atau paling lambat setelah
+ * maxFlushIntervalMs. File ditulis ke file sementara lalu di-rename supaya
+ * crash di tengah penulisan tidak merusak skor yang sudah tersimpan.
+ */
+public final class HighScoreStore {
+  private static final int MAGIC = 0x414B4853; // "AKHS"
+  private static final int VERSION = 1;
+
+  private final File file;
+  private final File tempFile;
+  private final long maxFlushIntervalMs;
+  private final ScheduledThreadPoolExecutor executor;
+
+  private final AtomicInteger pendingScore = new AtomicInteger();
+  private final AtomicBoolean flushScheduled = new AtomicBoolean();
+  private final Object writeLock = new Object();
+  private int persistedScore;
+
+  private final Runnable flushTask = new Runnable() {
+    @Override
+    public void run() {
+      flushScheduled.set(false);
+      flushNow();
+    }
+  };
+
+  public HighScoreStore(File file, long maxFlushIntervalMs) {
+    this.file = file;
+    this.tempFile = new File(file.getPath() + ".tmp");
+    this.maxFlushIntervalMs = maxFlushIntervalMs;
+    this.executor = new ScheduledThreadPoolExecutor(1, new ThreadFactory() {
+      @Override
+      public Thread newThread(Runnable runnable) {
+        Thread thread = new Thread(runnable, "highscore-writer");
+        thread.setDaemon(true);
+        return thread;
+      }
+    });
+    // close() melakukan flush terakhir sendiri, jadi flush tertunda tidak perlu ditunggu
+    executor.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+  }
+
+  /**
+   * Membaca skor tersimpan. legacyScore (misalnya dari Preferences lama) dipakai
+   * jika lebih tinggi, sehingga skor lama tidak hilang saat migrasi.
+   */
+  public int load(int legacyScore) {
+    int stored = 0;
+    if (file.exists()) {
+      try {
+        stored = read(file);
+      } catch (IOException e) {
+        stored = 0;
+      }
+    }
+    synchronized (writeLock) {
+      persistedScore = stored;
+    }
+    int best = Math.max(stored, legacyScore);
+    pendingScore.set(best);
+    return best;
+  }
+
+  /** Aman dipanggil dari render thread: tanpa I/O dan tanpa lock. */
+  public void submit(int score) {
+    int current = pendingScore.get();
+    while (score > current && !pendingScore.compareAndSet(current, score)) {
+      current = pendingScore.get();
+    }
+    if (score > current && !executor.isShutdown() && flushScheduled.compareAndSet(false, true)) {
+      executor.schedule(flushTask, maxFlushIntervalMs, TimeUnit.MILLISECONDS);
+    }
+  }
+
+  /** Minta flush secepatnya di background thread (game over, pause). */
+  public void flushAsync() {
+    if (!executor.isShutdown() && pendingScore.get() > getPersistedScore()) {
+      executor.execute(flushTask);
+    }
+  }
+
+  public int getHighScore() {
+    return pendingScore.get();
+  }
+
+  public int getPersistedScore() {
+    synchronized (writeLock) {
+      return persistedScore;
+    }
+  }
+
+  /** Flush terakhir secara sinkron lalu hentikan background thread. */
+  public void close() {
+    executor.shutdown();
+    try {
+      executor.awaitTermination(2, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    flushNow();
+  }
+
+  private void flushNow() {
+    synchronized (writeLock) {
+      int score = pendingScore.get();
+      if (score <= persistedScore) {
+        return;
+      }
+      try {
+        write(score);
+        persistedScore = score;
+      } catch (IOException e) {
+        // Coba lagi pada flush berikutnya
+      }
+    }
+  }
+
+  private void write(int score) throws IOException {
+    File parent = file.getAbsoluteFile().getParentFile();
+    if (parent != null && !parent.exists()) {
+      parent.mkdirs();
+    }
+
+    FileOutputStream fileOut = new FileOutputStream(tempFile);
+    try {
+      DataOutputStream out = new DataOutputStream(fileOut);
+      out.writeInt(MAGIC);
+      out.writeInt(VERSION);
+      out.writeInt(score);
+      out.writeLong(checksum(score));
+      out.flush();
+      fileOut.getFD().sync();
+    } finally {
+      fileOut.close();
+    }
+
+    // rename() atomic di filesystem yang sama; Windows tidak bisa menimpa file yang ada
+    if (!tempFile.renameTo(file)) {
+      if (!file.delete() || !tempFile.renameTo(file)) {
+        throw new IOException("Cannot replace " + file);
+      }
+    }
+  }
+
+  private static int read(File source) throws IOException {
+    DataInputStream in = new DataInputStream(new FileInputStream(source));
+    try {
+      if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+        throw new IOException("Unknown high score format: " + source);
+      }
+      int score = in.readInt();
+      if (in.readLong() != checksum(score)) {
+        throw new IOException("Corrupt high score file: " + source);
+      }
+      return score;
+    } finally {
+      in.close();
+    }
+  }
+
+  private static long checksum(int score) {
+    CRC32 crc = new CRC32();
+    crc.update(score >>> 24);
+    crc.update(score >>> 16);
+    crc.update(score >>> 8);
+    crc.update(score);
+    return crc.getValue();
+  }
+}
@@ -0,0 +1,144 @@
+package com.gimm;
+
+/**
+ * Parameter fisika mode flappy yang immutable. Satu instance dipakai bersama oleh
+ * game, replay dan simulator batch, jadi nilai untuk tuning cukup diganti di sini.
+ */
+public final class PhysicsParams {
+  public static final PhysicsParams DEFAULT = new PhysicsParams(4, 400f, 240f, 15f, 450f, 400f);
+
+  private final int numberOfTubes;
+  private final float gap;
+  private final float tubeSpeed;
+  private final float gravity;
+  private final float flapStrength;
+  private final float maxVelocity;
+  // Dynamic difficulty di dalam satu sesi: gap dan jarak antar tiang bergeser linear
+  // dari nilai awal ke nilai minimum sampai skor mencapai rampScore (0 = tidak ada)
+  private final float tubeSpacing;
+  private final float minGap;
+  private final float minTubeSpacing;
+  private final int rampScore;
+
+  /**
+   * @param tubeSpeed kecepatan tiang dalam pixel per detik
+   */
+  public PhysicsParams(int numberOfTubes, float gap, float tubeSpeed, float gravity,
+                       float flapStrength, float maxVelocity) {
+    this(numberOfTubes, gap, tubeSpeed, gravity, flapStrength, maxVelocity, 1f, gap, 1f, 0);
+  }
+
+  /**
+   * @param tubeSpacing pengali jarak dasar antar tiang (3/4 lebar layar)
+   * @param minGap gap saat skor mencapai rampScore
+   * @param minTubeSpacing tubeSpacing saat skor mencapai rampScore
+   * @param rampScore skor saat gap dan jarak mencapai minimum; 0 berarti tetap
+   */
+  public PhysicsParams(int numberOfTubes, float gap, float tubeSpeed, float gravity,
+                       float flapStrength, float maxVelocity, float tubeSpacing,
+                       float minGap, float minTubeSpacing, int rampScore) {
+    if (numberOfTubes < 2) {
+      throw new IllegalArgumentException("numberOfTubes must be at least 2: " + numberOfTubes);
+    }
+    if (tubeSpacing <= 0 || minTubeSpacing <= 0 || rampScore < 0) {
+      throw new IllegalArgumentException("Invalid difficulty ramp: spacing=" + tubeSpacing
+          + " minSpacing=" + minTubeSpacing + " rampScore=" + rampScore);
+    }
+    this.numberOfTubes = numberOfTubes;
+    this.gap = gap;
+    this.tubeSpeed = tubeSpeed;
+    this.gravity = gravity;
+    this.flapStrength = flapStrength;
+    this.maxVelocity = maxVelocity;
+    this.tubeSpacing = tubeSpacing;
+    this.minGap = minGap;
+    this.minTubeSpacing = minTubeSpacing;
+    this.rampScore = rampScore;
+  }
+
+  public int getNumberOfTubes() {
+    return numberOfTubes;
+  }
+
+  public float getGap() {
+    return gap;
+  }
+
+  public float getTubeSpeed() {
+    return tubeSpeed;
+  }
+
+  public float getGravity() {
+    return gravity;
+  }
+
+  public float getFlapStrength() {
+    return flapStrength;
+  }
+
+  public float getMaxVelocity() {
+    return maxVelocity;
+  }
+
+  public float getTubeSpacing() {
+    return tubeSpacing;
+  }
+
+  public float getMinGap() {
+    return minGap;
+  }
+
+  public float getMinTubeSpacing() {
+    return minTubeSpacing;
+  }
+
+  public int getRampScore() {
+    return rampScore;
+  }
+
+  /** minGap ikut dipotong ke gap baru supaya ramp tidak pernah melebarkan gap. */
+  public PhysicsParams withGap(float gap) {
+    return new PhysicsParams(numberOfTubes, gap, tubeSpeed, gravity, flapStrength, maxVelocity,
+        tubeSpacing, rampScore == 0 ? gap : Math.min(minGap, gap), minTubeSpacing, rampScore);
+  }
+
+  public PhysicsParams withTubeSpeed(float tubeSpeed) {
+    return new PhysicsParams(numberOfTubes, gap, tubeSpeed, gravity, flapStrength, maxVelocity,
+        tubeSpacing, minGap, minTubeSpacing, rampScore);
+  }
+
+  public PhysicsParams withGravity(float gravity) {
+    return new PhysicsParams(numberOfTubes, gap, tubeSpeed, gravity, flapStrength, maxVelocity,
+        tubeSpacing, minGap, minTubeSpacing, rampScore);
+  }
+
+  public PhysicsParams withFlapStrength(float flapStrength) {
+    return new PhysicsParams(numberOfTubes, gap, tubeSpeed, gravity, flapStrength, maxVelocity,
+        tubeSpacing, minGap, minTubeSpacing, rampScore);
+  }
+
+  public PhysicsParams withMaxVelocity(float maxVelocity) {
+    return new PhysicsParams(numberOfTubes, gap, tubeSpeed, gravity, flapStrength, maxVelocity,
+        tubeSpacing, minGap, minTubeSpacing, rampScore);
+  }
+
+  /** Sama seperti withGap: minTubeSpacing dipotong ke tubeSpacing baru. */
+  public PhysicsParams withTubeSpacing(float tubeSpacing) {
+    return new PhysicsParams(numberOfTubes, gap, tubeSpeed, gravity, flapStrength, maxVelocity,
+        tubeSpacing, minGap, rampScore == 0 ? tubeSpacing : Math.min(minTubeSpacing, tubeSpacing),
+        rampScore);
+  }
+
+  public PhysicsParams withRamp(float minGap, float minTubeSpacing, int rampScore) {
+    return new PhysicsParams(numberOfTubes, gap, tubeSpeed, gravity, flapStrength, maxVelocity,
+        tubeSpacing, minGap, minTubeSpacing, rampScore);
+  }
+
+  @Override
+  public String toString() {
+    return "gap=" + gap + " tubeSpeed=" + tubeSpeed + " gravity=" + gravity
+        + " flap=" + flapStrength + " maxV=" + maxVelocity + " tubes=" + numberOfTubes
+        + (rampScore > 0 ? " spacing=" + tubeSpacing + " ramp=" + minGap + "/" + minTubeSpacing
+            + "@" + rampScore : tubeSpacing != 1f ? " spacing=" + tubeSpacing : "");
+  }
+}
@@ -0,0 +1,169 @@
+// PowerUpScheduler.java - Lifecycle power-up berbasis event: expiry di min-heap, spawn lewat timer
+package com.gimm;
+
+import java.util.SplittableRandom;
+
+public class PowerUpScheduler {
+
+    // Batas spawn per update supaya frame yang tersendat tidak memicu ledakan spawn
+    public static final int MAX_SPAWNS_PER_UPDATE = 64;
+
+    private final PowerUpStore store;
+    private long lifetime;
+
+    // Min-heap expiry: keys[i] = waktu expiry, handles[i] = handle di PowerUpStore.
+    // Power-up yang diambil bola tidak dicari di heap; entry-nya basi dan dilewati saat keluar.
+    private final long[] keys;
+    private final int[] handles;
+    private int heapSize;
+
+    private SplittableRandom random = new SplittableRandom(0);
+    private double meanSpawnInterval;
+    private double nextSpawnAt = Double.POSITIVE_INFINITY;
+    private int spawnLeft, spawnTop, spawnRight, spawnBottom;
+
+    /** Waktu (lifetime, interval, now) memakai satuan yang sama, terserah pemanggil. */
+    public PowerUpScheduler(PowerUpStore store, long lifetime) {
+        this.store = store;
+        this.lifetime = lifetime;
+        // Entry valid tidak pernah lebih dari kapasitas store, jadi setelah compact heap paling banyak setengah penuh
+        keys = new long[store.capacity() * 2];
+        handles = new int[store.capacity() * 2];
+    }
+
+    /** Kosongkan store dan heap lalu mulai ulang dengan seed baru (hasil sama untuk seed sama). */
+    public void reset(long seed, long now) {
+        store.clear();
+        heapSize = 0;
+        random = new SplittableRandom(seed);
+        scheduleNextSpawn(now);
+    }
+
+    public void setLifetime(long lifetime) {
+        this.lifetime = lifetime;
+    }
+
+    /** Area spawn [left, right) x [top, bottom). */
+    public void setSpawnArea(int left, int top, int right, int bottom) {
+        spawnLeft = left;
+        spawnTop = top;
+        spawnRight = Math.max(left + 1, right);
+        spawnBottom = Math.max(top + 1, bottom);
+    }
+
+    /** Rata-rata jeda antar spawn otomatis (jeda eksponensial); <= 0 mematikan spawn otomatis. */
+    public void setMeanSpawnInterval(double interval, long now) {
+        meanSpawnInterval = interval;
+        scheduleNextSpawn(now);
+    }
+
+    /**
+     * Proses semua event yang jatuh tempo sampai now: hapus power-up yang expired lalu
+     * jalankan timer spawn. Biayanya sebanding jumlah event, bukan jumlah power-up hidup.
+     */
+    public void update(long now) {
+        while (heapSize > 0 && keys[0] <= now) {
+            int slot = store.slotOf(handles[0]);
+            if (slot >= 0) {
+                store.removeAt(slot);
+            }
+            pop();
+        }
+
+        int spawned = 0;
+        while (nextSpawnAt <= now) {
+            if (spawned++ == MAX_SPAWNS_PER_UPDATE) {
+                // Tertinggal terlalu jauh: buang sisa antrian daripada menyusul semuanya
+                scheduleNextSpawn(now);
+                break;
+            }
+            spawn(now);
+            nextSpawnAt += nextSpawnDelay();
+        }
+    }
+
+    /** Spawn satu power-up acak sekarang; mengembalikan handle atau -1 jika pool penuh. */
+    public int spawn(long now) {
+        byte type = (byte) random.nextInt(PowerUpStore.TYPE_COUNT);
+        int x = spawnLeft + random.nextInt(spawnRight - spawnLeft);
+        int y = spawnTop + random.nextInt(spawnBottom - spawnTop);
+        long expiry = now + lifetime;
+        int handle = store.add(x, y, type, expiry);
+        if (handle != -1) {
+            push(expiry, handle);
+        }
+        return handle;
+    }
+
+    public int getPendingEvents() {
+        return heapSize;
+    }
+
+    private void scheduleNextSpawn(long now) {
+        nextSpawnAt = meanSpawnInterval > 0 ? now + nextSpawnDelay() : Double.POSITIVE_INFINITY;
+    }
+
+    // Jeda eksponensial: spawn menjadi proses Poisson dengan rata-rata yang sama seperti peluang per frame
+    private double nextSpawnDelay() {
+        return -Math.log(1.0 - random.nextDouble()) * meanSpawnInterval;
+    }
+
+    private void push(long key, int handle) {
+        if (heapSize == keys.length) {
+            compact();
+        }
+        int i = heapSize++;
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (keys[parent] <= key) {
+                break;
+            }
+            keys[i] = keys[parent];
+            handles[i] = handles[parent];
+            i = parent;
+        }
+        keys[i] = key;
+        handles[i] = handle;
+    }
+
+    private void pop() {
+        int last = --heapSize;
+        if (last > 0) {
+            siftDown(0, keys[last], handles[last]);
+        }
+    }
+
+    private void siftDown(int i, long key, int handle) {
+        int half = heapSize >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            if (child + 1 < heapSize && keys[child + 1] < keys[child]) {
+                child++;
+            }
+            if (key <= keys[child]) {
+                break;
+            }
+            keys[i] = keys[child];
+            handles[i] = handles[child];
+            i = child;
+        }
+        keys[i] = key;
+        handles[i] = handle;
+    }
+
+    // Buang entry basi lalu heapify ulang, O(n); hanya terjadi saat heap penuh
+    private void compact() {
+        int size = 0;
+        for (int i = 0; i < heapSize; i++) {
+            if (store.slotOf(handles[i]) >= 0) {
+                keys[size] = keys[i];
+                handles[size] = handles[i];
+                size++;
+            }
+        }
+        heapSize = size;
+        for (int i = (size >>> 1) - 1; i >= 0; i--) {
+            siftDown(i, keys[i], handles[i]);
+        }
+    }
+}
@@ -0,0 +1,153 @@
+// PowerUpStore.java - Pool power-up dengan layout struct-of-arrays
+package com.gimm;
+
+public class PowerUpStore implements SpatialHash.Points {
+
+    public static final byte TYPE_SPEED = 0;
+    public static final byte TYPE_SCORE = 1;
+    public static final byte TYPE_SLOW = 2;
+    public static final int TYPE_COUNT = 3;
+
+    // Handle = (generation << ID_BITS) | id. Id tetap sama walau slot-nya dipindah
+    // swap-remove, generation membuat handle lama tidak valid setelah id dipakai ulang.
+    private static final int ID_BITS = 16;
+    private static final int ID_MASK = (1 << ID_BITS) - 1;
+    // Generation 15 bit: bit tanda tidak pernah terisi, jadi handle valid selalu >= 0
+    private static final int GENERATION_MASK = 0x7FFF;
+    // Id 0xFFFF tidak dipakai supaya handle tidak pernah sama dengan -1
+    public static final int MAX_CAPACITY = ID_MASK;
+
+    // Semua slot dialokasikan di awal; power-up aktif selalu ada di [0, count)
+    private final int[] x;
+    private final int[] y;
+    private final long[] expiresAt;
+    private final byte[] type;
+    private final int[] idOfSlot;
+    private int count;
+
+    // Per id
+    private final int[] slotOfId;
+    private final int[] generation;
+    private final int[] freeIds;
+    private int freeCount;
+
+    // Naik setiap kali isi/urutan slot berubah, dipakai SpatialHash untuk tahu kapan rebuild
+    private int version;
+
+    public PowerUpStore(int capacity) {
+        if (capacity > MAX_CAPACITY) {
+            throw new IllegalArgumentException("capacity must be at most " + MAX_CAPACITY + ": " + capacity);
+        }
+        x = new int[capacity];
+        y = new int[capacity];
+        expiresAt = new long[capacity];
+        type = new byte[capacity];
+        idOfSlot = new int[capacity];
+        slotOfId = new int[capacity];
+        generation = new int[capacity];
+        freeIds = new int[capacity];
+        for (int id = 0; id < capacity; id++) {
+            slotOfId[id] = -1;
+            freeIds[capacity - 1 - id] = id;
+        }
+        freeCount = capacity;
+    }
+
+    /** Tambah power-up; mengembalikan handle-nya, atau -1 jika pool penuh. */
+    public int add(int px, int py, byte powerUpType, long expiry) {
+        if (count == x.length) {
+            return -1;
+        }
+        int id = freeIds[--freeCount];
+        int index = count++;
+        x[index] = px;
+        y[index] = py;
+        type[index] = powerUpType;
+        expiresAt[index] = expiry;
+        idOfSlot[index] = id;
+        slotOfId[id] = index;
+        version++;
+        return generation[id] << ID_BITS | id;
+    }
+
+    /** Slot milik handle, atau -1 jika power-up itu sudah dihapus. */
+    public int slotOf(int handle) {
+        int id = handle & ID_MASK;
+        if (id >= slotOfId.length || generation[id] != handle >>> ID_BITS) {
+            return -1;
+        }
+        return slotOfId[id];
+    }
+
+    /**
+     * Hapus dengan swap-remove: slot terakhir dipindah ke index ini, jadi urutan
+     * tidak dipertahankan. Saat iterasi, jangan naikkan index setelah remove.
+     */
+    public void removeAt(int index) {
+        releaseId(idOfSlot[index]);
+        int last = --count;
+        if (index != last) {
+            x[index] = x[last];
+            y[index] = y[last];
+            type[index] = type[last];
+            expiresAt[index] = expiresAt[last];
+            idOfSlot[index] = idOfSlot[last];
+            slotOfId[idOfSlot[index]] = index;
+        }
+        version++;
+    }
+
+    public void clear() {
+        for (int i = 0; i < count; i++) {
+            releaseId(idOfSlot[i]);
+        }
+        count = 0;
+        version++;
+    }
+
+    private void releaseId(int id) {
+        slotOfId[id] = -1;
+        generation[id] = (generation[id] + 1) & GENERATION_MASK;
+        freeIds[freeCount++] = id;
+    }
+
+    public int size() {
+        return count;
+    }
+
+    public int capacity() {
+        return x.length;
+    }
+
+    public boolean isFull() {
+        return count == x.length;
+    }
+
+    public int getVersion() {
+        return version;
+    }
+
+    public int getX(int index) {
+        return x[index];
+    }
+
+    public int getY(int index) {
+        return y[index];
+    }
+
+    public float getPointX(int index) {
+        return x[index];
+    }
+
+    public float getPointY(int index) {
+        return y[index];
+    }
+
+    public byte getType(int index) {
+        return type[index];
+    }
+
+    public long getExpiresAt(int index) {
+        return expiresAt[index];
+    }
+}
@@ -0,0 +1,225 @@
+package com.gimm;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/**
+ * Rekaman satu sesi flappy: seed, parameter fisika, ukuran dunia dan tick-tick
+ * saat pemain flap. Format binernya ringkas: header sekitar 75 byte lalu selisih
+ * antar tick flap sebagai varint, 1 byte per flap selama jedanya di bawah 128 tick.
+ * Satu menit permainan dengan ~100 flap menjadi sekitar 180 byte.
+ */
+public final class Replay {
+  private static final int MAGIC = 0x414B5250; // "AKRP"
+  // Versi 2 menambah tubeSpacing dan ramp dynamic difficulty; versi 1 tetap bisa dibaca
+  private static final int VERSION = 2;
+
+  final long seed;
+  final PhysicsParams params;
+  final int width;
+  final int height;
+  final float tubeWidth;
+  final float topTubeHeight;
+  final float bottomTubeHeight;
+  final float birdWidth;
+  final float birdHeight;
+  final long ticks;
+  final int score;
+  // Selisih tick antar flap, varint
+  private final byte[] flapDeltas;
+  private final int flapDeltasLength;
+  final int flapCount;
+
+  Replay(FlappySimulation simulation, byte[] flapDeltas, int flapDeltasLength, int flapCount) {
+    this(simulation.getSeed(), simulation.getParams(),
+        simulation.getWidth(), simulation.getHeight(),
+        simulation.getTubeWidth(), simulation.getTopTubeHeight(),
+        simulation.getBottomTubeHeight(), simulation.getBirdWidth(),
+        simulation.getBirdHeight(), simulation.getTick(), simulation.getScore(),
+        flapDeltas, flapDeltasLength, flapCount);
+  }
+
+  private Replay(long seed, PhysicsParams params, int width, int height,
+                 float tubeWidth, float topTubeHeight, float bottomTubeHeight,
+                 float birdWidth, float birdHeight, long ticks, int score,
+                 byte[] flapDeltas, int flapDeltasLength, int flapCount) {
+    this.seed = seed;
+    this.params = params;
+    this.width = width;
+    this.height = height;
+    this.tubeWidth = tubeWidth;
+    this.topTubeHeight = topTubeHeight;
+    this.bottomTubeHeight = bottomTubeHeight;
+    this.birdWidth = birdWidth;
+    this.birdHeight = birdHeight;
+    this.ticks = ticks;
+    this.score = score;
+    this.flapDeltas = flapDeltas;
+    this.flapDeltasLength = flapDeltasLength;
+    this.flapCount = flapCount;
+  }
+
+  public long getSeed() {
+    return seed;
+  }
+
+  public long getTicks() {
+    return ticks;
+  }
+
+  /** Skor yang diklaim oleh client; cek dengan {@link ReplayVerifier}. */
+  public int getScore() {
+    return score;
+  }
+
+  public int getFlapCount() {
+    return flapCount;
+  }
+
+  /** Mengisi tick absolut setiap flap ke array out (panjang minimal getFlapCount()). */
+  public void decodeFlapTicks(long[] out) {
+    int position = 0;
+    long tick = 0;
+    for (int i = 0; i < flapCount; i++) {
+      long delta = 0;
+      int shift = 0;
+      byte b;
+      do {
+        b = flapDeltas[position++];
+        delta |= (long) (b & 0x7F) << shift;
+        shift += 7;
+      } while ((b & 0x80) != 0);
+      tick += delta;
+      out[i] = tick;
+    }
+  }
+
+  public byte[] toBytes() {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 + flapDeltasLength);
+    DataOutputStream out = new DataOutputStream(bytes);
+    try {
+      out.writeInt(MAGIC);
+      out.writeByte(VERSION);
+      out.writeLong(seed);
+      out.writeByte(params.getNumberOfTubes());
+      out.writeFloat(params.getGap());
+      out.writeFloat(params.getTubeSpeed());
+      out.writeFloat(params.getGravity());
+      out.writeFloat(params.getFlapStrength());
+      out.writeFloat(params.getMaxVelocity());
+      out.writeFloat(params.getTubeSpacing());
+      out.writeFloat(params.getMinGap());
+      out.writeFloat(params.getMinTubeSpacing());
+      writeVarLong(out, params.getRampScore());
+      out.writeShort(width);
+      out.writeShort(height);
+      out.writeFloat(tubeWidth);
+      out.writeFloat(topTubeHeight);
+      out.writeFloat(bottomTubeHeight);
+      out.writeFloat(birdWidth);
+      out.writeFloat(birdHeight);
+      writeVarLong(out, ticks);
+      writeVarLong(out, score);
+      writeVarLong(out, flapCount);
+      out.write(flapDeltas, 0, flapDeltasLength);
+      out.flush();
+    } catch (IOException e) {
+      // ByteArrayOutputStream tidak pernah melempar IOException
+      throw new IllegalStateException(e);
+    }
+    return bytes.toByteArray();
+  }
+
+  public static Replay fromBytes(byte[] data) throws IOException {
+    DataInputStream in = new DataInputStream(new ByteArrayInputStream(data));
+    if (in.readInt() != MAGIC) {
+      throw new IOException("Not a replay");
+    }
+    int version = in.readUnsignedByte();
+    if (version < 1 || version > VERSION) {
+      throw new IOException("Unsupported replay version: " + version);
+    }
+
+    long seed = in.readLong();
+    int numberOfTubes = in.readUnsignedByte();
+    float gap = in.readFloat();
+    float tubeSpeed = in.readFloat();
+    float gravity = in.readFloat();
+    float flapStrength = in.readFloat();
+    float maxVelocity = in.readFloat();
+    float tubeSpacing = 1f;
+    float minGap = gap;
+    float minTubeSpacing = 1f;
+    long rampScore = 0;
+    if (version >= 2) {
+      tubeSpacing = in.readFloat();
+      minGap = in.readFloat();
+      minTubeSpacing = in.readFloat();
+      rampScore = readVarLong(in);
+    }
+    int width = in.readUnsignedShort();
+    int height = in.readUnsignedShort();
+    float tubeWidth = in.readFloat();
+    float topTubeHeight = in.readFloat();
+    float bottomTubeHeight = in.readFloat();
+    float birdWidth = in.readFloat();
+    float birdHeight = in.readFloat();
+    long ticks = readVarLong(in);
+    int score = (int) readVarLong(in);
+    int flapCount = (int) readVarLong(in);
+    if (numberOfTubes < 2 || flapCount < 0 || flapCount > ticks + 1
+        || !(tubeSpacing > 0) || !(minTubeSpacing > 0) || rampScore > Integer.MAX_VALUE) {
+      throw new IOException("Corrupt replay header");
+    }
+
+    // Sisa data adalah varint flap; validasi jumlahnya supaya decode tidak keluar batas
+    byte[] deltas = new byte[in.available()];
+    in.readFully(deltas);
+    int varints = 0;
+    for (byte b : deltas) {
+      if ((b & 0x80) == 0) {
+        varints++;
+      }
+    }
+    if (varints != flapCount || (deltas.length > 0 && (deltas[deltas.length - 1] & 0x80) != 0)) {
+      throw new IOException("Corrupt replay input stream");
+    }
+
+    PhysicsParams params = new PhysicsParams(numberOfTubes, gap, tubeSpeed, gravity,
+        flapStrength, maxVelocity, tubeSpacing, minGap, minTubeSpacing, (int) rampScore);
+    return new Replay(seed, params, width, height, tubeWidth, topTubeHeight, bottomTubeHeight,
+        birdWidth, birdHeight, ticks, score, deltas, deltas.length, flapCount);
+  }
+
+  static int writeVarLong(byte[] buffer, int position, long value) {
+    while ((value & ~0x7FL) != 0) {
+      buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+      value >>>= 7;
+    }
+    buffer[position++] = (byte) value;
+    return position;
+  }
+
+  private static void writeVarLong(DataOutputStream out, long value) throws IOException {
+    while ((value & ~0x7FL) != 0) {
+      out.writeByte((int) ((value & 0x7F) | 0x80));
+      value >>>= 7;
+    }
+    out.writeByte((int) value);
+  }
+
+  private static long readVarLong(DataInputStream in) throws IOException {
+    long value = 0;
+    for (int shift = 0; shift < 64; shift += 7) {
+      int b = in.readUnsignedByte();
+      value |= (long) (b & 0x7F) << shift;
+      if ((b & 0x80) == 0) {
+        return value;
+      }
+    }
+    throw new IOException("Malformed varint");
+  }
+}
@@ -0,0 +1,47 @@
+package com.gimm;
+
+/**
+ * Merekam input flap per tick selama satu sesi. Buffer varint dipakai ulang
+ * antar sesi dan hanya tumbuh jika sesi lebih panjang dari sebelumnya.
+ */
+public final class ReplayRecorder {
+  private byte[] flapDeltas = new byte[256];
+  private int length;
+  private int flapCount;
+  private long lastFlapTick;
+  private boolean recording;
+
+  public void begin() {
+    length = 0;
+    flapCount = 0;
+    lastFlapTick = 0;
+    recording = true;
+  }
+
+  /** Dipanggil saat flap() diminta; flap diterapkan pada tick simulasi berikutnya. */
+  public void recordFlap(long tick) {
+    if (!recording) {
+      return;
+    }
+    if (length + 10 > flapDeltas.length) {
+      byte[] grown = new byte[flapDeltas.length * 2];
+      System.arraycopy(flapDeltas, 0, grown, 0, length);
+      flapDeltas = grown;
+    }
+    length = Replay.writeVarLong(flapDeltas, length, tick - lastFlapTick);
+    lastFlapTick = tick;
+    flapCount++;
+  }
+
+  public boolean isRecording() {
+    return recording;
+  }
+
+  /** Selesaikan rekaman dengan state akhir simulasi (tick dan skor). */
+  public Replay finish(FlappySimulation simulation) {
+    recording = false;
+    byte[] deltas = new byte[length];
+    System.arraycopy(flapDeltas, 0, deltas, 0, length);
+    return new Replay(simulation, deltas, length, flapCount);
+  }
+}
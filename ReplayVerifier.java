@@ -0,0 +1,56 @@
+package com.gimm;
+
+/**
+ * Memutar ulang replay tanpa rendering secepat mungkin untuk memvalidasi skor
+ * (misalnya submission leaderboard). Buffer decode input disimpan di instance,
+ * jadi satu verifier sebaiknya dipakai ulang per thread.
+ */
+public final class ReplayVerifier {
+  // Batas atas supaya replay palsu tidak bisa membuat server berputar selamanya
+  private final long maxTicks;
+  private long[] flapTicks = new long[64];
+
+  public ReplayVerifier(long maxTicks) {
+    this.maxTicks = maxTicks;
+  }
+
+  /** Skor hasil simulasi ulang, atau -1 jika replay tidak valid. */
+  public int simulate(Replay replay) {
+    if (replay.ticks > maxTicks) {
+      return -1;
+    }
+
+    FlappySimulation simulation = new FlappySimulation(replay.params);
+    simulation.setWorld(replay.width, replay.height, replay.tubeWidth, replay.topTubeHeight,
+        replay.bottomTubeHeight, replay.birdWidth, replay.birdHeight);
+    simulation.reset(replay.seed);
+
+    if (flapTicks.length < replay.flapCount) {
+      flapTicks = new long[replay.flapCount];
+    }
+    replay.decodeFlapTicks(flapTicks);
+
+    int nextFlap = 0;
+    while (simulation.getTick() < replay.ticks && !simulation.isCrashed()) {
+      long tick = simulation.getTick();
+      while (nextFlap < replay.flapCount && flapTicks[nextFlap] <= tick) {
+        if (flapTicks[nextFlap] == tick) {
+          simulation.flap();
+        }
+        nextFlap++;
+      }
+      simulation.tick();
+    }
+
+    // Replay harus berakhir tepat di tick terakhir yang diklaim
+    if (simulation.getTick() != replay.ticks) {
+      return -1;
+    }
+    return simulation.getScore();
+  }
+
+  public boolean verify(Replay replay) {
+    int score = simulate(replay);
+    return score >= 0 && score == replay.score;
+  }
+}
@@ -0,0 +1,36 @@
+package com.gimm;
+
+/**
+ * RNG deterministik untuk simulasi (SplitMix64). Dengan seed yang sama,
+ * urutan angka identik di semua device dan JVM, sehingga replay bisa diputar
+ * ulang di server. Tidak thread-safe dan tidak memakai CAS seperti java.util.Random.
+ */
+public final class SimRandom {
+  private long seed;
+  private long state;
+
+  public SimRandom(long seed) {
+    setSeed(seed);
+  }
+
+  public void setSeed(long seed) {
+    this.seed = seed;
+    this.state = seed;
+  }
+
+  public long getSeed() {
+    return seed;
+  }
+
+  public long nextLong() {
+    long z = (state += 0x9E3779B97F4A7C15L);
+    z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+    z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+    return z ^ (z >>> 31);
+  }
+
+  /** Float seragam dalam [0, 1). */
+  public float nextFloat() {
+    return (nextLong() >>> 40) * 0x1.0p-24f;
+  }
+}
@@ -0,0 +1,112 @@
+// SpatialHash.java - Uniform grid broad-phase untuk power-up dan bola
+package com.gimm;
+
+public class SpatialHash {
+
+    /** Kumpulan titik yang bisa diindex; version naik setiap kali posisi/urutan berubah. */
+    public interface Points {
+        int size();
+        float getPointX(int index);
+        float getPointY(int index);
+        int getVersion();
+    }
+
+    private final int cellSize;
+    private int columns;
+    private int rows;
+
+    // Counting sort per cell: isi cell c ada di entries[cellStart[c] .. cellStart[c + 1])
+    private int[] cellStart = new int[1];
+    private int[] entries;
+    private int[] entryCell;
+    private int builtVersion = -1;
+
+    public SpatialHash(int cellSize, int capacity) {
+        this.cellSize = cellSize;
+        this.entries = new int[capacity];
+        this.entryCell = new int[capacity];
+    }
+
+    /** Sesuaikan grid dengan ukuran layar; hanya mengalokasi jika jumlah cell berubah. */
+    public void resize(int width, int height) {
+        int newColumns = Math.max(1, (width + cellSize - 1) / cellSize);
+        int newRows = Math.max(1, (height + cellSize - 1) / cellSize);
+        if (newColumns != columns || newRows != rows) {
+            columns = newColumns;
+            rows = newRows;
+            cellStart = new int[columns * rows + 1];
+            builtVersion = -1;
+        }
+    }
+
+    /** Bangun ulang index jika isi store berubah sejak build terakhir. O(n + cells). */
+    public void build(Points store) {
+        if (builtVersion == store.getVersion()) {
+            return;
+        }
+        int count = store.size();
+        int cells = columns * rows;
+        java.util.Arrays.fill(cellStart, 0);
+
+        // Hitung isi setiap cell
+        for (int i = 0; i < count; i++) {
+            int cell = cellOf(store.getPointX(i), store.getPointY(i));
+            entryCell[i] = cell;
+            cellStart[cell + 1]++;
+        }
+        // Prefix sum menjadi offset awal
+        for (int c = 0; c < cells; c++) {
+            cellStart[c + 1] += cellStart[c];
+        }
+        // Isi entries; cellStart[c] sementara dipakai sebagai cursor
+        for (int i = 0; i < count; i++) {
+            entries[cellStart[entryCell[i]]++] = i;
+        }
+        // Geser kembali cursor menjadi offset awal
+        for (int c = cells; c > 0; c--) {
+            cellStart[c] = cellStart[c - 1];
+        }
+        cellStart[0] = 0;
+
+        builtVersion = store.getVersion();
+    }
+
+    /**
+     * Tambahkan ke out (mulai dari offset) index titik yang berjarak kurang dari
+     * radius dari (x, y). Narrow-phase memakai jarak kuadrat, tanpa sqrt.
+     * Mengembalikan offset baru; berhenti jika out penuh.
+     */
+    public int query(Points store, float x, float y, float radius, int[] out, int offset) {
+        int minColumn = clamp((int) ((x - radius) / cellSize), columns);
+        int maxColumn = clamp((int) ((x + radius) / cellSize), columns);
+        int minRow = clamp((int) ((y - radius) / cellSize), rows);
+        int maxRow = clamp((int) ((y + radius) / cellSize), rows);
+        float radiusSquared = radius * radius;
+
+        for (int row = minRow; row <= maxRow; row++) {
+            for (int column = minColumn; column <= maxColumn; column++) {
+                int cell = row * columns + column;
+                for (int e = cellStart[cell], end = cellStart[cell + 1]; e < end; e++) {
+                    int index = entries[e];
+                    float dx = x - store.getPointX(index);
+                    float dy = y - store.getPointY(index);
+                    if (dx * dx + dy * dy < radiusSquared) {
+                        if (offset == out.length) {
+                            return offset;
+                        }
+                        out[offset++] = index;
+                    }
+                }
+            }
+        }
+        return offset;
+    }
+
+    private int cellOf(float x, float y) {
+        return clamp((int) (y / cellSize), rows) * columns + clamp((int) (x / cellSize), columns);
+    }
+
+    private static int clamp(int value, int size) {
+        return value < 0 ? 0 : (value >= size ? size - 1 : value);
+    }
+}
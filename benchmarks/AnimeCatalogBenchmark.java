@@ -0,0 +1,100 @@
+package com.gimm.bench;
+
+import com.gimm.AnimeCatalog;
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Waktu load AnimeCatalog dari anime.json sintetis dan waktu membuka satu judul
+ * (lazy load episode). Jejak heap diukur terpisah lewat main(), karena JMH hanya
+ * melaporkan alokasi, bukan ukuran objek yang tertahan.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xmx1g"})
+public class AnimeCatalogBenchmark {
+  @Param({"1000", "100000"})
+  public int titles;
+
+  private File file;
+  private AnimeCatalog catalog;
+  private int next;
+
+  @Setup(Level.Trial)
+  public void setUp() throws IOException {
+    file = File.createTempFile("anime-", ".json");
+    SyntheticCatalog.write(file, titles, 12, 1L);
+    catalog = AnimeCatalog.load(file);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    file.delete();
+  }
+
+  @Benchmark
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public AnimeCatalog load() throws IOException {
+    return AnimeCatalog.load(file);
+  }
+
+  /** Melangkah dengan stride besar supaya selalu miss di cache episode. */
+  @Benchmark
+  @OutputTimeUnit(TimeUnit.MICROSECONDS)
+  public List<AnimeCatalog.Episode> openTitle() throws IOException {
+    next = (next + 7919) % titles;
+    return catalog.getEpisodes(next);
+  }
+
+  @Benchmark
+  @OutputTimeUnit(TimeUnit.NANOSECONDS)
+  public int lookupById() {
+    next = (next + 7919) % titles;
+    return catalog.indexOf("anime-" + (1754333819850L + next));
+  }
+
+  /** Laporan jejak heap; argumen: [jumlah judul] [episode per judul]. */
+  public static void main(String[] args) throws IOException {
+    int titles = args.length > 0 ? Integer.parseInt(args[0]) : 100000;
+    int episodes = args.length > 1 ? Integer.parseInt(args[1]) : 12;
+    File file = File.createTempFile("anime-", ".json");
+    try {
+      SyntheticCatalog.write(file, titles, episodes, 1L);
+      long before = usedHeap();
+      long start = System.nanoTime();
+      AnimeCatalog catalog = AnimeCatalog.load(file);
+      long loadNanos = System.nanoTime() - start;
+      long retained = usedHeap() - before;
+      System.out.printf("titles=%d file=%.1f MB load=%.1f ms heap=%.1f MB (%d bytes/title)%n",
+          catalog.size(), file.length() / 1e6, loadNanos / 1e6, retained / 1e6,
+          retained / Math.max(1, catalog.size()));
+    } finally {
+      file.delete();
+    }
+  }
+
+  private static long usedHeap() {
+    Runtime runtime = Runtime.getRuntime();
+    for (int i = 0; i < 4; i++) {
+      System.gc();
+    }
+    return runtime.totalMemory() - runtime.freeMemory();
+  }
+}
@@ -0,0 +1,138 @@
+package com.gimm.bench;
+
+import com.gimm.BallSystem;
+import com.gimm.PowerUpScheduler;
+import com.gimm.PowerUpStore;
+import com.gimm.SpatialHash;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Satu step simulasi GameContent (120 Hz) tanpa Android: BallSystem.step, scheduler
+ * power-up, lalu broad-phase SpatialHash dan penyelesaian hit seperti
+ * updatePowerUps/resolvePowerUpHits. Konstanta sama dengan GameContent. Mode storm
+ * mengisi pool sampai MAX_POWER_UPS; setup menjalankan 6 detik simulasi dulu supaya
+ * jumlah power-up hidup sudah stabil.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BallWorldBenchmark {
+  private static final int WIDTH = 1080;
+  private static final int HEIGHT = 1920;
+  private static final int BALL_SPEED = 720;
+  private static final int BALL_RADIUS = 40;
+  private static final int POWER_UP_RADIUS = 15;
+  private static final long POWER_UP_LIFETIME = 5000L * 1000000L;
+  private static final int MAX_POWER_UPS = 4096;
+  private static final double SPAWN_INTERVAL = 8.333e9;
+  private static final double STORM_SPAWN_INTERVAL = 1e9 / 960;
+  private static final long STEP_NANOS = 1000000000L / 120;
+  private static final float STEP_SECONDS = STEP_NANOS / 1e9f;
+  private static final float MAX_BALL_COVERAGE = 0.3f;
+
+  @Param({"1", "1000", "10000"})
+  public int balls;
+
+  @Param({"false", "true"})
+  public boolean storm;
+
+  private BallSystem ballSystem;
+  private float ballRadius;
+  private final PowerUpStore powerUps = new PowerUpStore(MAX_POWER_UPS);
+  private final PowerUpScheduler scheduler = new PowerUpScheduler(powerUps, POWER_UP_LIFETIME);
+  private final SpatialHash grid = new SpatialHash(2 * (BALL_RADIUS + POWER_UP_RADIUS), MAX_POWER_UPS);
+  private final int[] query = new int[MAX_POWER_UPS];
+  private final long[] hits = new long[MAX_POWER_UPS];
+  private long now;
+  private int score;
+
+  @Setup
+  public void setUp() {
+    SplittableRandom random = new SplittableRandom(1);
+    ballRadius = (float) Math.min(BALL_RADIUS,
+        Math.sqrt(MAX_BALL_COVERAGE * WIDTH * HEIGHT / (Math.PI * balls)));
+    ballSystem = new BallSystem(balls, ballRadius);
+    ballSystem.resize(WIDTH, HEIGHT);
+    ballSystem.setPool(ForkJoinPool.commonPool());
+    ballSystem.add(WIDTH / 2, HEIGHT / 2, BALL_SPEED, BALL_SPEED);
+    for (int i = 1; i < balls; i++) {
+      double angle = random.nextDouble() * 2 * Math.PI;
+      float x = (float) (random.nextDouble() * (WIDTH - 2 * ballRadius)) + ballRadius;
+      float y = (float) (random.nextDouble() * (HEIGHT - 2 * ballRadius)) + ballRadius;
+      ballSystem.add(x, y, (float) (Math.cos(angle) * BALL_SPEED), (float) (Math.sin(angle) * BALL_SPEED));
+    }
+    grid.resize(WIDTH, HEIGHT);
+    scheduler.setSpawnArea(50, 100, WIDTH - 50, HEIGHT - 100);
+    scheduler.reset(random.nextLong(), now);
+    scheduler.setMeanSpawnInterval(storm ? STORM_SPAWN_INTERVAL : SPAWN_INTERVAL, now);
+    for (int i = 0; i < 6 * 120; i++) {
+      step();
+    }
+  }
+
+  @Benchmark
+  public int step() {
+    now += STEP_NANOS;
+    score += ballSystem.step(STEP_SECONDS, WIDTH, HEIGHT);
+    scheduler.update(now);
+    if (powerUps.size() > 0) {
+      grid.build(powerUps);
+      int count = 0;
+      for (int ball = 0, n = ballSystem.size(); ball < n && count < hits.length; ball++) {
+        int found = grid.query(powerUps, ballSystem.getPointX(ball), ballSystem.getPointY(ball),
+            ballRadius + POWER_UP_RADIUS, query, 0);
+        for (int i = 0; i < found && count < hits.length; i++) {
+          hits[count++] = (long) query[i] << 32 | ball;
+        }
+      }
+      resolve(count);
+    }
+    return score;
+  }
+
+  /** Hanya gerak bola, untuk memisahkan biaya fisika dari biaya power-up. */
+  @Benchmark
+  public int ballStep() {
+    return ballSystem.step(STEP_SECONDS, WIDTH, HEIGHT);
+  }
+
+  // Sama dengan GameContent.resolvePowerUpHits. Efek speed/slow tidak diterapkan supaya
+  // kecepatan bola tidak terus berubah selama pengukuran; hanya skor yang dihitung.
+  private void resolve(int count) {
+    for (int i = 1; i < count; i++) {
+      long value = hits[i];
+      int j = i - 1;
+      while (j >= 0 && hits[j] < value) {
+        hits[j + 1] = hits[j];
+        j--;
+      }
+      hits[j + 1] = value;
+    }
+    int previous = -1;
+    for (int i = 0; i < count; i++) {
+      int index = (int) (hits[i] >>> 32);
+      if (index == previous) {
+        continue;
+      }
+      score += powerUps.getType(index) == PowerUpStore.TYPE_SCORE ? 25 : 5;
+      powerUps.removeAt(index);
+      previous = index;
+    }
+  }
+}
@@ -0,0 +1,25 @@
+package com.gimm.bench;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Menjalankan semua benchmark dengan GC profiler aktif, sehingga setiap hasil
+ * juga menampilkan gc.alloc.rate.norm (byte per operasi).
+ *
+ * Argumen opsional: regex nama benchmark, misalnya "Simulation".
+ */
+public class BenchmarkRunner {
+  public static void main(String[] args) throws RunnerException {
+    Options options = new OptionsBuilder()
+        .include(args.length > 0 ? args[0] : ".*Benchmark.*")
+        .addProfiler(GCProfiler.class)
+        .resultFormat(org.openjdk.jmh.results.format.ResultFormatType.JSON)
+        .result("jmh-result.json")
+        .build();
+    new Runner(options).run();
+  }
+}
@@ -0,0 +1,93 @@
+package com.gimm.bench;
+
+import com.gimm.CatalogSearch;
+import com.gimm.CatalogSnapshot;
+import com.gimm.CatalogSnapshotCompiler;
+import java.io.File;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Latensi CatalogSearch di atas katalog sintetis: saran typeahead (target di
+ * bawah 1 ms), query teks + facet, dan update incremental satu judul.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xmx1g"})
+public class CatalogSearchBenchmark {
+  @Param({"1000", "100000"})
+  public int titles;
+
+  private File json;
+  private File snapshotFile;
+  private CatalogSnapshot snapshot;
+  private CatalogSearch search;
+  private int next;
+
+  @Setup(Level.Trial)
+  public void setUp() throws IOException {
+    json = File.createTempFile("anime-", ".json");
+    snapshotFile = File.createTempFile("anime-", ".snap");
+    SyntheticCatalog.write(json, titles, 12, 1L);
+    CatalogSnapshotCompiler compiler = new CatalogSnapshotCompiler();
+    compiler.readAnime(json);
+    compiler.write(snapshotFile);
+    snapshot = CatalogSnapshot.open(snapshotFile);
+    search = CatalogSearch.build(snapshot);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    json.delete();
+    snapshotFile.delete();
+  }
+
+  /** Dua huruf pertama judul, kasus terburuk: banyak judul berbagi prefix. */
+  @Benchmark
+  public List<CatalogSearch.Hit> suggest() {
+    next = (next + 7919) % titles;
+    String title = snapshot.getTitle(next);
+    return search.suggest(title.substring(0, Math.min(2, title.length())), 10);
+  }
+
+  @Benchmark
+  public CatalogSearch.Result searchTitle() {
+    next = (next + 7919) % titles;
+    return search.search(snapshot.getTitle(next), 20);
+  }
+
+  @Benchmark
+  public CatalogSearch.Result searchWithFacets() {
+    next = (next + 7919) % titles;
+    String[] words = snapshot.getTitle(next).split(" ");
+    return search.search(words[0], SyntheticCatalog.GENRES[next % SyntheticCatalog.GENRES.length],
+        null, null, 20);
+  }
+
+  /** Ganti satu judul; termasuk biaya compaction yang diamortisasi. */
+  @Benchmark
+  public int update() {
+    next = (next + 7919) % titles;
+    search.put(snapshot.getId(next), snapshot.getTitle(next) + " Remastered", snapshot.getGenres(next),
+        snapshot.getStatus(next), snapshot.isVipOnly(next), Collections.singletonList("Episode 1"));
+    return search.size();
+  }
+}
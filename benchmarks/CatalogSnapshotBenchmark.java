@@ -0,0 +1,131 @@
+package com.gimm.bench;
+
+import com.gimm.AnimeCatalog;
+import com.gimm.CatalogSnapshot;
+import com.gimm.CatalogSnapshotCompiler;
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Pasangan AnimeCatalogBenchmark untuk CatalogSnapshot: buka (mmap), buka satu
+ * judul lengkap dengan episodenya, dan lookup id. main() membandingkan cold start
+ * dan heap tertahan antara AnimeCatalog.load dan CatalogSnapshot.open.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xmx1g"})
+public class CatalogSnapshotBenchmark {
+  @Param({"1000", "100000"})
+  public int titles;
+
+  private File json;
+  private File snapshotFile;
+  private CatalogSnapshot snapshot;
+  private int next;
+
+  @Setup(Level.Trial)
+  public void setUp() throws IOException {
+    json = File.createTempFile("anime-", ".json");
+    snapshotFile = File.createTempFile("anime-", ".snap");
+    SyntheticCatalog.write(json, titles, 12, 1L);
+    compile(json, snapshotFile);
+    snapshot = CatalogSnapshot.open(snapshotFile);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    json.delete();
+    snapshotFile.delete();
+  }
+
+  @Benchmark
+  @OutputTimeUnit(TimeUnit.MICROSECONDS)
+  public CatalogSnapshot open() throws IOException {
+    return CatalogSnapshot.open(snapshotFile);
+  }
+
+  /** Semua field episode satu judul, setara AnimeCatalogBenchmark.openTitle. */
+  @Benchmark
+  @OutputTimeUnit(TimeUnit.MICROSECONDS)
+  public int openTitle() {
+    next = (next + 7919) % titles;
+    int hash = 0;
+    for (int e = 0; e < snapshot.getEpisodeCount(next); e++) {
+      hash += snapshot.getEpisodeNumber(next, e);
+      hash += snapshot.getEpisodeTitle(next, e).length();
+      hash += snapshot.getEpisodeVideoUrl(next, e).length();
+      hash += snapshot.getEpisodeMirrors(next, e).length;
+    }
+    return hash;
+  }
+
+  @Benchmark
+  @OutputTimeUnit(TimeUnit.NANOSECONDS)
+  public int lookupById() {
+    next = (next + 7919) % titles;
+    return snapshot.indexOf("anime-" + (1754333819850L + next));
+  }
+
+  private static void compile(File json, File out) throws IOException {
+    CatalogSnapshotCompiler compiler = new CatalogSnapshotCompiler();
+    compiler.readAnime(json);
+    compiler.write(out);
+  }
+
+  /** Cold start dan heap; argumen: [jumlah judul] [episode per judul]. */
+  public static void main(String[] args) throws IOException {
+    int titles = args.length > 0 ? Integer.parseInt(args[0]) : 100000;
+    int episodes = args.length > 1 ? Integer.parseInt(args[1]) : 12;
+    File json = File.createTempFile("anime-", ".json");
+    File snapshotFile = File.createTempFile("anime-", ".snap");
+    try {
+      SyntheticCatalog.write(json, titles, episodes, 1L);
+      compile(json, snapshotFile);
+
+      long before = usedHeap();
+      long start = System.nanoTime();
+      AnimeCatalog catalog = AnimeCatalog.load(json);
+      long loadNanos = System.nanoTime() - start;
+      long catalogHeap = usedHeap() - before;
+      System.out.printf("AnimeCatalog.load   titles=%d file=%.1f MB time=%.1f ms heap=%.1f MB%n",
+          catalog.size(), json.length() / 1e6, loadNanos / 1e6, catalogHeap / 1e6);
+      catalog = null;
+
+      before = usedHeap();
+      start = System.nanoTime();
+      CatalogSnapshot snapshot = CatalogSnapshot.open(snapshotFile);
+      int first = snapshot.indexOf(snapshot.getId(0));
+      long openNanos = System.nanoTime() - start;
+      long snapshotHeap = usedHeap() - before;
+      System.out.printf("CatalogSnapshot.open titles=%d file=%.1f MB time=%.3f ms heap=%.3f MB (first=%d)%n",
+          snapshot.size(), snapshotFile.length() / 1e6, openNanos / 1e6, snapshotHeap / 1e6, first);
+    } finally {
+      json.delete();
+      snapshotFile.delete();
+    }
+  }
+
+  private static long usedHeap() {
+    Runtime runtime = Runtime.getRuntime();
+    for (int i = 0; i < 4; i++) {
+      System.gc();
+    }
+    return runtime.totalMemory() - runtime.freeMemory();
+  }
+}
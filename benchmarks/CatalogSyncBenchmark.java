@@ -0,0 +1,275 @@
+package com.gimm.bench;
+
+import com.gimm.AnimeCatalog;
+import com.gimm.CatalogSource;
+import com.gimm.CatalogSync;
+import com.gimm.LocalFileCatalogSource;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * CatalogSync.sync() lewat rantai patch dari LocalFileCatalogSource: cari patch
+ * per versi lalu tulis ulang cache sekali. main() menjalankan skenario
+ * fungsional: rantai patch lengkap, rantai putus yang jatuh ke full download
+ * (byte patch tetap dihitung), dan full download rusak yang tidak menimpa cache.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CatalogSyncBenchmark {
+  private static final String BASE_VERSION = "2025-08-04T18:57:47.280Z";
+
+  @Param({"10000", "100000"})
+  public int titles;
+
+  @Param({"8"})
+  public int patches;
+
+  private File root;
+  private File base;
+  private File cache;
+  private CatalogSource source;
+
+  @Setup(Level.Trial)
+  public void setUp() throws IOException {
+    root = Files.createTempDirectory("catalog-sync-").toFile();
+    base = new File(root, "base.json");
+    cache = new File(root, "cache.json");
+    SyntheticCatalog.write(base, titles, 12, 1L);
+    writeServer(root, base, titles, patches);
+    source = new LocalFileCatalogSource(root);
+  }
+
+  @Setup(Level.Invocation)
+  public void resetCache() throws IOException {
+    Files.copy(base.toPath(), cache.toPath(), StandardCopyOption.REPLACE_EXISTING);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    delete(root);
+  }
+
+  @Benchmark
+  public CatalogSync.Result syncPatchChain() throws IOException {
+    return new CatalogSync(source, cache).sync();
+  }
+
+  public static void main(String[] args) throws Exception {
+    int titles = 200;
+    int patches = 5;
+    File root = Files.createTempDirectory("catalog-sync-").toFile();
+    try {
+      File base = new File(root, "base.json");
+      File cache = new File(root, "cache.json");
+      SyntheticCatalog.write(base, titles, 12, 1L);
+      writeServer(root, base, titles, patches);
+      LocalFileCatalogSource source = new LocalFileCatalogSource(root);
+
+      Files.copy(base.toPath(), cache.toPath(), StandardCopyOption.REPLACE_EXISTING);
+      CatalogSync.Result result = new CatalogSync(source, cache).sync();
+      System.out.println("patch chain:  " + result);
+      check(result.getMode() == CatalogSync.PATCHED, "expected PATCHED: " + result);
+      check(result.getVersion().equals(version(patches)), "wrong version " + result.getVersion());
+      check(result.getBytesTransferred() == patchBytes(root, patches), "wrong patch byte count");
+      AnimeCatalog catalog = AnimeCatalog.load(cache);
+      for (int p = 0; p < patches; p++) {
+        check(catalog.indexOf(id(removedIndex(p, titles))) < 0, "patch " + p + ": title not removed");
+        int upserted = catalog.indexOf(id(upsertedIndex(p, titles)));
+        check(upserted >= 0 && catalog.getTitle(upserted).equals("Remastered " + p),
+            "patch " + p + ": title not replaced");
+        check(catalog.indexOf("anime-new-" + p) >= 0, "patch " + p + ": new title missing");
+        List<AnimeCatalog.Episode> episodes = catalog.getEpisodes(catalog.indexOf(id(episodeIndex(p, titles))));
+        check(episodes.get(0).getNumber() == 2 && episodes.get(episodes.size() - 1).getNumber() == 13,
+            "patch " + p + ": episode changes not applied");
+      }
+      check(catalog.size() == titles, "expected " + titles + " titles, got " + catalog.size());
+
+      // Rantai putus di patch 3: patch 0..2 terunduh, lalu full download
+      check(new File(root, "patches/3.json").delete(), "cannot delete patch 3");
+      Files.copy(base.toPath(), cache.toPath(), StandardCopyOption.REPLACE_EXISTING);
+      result = new CatalogSync(source, cache).sync();
+      System.out.println("broken chain: " + result);
+      check(result.getMode() == CatalogSync.FULL, "expected FULL: " + result);
+      long expected = patchBytes(root, 3) + new File(root, "anime.json").length();
+      check(result.getBytesTransferred() == expected,
+          "expected " + expected + " bytes including patches, got " + result.getBytesTransferred());
+      check(Arrays.equals(Files.readAllBytes(cache.toPath()), Files.readAllBytes(new File(root, "anime.json").toPath())),
+          "full download differs from source");
+
+      // Full download terpotong: cache lama harus tetap utuh
+      Files.copy(base.toPath(), cache.toPath(), StandardCopyOption.REPLACE_EXISTING);
+      byte[] full = Files.readAllBytes(new File(root, "anime.json").toPath());
+      CatalogSource truncated = new TruncatedSource(version(patches), Arrays.copyOf(full, full.length / 2));
+      try {
+        new CatalogSync(truncated, cache).sync();
+        check(false, "truncated catalog accepted");
+      } catch (IOException e) {
+        System.out.println("truncated full download rejected: " + e.getMessage());
+      }
+      check(Arrays.equals(Files.readAllBytes(cache.toPath()), Files.readAllBytes(base.toPath())),
+          "cache changed by a rejected download");
+      check(!new File(cache.getPath() + ".tmp").exists(), "temp file left behind");
+    } finally {
+      delete(root);
+    }
+  }
+
+  // root/anime.json = base dengan last_updated terbaru (isinya tidak penting untuk full
+  // download), root/patches/<p>.json = patch p dari version(p) ke version(p + 1)
+  private static void writeServer(File root, File base, int titles, int patches) throws IOException {
+    writeWithVersion(base, new File(root, "anime.json"), version(patches));
+    File directory = new File(root, "patches");
+    if (!directory.mkdirs()) {
+      throw new IOException("Cannot create " + directory);
+    }
+    for (int p = 0; p < patches; p++) {
+      String patch = "{\n  \"since\": \"" + version(p) + "\",\n  \"last_updated\": \"" + version(p + 1)
+          + "\",\n  \"removed\": [\"" + id(removedIndex(p, titles)) + "\"],\n  \"upserted\": [\n    "
+          + title(id(upsertedIndex(p, titles)), "Remastered " + p) + ",\n    "
+          + title("anime-new-" + p, "Baru " + p) + "\n  ],\n  \"episodes\": [\n    {\"anime_id\": \""
+          + id(episodeIndex(p, titles)) + "\", \"upserted\": [" + episode(13) + "], \"removed\": [1]}\n  ]\n}\n";
+      OutputStream out = new FileOutputStream(new File(directory, p + ".json"));
+      try {
+        out.write(patch.getBytes(StandardCharsets.UTF_8));
+      } finally {
+        out.close();
+      }
+    }
+  }
+
+  private static void writeWithVersion(File base, File file, String lastUpdated) throws IOException {
+    // SyntheticCatalog selalu diakhiri last_updated; salin semua kecuali ekor itu
+    long body = base.length() - trailer(BASE_VERSION).length;
+    InputStream in = Files.newInputStream(base.toPath());
+    OutputStream out = new FileOutputStream(file);
+    try {
+      byte[] buffer = new byte[1 << 16];
+      long remaining = body;
+      while (remaining > 0) {
+        int n = in.read(buffer, 0, (int) Math.min(buffer.length, remaining));
+        if (n < 0) {
+          throw new IOException("Unexpected end of " + base);
+        }
+        out.write(buffer, 0, n);
+        remaining -= n;
+      }
+      out.write(trailer(lastUpdated));
+    } finally {
+      out.close();
+      in.close();
+    }
+  }
+
+  private static byte[] trailer(String lastUpdated) {
+    return ("\n  \"last_updated\": \"" + lastUpdated + "\"\n}\n").getBytes(StandardCharsets.UTF_8);
+  }
+
+  private static String version(int patch) {
+    return patch == 0 ? BASE_VERSION : String.format("2025-08-05T00:00:00.%03dZ", patch);
+  }
+
+  // Setiap patch menyentuh judul yang berbeda
+  private static int removedIndex(int patch, int titles) {
+    return (patch * 3) % titles;
+  }
+
+  private static int upsertedIndex(int patch, int titles) {
+    return (patch * 3 + 1) % titles;
+  }
+
+  private static int episodeIndex(int patch, int titles) {
+    return (patch * 3 + 2) % titles;
+  }
+
+  private static String id(int index) {
+    return "anime-" + (1754333819850L + index);
+  }
+
+  private static String title(String id, String title) {
+    return "{\"id\": \"" + id + "\", \"title\": \"" + title + "\", \"genres\": [\"Drama\"], \"status\": \"ongoing\","
+        + " \"current_episode\": 1, \"total_episodes\": 12, \"thumbnail\": \"https://cdn.example.com/thumb/x.jpg\","
+        + " \"vip_only\": false, \"episodes\": [" + episode(1) + "]}";
+  }
+
+  private static String episode(int number) {
+    return "{\"number\": " + number + ", \"title\": \"Episode " + number + "\", \"video_url\": "
+        + "\"https://cdn.example.com/v/x/" + number + ".m3u8\", \"mirrors\": []}";
+  }
+
+  private static long patchBytes(File root, int count) {
+    long bytes = 0;
+    for (int p = 0; p < count; p++) {
+      bytes += new File(root, "patches/" + p + ".json").length();
+    }
+    return bytes;
+  }
+
+  private static void check(boolean condition, String message) {
+    if (!condition) {
+      throw new IllegalStateException(message);
+    }
+  }
+
+  private static void delete(File file) {
+    File[] children = file.listFiles();
+    if (children != null) {
+      for (File child : children) {
+        delete(child);
+      }
+    }
+    file.delete();
+  }
+
+  /** Sumber tanpa patch yang mengirim anime.json terpotong. */
+  private static final class TruncatedSource implements CatalogSource {
+    private final String version;
+    private final byte[] bytes;
+
+    TruncatedSource(String version, byte[] bytes) {
+      this.version = version;
+      this.bytes = bytes;
+    }
+
+    @Override
+    public String getLatestVersion() {
+      return version;
+    }
+
+    @Override
+    public InputStream openPatch(String since) {
+      return null;
+    }
+
+    @Override
+    public InputStream openFull() {
+      return new ByteArrayInputStream(bytes);
+    }
+  }
+}
@@ -0,0 +1,78 @@
+package com.gimm.bench;
+
+import com.gimm.CharacterConfig;
+import com.gimm.ConfigStore;
+import com.gimm.GameSettings;
+import com.gimm.LayoutConfig;
+import java.io.File;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * ConfigStore: parse dingin settings.xml, player.xml dan layouts/main_menu.xml
+ * (store baru, jadi setiap get membaca dan mem-parse file), dibanding get yang
+ * dilayani cache seperti yang dilakukan game setiap frame. File config dibaca
+ * dari root repo; jalankan dari root atau set -Dconfig.root=&lt;dir&gt;.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConfigStoreBenchmark {
+  private File root;
+  private ConfigStore cached;
+
+  @Setup
+  public void setUp() {
+    root = new File(System.getProperty("config.root", "."));
+    if (!new File(root, ConfigStore.SETTINGS).isFile()) {
+      throw new IllegalStateException("No " + ConfigStore.SETTINGS + " under " + root.getAbsolutePath());
+    }
+    cached = new ConfigStore(root);
+    cached.getSettings();
+    cached.getPlayer();
+    cached.getLayout("main_menu");
+  }
+
+  @Benchmark
+  public GameSettings coldSettings() {
+    return new ConfigStore(root).getSettings();
+  }
+
+  @Benchmark
+  public CharacterConfig coldPlayer() {
+    return new ConfigStore(root).getPlayer();
+  }
+
+  @Benchmark
+  public LayoutConfig coldLayout() {
+    return new ConfigStore(root).getLayout("main_menu");
+  }
+
+  @Benchmark
+  public GameSettings cachedSettings() {
+    return cached.getSettings();
+  }
+
+  @Benchmark
+  public CharacterConfig cachedPlayer() {
+    return cached.getPlayer();
+  }
+
+  /** Termasuk menyusun path "layouts/main_menu.xml" dari nama layout. */
+  @Benchmark
+  public LayoutConfig cachedLayout() {
+    return cached.getLayout("main_menu");
+  }
+}
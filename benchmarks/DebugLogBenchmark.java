@@ -0,0 +1,52 @@
+package com.gimm.bench;
+
+import com.gimm.DebugLog;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Biaya logDebug di hot path (tulis ke ring buffer) dibanding biaya format saat
+ * overlay membaca entry.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DebugLogBenchmark {
+  private DebugLog log;
+  private final StringBuilder line = new StringBuilder(128);
+  private int score;
+
+  @Setup
+  public void setUp() {
+    log = new DebugLog(10);
+    for (int i = 0; i < 10; i++) {
+      log.log(DebugLog.LEVEL_INFO, "Score increased to: {} (Tube: {})", i, i % 4);
+    }
+  }
+
+  @Benchmark
+  public int logWithArgs() {
+    score++;
+    log.log(DebugLog.LEVEL_INFO, "Score increased to: {} (Tube: {})", score, score & 3);
+    return log.size();
+  }
+
+  @Benchmark
+  public int formatNewest() {
+    line.setLength(0);
+    log.format(log.size() - 1, line);
+    return line.length();
+  }
+}
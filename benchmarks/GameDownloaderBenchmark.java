@@ -0,0 +1,192 @@
+package com.gimm.bench;
+
+import com.gimm.GameDownloader;
+import com.gimm.GameRepository;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * GameDownloader terhadap LocalGameServer: unduhan dingin semua paket (cache
+ * kosong) per tingkat paralelisme, dan launch berulang yang dilayani cache.
+ * main() menjalankan skenario fungsional: resume setelah koneksi putus, cache hit,
+ * naik versi, eviksi LRU, cache-enabled=false dan checksum salah.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GameDownloaderBenchmark {
+  private static final String[] PATHS = {"games/space/", "games/puzzle/", "games/racing/", "games/jump/"};
+  private static final int PACKAGE_SIZE = 2 << 20;
+
+  @Param({"1", "3"})
+  public int parallelism;
+
+  private File root;
+  private File cache;
+  private LocalGameServer server;
+  private GameRepository repository;
+  private GameDownloader downloader;
+
+  @Setup(Level.Trial)
+  public void setUp() throws IOException {
+    root = createTempDirectory("games-");
+    cache = createTempDirectory("cache-");
+    for (int i = 0; i < PATHS.length; i++) {
+      LocalGameServer.writePackage(root, PATHS[i], PACKAGE_SIZE, i);
+    }
+    server = new LocalGameServer(root);
+    repository = repository(server, "1.0.0", true, "");
+    downloader = new GameDownloader(repository, cache, Long.MAX_VALUE, parallelism);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    downloader.shutdown();
+    server.stop();
+    delete(root);
+    delete(cache);
+  }
+
+  @Benchmark
+  public List<GameDownloader.Result> coldFetchAll() throws IOException, InterruptedException {
+    for (File file : cache.listFiles()) {
+      file.delete();
+    }
+    return downloader.fetchAll();
+  }
+
+  @Benchmark
+  @OutputTimeUnit(TimeUnit.MICROSECONDS)
+  public List<GameDownloader.Result> cachedFetchAll() throws IOException, InterruptedException {
+    return downloader.fetchAll();
+  }
+
+  public static void main(String[] args) throws Exception {
+    File root = createTempDirectory("games-");
+    File cache = createTempDirectory("cache-");
+    LocalGameServer server = null;
+    try {
+      for (int i = 0; i < PATHS.length; i++) {
+        LocalGameServer.writePackage(root, PATHS[i], PACKAGE_SIZE, i);
+      }
+      server = new LocalGameServer(root);
+
+      // 1. Setiap respons pertama putus di 700 KB: semua paket harus selesai lewat resume
+      server.setDropAfterBytes(700 << 10);
+      GameDownloader downloader = new GameDownloader(repository(server, "1.0.0", true, ""), cache,
+          4L * PACKAGE_SIZE, GameDownloader.DEFAULT_PARALLELISM);
+      long start = System.nanoTime();
+      report("cold + drops", downloader.fetchAll(), start);
+      server.setDropAfterBytes(0);
+
+      // 2. Launch berikutnya: semua dari cache, tidak ada request
+      int requests = server.requests.get();
+      start = System.nanoTime();
+      report("cached", downloader.fetchAll(), start);
+      check(server.requests.get() == requests, "cache hit made requests");
+      downloader.shutdown();
+
+      // 3. Naik versi dengan batas cache 4 paket: entri 1.0.0 tersingkir LRU
+      downloader = new GameDownloader(repository(server, "1.1.0", true, ""), cache,
+          4L * PACKAGE_SIZE, GameDownloader.DEFAULT_PARALLELISM);
+      start = System.nanoTime();
+      report("version bump", downloader.fetchAll(), start);
+      int packages = 0;
+      for (File file : cache.listFiles()) {
+        packages += file.getName().endsWith(".pkg") ? 1 : 0;
+      }
+      check(packages == PATHS.length, "LRU kept " + packages + " packages");
+      downloader.shutdown();
+
+      // 4. cache-enabled=false: selalu unduh ulang
+      downloader = new GameDownloader(repository(server, "1.1.0", false, ""), cache,
+          4L * PACKAGE_SIZE, GameDownloader.DEFAULT_PARALLELISM);
+      start = System.nanoTime();
+      List<GameDownloader.Result> results = downloader.fetchAll();
+      report("cache disabled", results, start);
+      check(!results.get(0).isCacheHit(), "cache-enabled=false served from cache");
+      downloader.shutdown();
+
+      // 5. sha256 di config.xml salah: harus gagal, bukan menyimpan paket rusak
+      downloader = new GameDownloader(repository(server, "2.0.0", true,
+          "0000000000000000000000000000000000000000000000000000000000000000"), cache,
+          4L * PACKAGE_SIZE, 1);
+      try {
+        downloader.fetchAll();
+        check(false, "checksum mismatch accepted");
+      } catch (IOException e) {
+        System.out.println("bad checksum rejected: " + e.getMessage());
+      }
+      downloader.shutdown();
+      System.out.println("server bytes sent: " + server.bytesSent.get());
+    } finally {
+      if (server != null) {
+        server.stop();
+      }
+      delete(root);
+      delete(cache);
+    }
+  }
+
+  private static GameRepository repository(LocalGameServer server, String version, boolean cacheEnabled,
+      String sha256) {
+    List<GameRepository.Game> games = new ArrayList<GameRepository.Game>();
+    for (String path : PATHS) {
+      games.add(new GameRepository.Game(path, "Arcade", path, "2MB", sha256));
+    }
+    return new GameRepository(server.getBaseUrl(), version, cacheEnabled, games);
+  }
+
+  private static void report(String label, List<GameDownloader.Result> results, long start) {
+    long bytes = 0;
+    int hits = 0;
+    int resumed = 0;
+    for (GameDownloader.Result result : results) {
+      bytes += result.getBytesTransferred();
+      hits += result.isCacheHit() ? 1 : 0;
+      resumed += result.isResumed() ? 1 : 0;
+    }
+    System.out.printf("%-15s %d packages, %d cache hits, %d resumed, %.1f MB in %.1f ms%n", label,
+        results.size(), hits, resumed, bytes / 1e6, (System.nanoTime() - start) / 1e6);
+  }
+
+  private static void check(boolean condition, String message) {
+    if (!condition) {
+      throw new IllegalStateException(message);
+    }
+  }
+
+  private static File createTempDirectory(String prefix) throws IOException {
+    return Files.createTempDirectory(prefix).toFile();
+  }
+
+  private static void delete(File file) {
+    File[] children = file.listFiles();
+    if (children != null) {
+      for (File child : children) {
+        delete(child);
+      }
+    }
+    file.delete();
+  }
+}
@@ -0,0 +1,116 @@
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Arrays;
+
+/**
+ * Frame pacing GameLoop per mode: frame rate yang tercapai, jitter interval antar
+ * render (p50/p99/max selisih dari periode target) dan pemakaian CPU thread loop.
+ * Yang diukur waktu dinding dan CPU, bukan throughput, jadi tidak memakai JMH.
+ * Argumen: [detik per mode] [frame rate].
+ */
+public class GameLoopBenchmark {
+
+  public static void main(String[] args) throws Exception {
+    int seconds = args.length > 0 ? Integer.parseInt(args[0]) : 3;
+    int frameRate = args.length > 1 ? Integer.parseInt(args[1]) : GameLoop.DEFAULT_RATE;
+    ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+
+    GameLoop.Mode[] modes = {GameLoop.Mode.RUNNING, GameLoop.Mode.IDLE, GameLoop.Mode.PAUSED};
+    int[] rates = {frameRate, GameLoop.DEFAULT_IDLE_RATE, GameLoop.DEFAULT_PAUSED_RATE};
+    for (int m = 0; m < modes.length; m++) {
+      RecordingGame game = new RecordingGame(modes[m], rates[m] * seconds * 2 + 16);
+      GameLoop loop = new GameLoop(game, GameLoop.DEFAULT_RATE, frameRate,
+          GameLoop.DEFAULT_IDLE_RATE, GameLoop.DEFAULT_PAUSED_RATE);
+      Thread thread = loop.start("loop-" + modes[m]);
+      // Lewati frame pertama (JIT dan kalibrasi spin)
+      Thread.sleep(500);
+      long cpuStart = threads.getThreadCpuTime(thread.getId());
+      long start = System.nanoTime();
+      game.recording = true;
+      Thread.sleep(seconds * 1000L);
+      game.recording = false;
+      long cpu = threads.getThreadCpuTime(thread.getId()) - cpuStart;
+      long wall = System.nanoTime() - start;
+      loop.stop();
+      thread.join();
+      report(modes[m], rates[m], game, cpu, wall, loop);
+    }
+
+    // Menu -> game: wakeUp harus memotong tidur idle 100 ms
+    final RecordingGame game = new RecordingGame(GameLoop.Mode.IDLE, 64);
+    GameLoop loop = new GameLoop(game);
+    Thread thread = loop.start("loop-wake");
+    Thread.sleep(250);
+    long[] wake = new long[20];
+    for (int i = 0; i < wake.length; i++) {
+      long frames = game.frames;
+      long posted = System.nanoTime();
+      loop.wakeUp();
+      while (game.frames == frames) {
+        Thread.onSpinWait();
+      }
+      wake[i] = System.nanoTime() - posted;
+      Thread.sleep(37);
+    }
+    loop.stop();
+    thread.join();
+    Arrays.sort(wake);
+    System.out.printf("wakeUp from IDLE: p50 %.3f ms, max %.3f ms%n",
+        wake[wake.length / 2] / 1e6, wake[wake.length - 1] / 1e6);
+  }
+
+  private static void report(GameLoop.Mode mode, int rate, RecordingGame game, long cpu, long wall,
+      GameLoop loop) {
+    int n = game.count;
+    long period = 1000000000L / rate;
+    long[] jitter = new long[Math.max(0, n - 1)];
+    for (int i = 1; i < n; i++) {
+      jitter[i - 1] = Math.abs(game.renders[i] - game.renders[i - 1] - period);
+    }
+    Arrays.sort(jitter);
+    System.out.printf("%-8s target %3d fps: %6.1f fps, jitter p50 %.3f ms p99 %.3f ms max %.3f ms,"
+            + " cpu %5.1f%%, late %d, park overshoot %.3f ms%n",
+        mode, rate, (n - 1) * 1e9 / Math.max(1, game.renders[Math.max(0, n - 1)] - game.renders[0]),
+        percentile(jitter, 0.50) / 1e6, percentile(jitter, 0.99) / 1e6,
+        percentile(jitter, 1.0) / 1e6, cpu * 100.0 / wall, loop.getLateFrames(),
+        loop.getParkOvershootNanos() / 1e6);
+  }
+
+  private static long percentile(long[] sorted, double p) {
+    if (sorted.length == 0) {
+      return 0;
+    }
+    return sorted[Math.min(sorted.length - 1, (int) Math.ceil(p * sorted.length) - 1)];
+  }
+
+  // Game kosong yang mencatat waktu setiap render
+  private static final class RecordingGame implements GameLoop.Game {
+    private final GameLoop.Mode mode;
+    final long[] renders;
+    volatile boolean recording;
+    volatile long frames;
+    int count;
+
+    RecordingGame(GameLoop.Mode mode, int capacity) {
+      this.mode = mode;
+      this.renders = new long[capacity];
+    }
+
+    @Override
+    public GameLoop.Mode getMode() {
+      return mode;
+    }
+
+    @Override
+    public void update(double dt) {
+    }
+
+    @Override
+    public void render(double alpha) {
+      if (recording && count < renders.length) {
+        renders[count++] = System.nanoTime();
+      }
+      frames++;
+    }
+  }
+}
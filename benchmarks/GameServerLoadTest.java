@@ -0,0 +1,154 @@
+import com.gimm.ConfigStore;
+import com.gimm.LatencyHistogram;
+import java.io.File;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Beban GameServer per jumlah sesi: semua sesi masuk ke game lewat beberapa koneksi
+ * loopback, lalu setiap sesi mengirim satu input (toggle pause) per detik dengan
+ * stamp. Dilaporkan session update per detik, durasi tick shard (p50/p99/p99.9/max)
+ * dan latency input -&gt; snapshot yang memuat hasilnya, diukur di client.
+ * Argumen: [root config] [detik per putaran] [jumlah sesi...].
+ */
+public class GameServerLoadTest {
+  private static final int CONNECTIONS = 4;
+  private static final long INPUT_INTERVAL_NANOS = 1000000000L;
+
+  public static void main(String[] args) throws Exception {
+    File root = new File(args.length > 0 ? args[0] : ".");
+    int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+    int[] counts = {100, 1000, 5000, 10000};
+    if (args.length > 2) {
+      counts = new int[args.length - 2];
+      for (int i = 2; i < args.length; i++) {
+        counts[i - 2] = Integer.parseInt(args[i]);
+      }
+    }
+    int shards = Runtime.getRuntime().availableProcessors();
+    System.out.printf("%d shards, %d connections, %d s per run%n", shards, CONNECTIONS, seconds);
+    for (int count : counts) {
+      run(new ConfigStore(root), count, shards, seconds);
+    }
+  }
+
+  private static void run(ConfigStore config, final int sessions, int shards, int seconds)
+      throws Exception {
+    final LatencyHistogram tickTimes = new LatencyHistogram();
+    final LatencyHistogram inputLatency = new LatencyHistogram();
+    final AtomicLong snapshots = new AtomicLong();
+    // sessionId per token, dan 1 jika input sesi masih menunggu balasan
+    final int[] sessionIds = new int[sessions];
+    final AtomicIntegerArray pending = new AtomicIntegerArray(sessions);
+    final int[] tokenOf = new int[sessions + 1];
+    final CountDownLatch joined = new CountDownLatch(sessions);
+
+    GameServer server = new GameServer(config, 0, shards, GameServer.DEFAULT_TICK_RATE);
+    server.setTickObserver(new GameServer.TickObserver() {
+      @Override
+      public void onTick(int shard, int sessionCount, long nanos) {
+        tickTimes.record(nanos);
+      }
+    });
+    server.start();
+
+    GameClient.Listener listener = new GameClient.Listener() {
+      @Override
+      public void onJoined(int token, int sessionId) {
+        sessionIds[token] = sessionId;
+        tokenOf[sessionId] = token;
+        joined.countDown();
+      }
+
+      @Override
+      public void onSnapshot(int sessionId, long tick, GameLoop.Mode mode, int score, int health,
+          float playTime, long stamp) {
+        snapshots.incrementAndGet();
+        if (stamp != 0) {
+          inputLatency.record(System.nanoTime() - stamp);
+          pending.set(tokenOf[sessionId], 0);
+        }
+      }
+    };
+    GameClient[] clients = new GameClient[CONNECTIONS];
+    for (int i = 0; i < CONNECTIONS; i++) {
+      clients[i] = new GameClient(server.getPort(), listener);
+    }
+    for (int token = 0; token < sessions; token++) {
+      clients[token % CONNECTIONS].join(token);
+    }
+    for (GameClient client : clients) {
+      client.flush();
+    }
+    if (!joined.await(30, TimeUnit.SECONDS)) {
+      throw new IllegalStateException("Only " + (sessions - joined.getCount()) + " sessions joined");
+    }
+
+    // Semua sesi mulai bermain, lalu pemanasan satu detik
+    for (int token = 0; token < sessions; token++) {
+      clients[token % CONNECTIONS].input(sessionIds[token], 0, "1");
+    }
+    for (GameClient client : clients) {
+      client.flush();
+    }
+    drive(clients, sessionIds, pending, 1);
+    tickTimes.reset();
+    inputLatency.reset();
+    snapshots.set(0);
+    long updatesBefore = server.getSessionUpdates();
+    long lateBefore = server.getLateTicks();
+
+    long start = System.nanoTime();
+    long sent = drive(clients, sessionIds, pending, seconds);
+    double elapsed = (System.nanoTime() - start) / 1e9;
+    long updates = server.getSessionUpdates() - updatesBefore;
+
+    System.out.printf("%6d sessions: %9.0f session updates/s, tick p50 %7.1f us p99 %7.1f us"
+            + " p99.9 %7.1f us max %7.1f us, late %d | input->snapshot p50 %6.2f ms p99 %6.2f ms"
+            + " max %6.2f ms (%d inputs, %.0f snapshots/s)%n",
+        sessions, updates / elapsed,
+        tickTimes.getPercentile(50) / 1e3, tickTimes.getPercentile(99) / 1e3,
+        tickTimes.getPercentile(99.9) / 1e3, tickTimes.getMax() / 1e3,
+        server.getLateTicks() - lateBefore,
+        inputLatency.getPercentile(50) / 1e6, inputLatency.getPercentile(99) / 1e6,
+        inputLatency.getMax() / 1e6, sent, snapshots.get() / elapsed);
+
+    for (GameClient client : clients) {
+      client.close();
+    }
+    server.close();
+  }
+
+  // Setiap sesi mengirim "p" sekali per INPUT_INTERVAL, digeser per sesi supaya merata
+  private static long drive(GameClient[] clients, int[] sessionIds, AtomicIntegerArray pending,
+      int seconds) throws Exception {
+    int sessions = sessionIds.length;
+    long start = System.nanoTime();
+    long end = start + seconds * 1000000000L;
+    long sent = 0;
+    int next = 0;
+    while (true) {
+      long now = System.nanoTime();
+      if (now >= end) {
+        return sent;
+      }
+      // Sesi ke-next jatuh tempo pada start + (putaran * interval) + offset sesi
+      long due = start + (long) ((double) next / sessions * INPUT_INTERVAL_NANOS);
+      if (due > now) {
+        for (GameClient client : clients) {
+          client.flush();
+        }
+        Thread.sleep(1);
+        continue;
+      }
+      int token = next % sessions;
+      if (pending.compareAndSet(token, 0, 1)) {
+        clients[token % clients.length].input(sessionIds[token], Math.max(1, System.nanoTime()), "p");
+        sent++;
+      }
+      next++;
+    }
+  }
+}
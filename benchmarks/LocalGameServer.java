@@ -0,0 +1,137 @@
+package com.gimm.bench;
+
+import com.gimm.GameDownloader;
+import com.gimm.GameRepository;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pengganti server paket game untuk GameDownloader: menyajikan file di root lewat
+ * HTTP di localhost dengan dukungan Range/If-Range/ETag. dropAfterBytes > 0 membuat
+ * setiap respons pertama untuk satu path terputus setelah sekian byte, supaya
+ * jalur resume ikut teruji.
+ */
+public class LocalGameServer {
+  private final HttpServer server;
+  private final File root;
+  private volatile long dropAfterBytes;
+  private final Set<String> dropped = Collections.synchronizedSet(new HashSet<String>());
+  final AtomicInteger requests = new AtomicInteger();
+  final AtomicLong bytesSent = new AtomicLong();
+
+  public LocalGameServer(File root) throws IOException {
+    this.root = root;
+    server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+    server.setExecutor(Executors.newCachedThreadPool());
+    server.createContext("/", new HttpHandler() {
+      @Override
+      public void handle(HttpExchange exchange) throws IOException {
+        try {
+          serve(exchange);
+        } finally {
+          exchange.close();
+        }
+      }
+    });
+    server.start();
+  }
+
+  public String getBaseUrl() {
+    return "http://127.0.0.1:" + server.getAddress().getPort() + "/";
+  }
+
+  public void setDropAfterBytes(long bytes) {
+    dropAfterBytes = bytes;
+    dropped.clear();
+  }
+
+  public void stop() {
+    server.stop(0);
+  }
+
+  private void serve(HttpExchange exchange) throws IOException {
+    requests.incrementAndGet();
+    String path = exchange.getRequestURI().getPath();
+    File file = new File(root, path.substring(1));
+    if (path.contains("..") || !file.isFile()) {
+      exchange.sendResponseHeaders(404, -1);
+      return;
+    }
+    long length = file.length();
+    String etag = "\"" + Long.toHexString(file.lastModified()) + "-" + Long.toHexString(length) + "\"";
+    long start = 0;
+    String range = exchange.getRequestHeaders().getFirst("Range");
+    String ifRange = exchange.getRequestHeaders().getFirst("If-Range");
+    if (range != null && range.startsWith("bytes=") && range.endsWith("-")
+        && (ifRange == null || ifRange.equals(etag))) {
+      start = Long.parseLong(range.substring(6, range.length() - 1));
+      if (start >= length) {
+        exchange.getResponseHeaders().set("Content-Range", "bytes */" + length);
+        exchange.sendResponseHeaders(416, -1);
+        return;
+      }
+      exchange.getResponseHeaders().set("Content-Range",
+          "bytes " + start + "-" + (length - 1) + "/" + length);
+    }
+    exchange.getResponseHeaders().set("ETag", etag);
+    exchange.getResponseHeaders().set("Accept-Ranges", "bytes");
+    exchange.sendResponseHeaders(start > 0 ? 206 : 200, length - start);
+
+    long limit = length - start;
+    if (dropAfterBytes > 0 && dropped.add(path)) {
+      limit = Math.min(limit, dropAfterBytes);
+    }
+    RandomAccessFile in = new RandomAccessFile(file, "r");
+    OutputStream out = exchange.getResponseBody();
+    try {
+      in.seek(start);
+      byte[] buffer = new byte[1 << 16];
+      long sent = 0;
+      while (sent < limit) {
+        int n = in.read(buffer, 0, (int) Math.min(buffer.length, limit - sent));
+        if (n < 0) {
+          break;
+        }
+        out.write(buffer, 0, n);
+        sent += n;
+      }
+      bytesSent.addAndGet(sent);
+      out.flush();
+    } finally {
+      in.close();
+    }
+    if (limit < length - start) {
+      // Putus di tengah: tutup koneksi tanpa menyelesaikan body
+      throw new IOException("dropped");
+    }
+  }
+
+  /** Tulis paket acak size byte ke root/path/package.zip beserta file .sha256-nya. */
+  static String writePackage(File root, String path, int size, long seed) throws IOException {
+    File dir = new File(root, path);
+    dir.mkdirs();
+    byte[] data = new byte[size];
+    new Random(seed).nextBytes(data);
+    File file = new File(dir, GameRepository.PACKAGE_FILE);
+    Files.write(file.toPath(), data);
+    String sha = GameDownloader.sha256(file);
+    Files.write(new File(dir, GameRepository.PACKAGE_FILE + ".sha256").toPath(),
+        (sha + "  " + GameRepository.PACKAGE_FILE + "\n").getBytes(StandardCharsets.US_ASCII));
+    return sha;
+  }
+}
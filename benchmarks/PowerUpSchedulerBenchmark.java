@@ -0,0 +1,80 @@
+package com.gimm.bench;
+
+import com.gimm.PowerUpScheduler;
+import com.gimm.PowerUpStore;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * PowerUpScheduler.update dalam keadaan stabil: spawn otomatis dan expiry seimbang
+ * sehingga store terisi sekitar setengah kapasitas. main() memakai ulang satu slot
+ * melewati wrap-around generation dan memastikan setiap power-up tetap expired.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PowerUpSchedulerBenchmark {
+  private static final long LIFETIME = 1000;
+
+  @Param({"64", "4096"})
+  public int capacity;
+
+  private PowerUpScheduler scheduler;
+  private long now;
+
+  @Setup
+  public void setUp() {
+    scheduler = new PowerUpScheduler(new PowerUpStore(capacity), LIFETIME);
+    scheduler.setSpawnArea(0, 0, 1080, 1920);
+    scheduler.reset(42, 0);
+    scheduler.setMeanSpawnInterval(2.0 * LIFETIME / capacity, 0);
+    for (now = 0; now < 2 * LIFETIME; now++) {
+      scheduler.update(now);
+    }
+  }
+
+  @Benchmark
+  public int update() {
+    scheduler.update(++now);
+    return scheduler.getPendingEvents();
+  }
+
+  public static void main(String[] args) {
+    // Generation 15 bit berputar setelah 32768 pemakaian; lewati dua kali putaran
+    int cycles = args.length > 0 ? Integer.parseInt(args[0]) : 70000;
+    PowerUpStore store = new PowerUpStore(1);
+    PowerUpScheduler scheduler = new PowerUpScheduler(store, LIFETIME);
+    scheduler.setSpawnArea(0, 0, 1080, 1920);
+    scheduler.reset(7, 0);
+    long now = 0;
+    for (int i = 0; i < cycles; i++) {
+      int handle = scheduler.spawn(now);
+      check(handle >= 0, "reuse " + i + ": negative handle " + handle);
+      check(scheduler.getPendingEvents() == 1, "reuse " + i + ": expiry not scheduled");
+      now += LIFETIME;
+      scheduler.update(now);
+      check(store.size() == 0, "reuse " + i + ": power-up did not expire");
+      check(store.slotOf(handle) < 0, "reuse " + i + ": stale handle still valid");
+    }
+    System.out.printf("%d reuses of one slot, every power-up expired%n", cycles);
+  }
+
+  private static void check(boolean condition, String message) {
+    if (!condition) {
+      throw new IllegalStateException(message);
+    }
+  }
+}
@@ -0,0 +1,95 @@
+package com.gimm.bench;
+
+import com.gimm.FlappySimulation;
+import com.gimm.PhysicsParams;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Hot path mode flappy: satu tick (fisika burung, update tiang, skor dan
+ * collision check) serta advance() dengan frame time yang berubah-ubah.
+ * main() memastikan tick() tidak mengalokasi sama sekali: byte yang dialokasi
+ * thread diukur di sekitar banyak tick setelah pemanasan dan harus nol.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SimulationBenchmark {
+  private static final float[] FRAME_TIMES = {1f / 60f, 1f / 30f, 1f / 120f, 1f / 45f};
+
+  private FlappySimulation simulation;
+  private long seed;
+  private int frame;
+
+  @Setup
+  public void setUp() {
+    // Gravitasi lebih besar supaya sesi panjang dan tiang benar-benar di-recycle
+    simulation = new FlappySimulation(PhysicsParams.DEFAULT.withGravity(1500f));
+    simulation.setWorld(1080, 1920, 100, 500, 500, 50, 50);
+    simulation.reset(seed);
+  }
+
+  private void keepAlive() {
+    if (simulation.isCrashed()) {
+      simulation.reset(++seed);
+    }
+    if (simulation.getVelocity() > 0
+        && simulation.getBirdY() < simulation.getGapCenterY(simulation.getScoringTube())) {
+      simulation.flap();
+    }
+  }
+
+  @Benchmark
+  public int tick() {
+    keepAlive();
+    return simulation.tick();
+  }
+
+  @Benchmark
+  public int advanceVariableFrame() {
+    keepAlive();
+    frame = (frame + 1) & 3;
+    return simulation.advance(FRAME_TIMES[frame]);
+  }
+
+  public static void main(String[] args) {
+    int ticks = args.length > 0 ? Integer.parseInt(args[0]) : 1000000;
+    com.sun.management.ThreadMXBean threads =
+        (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    if (!threads.isThreadAllocatedMemorySupported() || !threads.isThreadAllocatedMemoryEnabled()) {
+      throw new IllegalStateException("Thread allocation counting is not available on this JVM");
+    }
+    long thread = Thread.currentThread().getId();
+    SimulationBenchmark benchmark = new SimulationBenchmark();
+    benchmark.setUp();
+    // Pemanasan sampai tick dan keepAlive dikompilasi JIT
+    int sink = 0;
+    for (int i = 0; i < 200000; i++) {
+      sink += benchmark.tick();
+    }
+
+    long before = threads.getThreadAllocatedBytes(thread);
+    for (int i = 0; i < ticks; i++) {
+      sink += benchmark.tick();
+    }
+    long allocated = threads.getThreadAllocatedBytes(thread) - before;
+    System.out.printf("%d ticks (%d resets): %d bytes allocated (event bits %d)%n", ticks,
+        benchmark.seed, allocated, sink);
+    if (allocated != 0) {
+      throw new IllegalStateException("tick() allocated " + allocated + " bytes over " + ticks + " ticks");
+    }
+  }
+}
@@ -0,0 +1,93 @@
+package com.gimm.bench;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.SplittableRandom;
+
+/**
+ * Membuat anime.json sintetis dengan struktur yang sama seperti file asli
+ * (anime[], genres, episodes, mirrors, last_updated) untuk benchmark katalog.
+ */
+public final class SyntheticCatalog {
+  static final String[] GENRES = {
+    "Action", "Adventure", "Comedy", "Drama", "Fantasy", "Horror", "Mecha", "Music",
+    "Mystery", "Romance", "Sci-Fi", "Slice of Life", "Sports", "Supernatural", "Thriller", "Isekai"
+  };
+  static final String[] STATUSES = {"ongoing", "completed", "upcoming"};
+  private static final String[] WORDS = {
+    "Pedang", "Langit", "Bintang", "Naga", "Akademi", "Kota", "Hujan", "Musim", "Rahasia",
+    "Cahaya", "Bayangan", "Petualangan", "Sekolah", "Legenda", "Hati", "Api", "Laut", "Angin"
+  };
+
+  private SyntheticCatalog() {
+  }
+
+  /** Tulis katalog berisi titles judul; hasilnya sama untuk seed yang sama. */
+  public static void write(File file, int titles, int episodesPerTitle, long seed) throws IOException {
+    SplittableRandom random = new SplittableRandom(seed);
+    Writer out = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file), "UTF-8"), 1 << 16);
+    try {
+      out.write("{\n  \"anime\": [\n");
+      for (int i = 0; i < titles; i++) {
+        if (i > 0) {
+          out.write(",\n");
+        }
+        writeTitle(out, random, i, episodesPerTitle);
+      }
+      out.write("\n  ],\n  \"last_updated\": \"2025-08-04T18:57:47.280Z\"\n}\n");
+    } finally {
+      out.close();
+    }
+  }
+
+  private static void writeTitle(Writer out, SplittableRandom random, int index, int episodes)
+      throws IOException {
+    out.write("    {\n      \"id\": \"anime-");
+    out.write(Long.toString(1754333819850L + index));
+    out.write("\",\n      \"title\": \"");
+    out.write(WORDS[random.nextInt(WORDS.length)]);
+    out.write(' ');
+    out.write(WORDS[random.nextInt(WORDS.length)]);
+    out.write(' ');
+    out.write(Integer.toString(index));
+    out.write("\",\n      \"genres\": [");
+    int genres = 1 + random.nextInt(3);
+    for (int g = 0; g < genres; g++) {
+      out.write(g == 0 ? "\"" : ", \"");
+      out.write(GENRES[random.nextInt(GENRES.length)]);
+      out.write('"');
+    }
+    out.write("],\n      \"status\": \"");
+    out.write(STATUSES[random.nextInt(STATUSES.length)]);
+    out.write("\",\n      \"current_episode\": ");
+    out.write(Integer.toString(episodes));
+    out.write(",\n      \"total_episodes\": ");
+    out.write(Integer.toString(episodes + random.nextInt(12)));
+    out.write(",\n      \"thumbnail\": \"https://cdn.example.com/thumb/");
+    out.write(Integer.toString(index));
+    out.write(".jpg\",\n      \"vip_only\": ");
+    out.write(random.nextInt(10) == 0 ? "true" : "false");
+    out.write(",\n      \"episodes\": [");
+    for (int e = 1; e <= episodes; e++) {
+      out.write(e == 1 ? "\n" : ",\n");
+      out.write("        {\"number\": ");
+      out.write(Integer.toString(e));
+      out.write(", \"title\": \"Episode ");
+      out.write(Integer.toString(e));
+      out.write("\", \"video_url\": \"https://cdn.example.com/v/");
+      out.write(Integer.toString(index));
+      out.write('/');
+      out.write(Integer.toString(e));
+      out.write(".m3u8\", \"mirrors\": [\"https://mirror.example.com/v/");
+      out.write(Integer.toString(index));
+      out.write('/');
+      out.write(Integer.toString(e));
+      out.write(".mp4\"]}");
+    }
+    out.write("\n      ]\n    }");
+  }
+}
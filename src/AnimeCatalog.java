@@ -0,0 +1,519 @@
+// AnimeCatalog.java - Katalog anime.json dalam bentuk kolom ringkas + index
+package com.gimm;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Dibaca satu kali secara streaming dengan {@link JsonTokenizer}: field per judul
+ * disimpan sebagai kolom (array primitif), genre dan status sebagai kode kecil,
+ * dan daftar episode tidak diparse sama sekali. Yang dicatat hanya offset byte
+ * array "episodes" di file, lalu dibaca saat judul dibuka ({@link #getEpisodes}).
+ */
+public class AnimeCatalog {
+
+    private static final int EPISODE_CACHE_SIZE = 16;
+
+    private final File source;
+    private final String lastUpdated;
+    private final int count;
+
+    // Kolom per judul, index 0..count-1 sesuai urutan di file
+    private final String[] ids;
+    private final String[] titles;
+    private final String[] thumbnails;
+    private final byte[] statuses;
+    private final int[] currentEpisodes;
+    private final int[] totalEpisodes;
+    private final BitSet vipOnly;
+    // Genre judul i ada di genres[genreStart[i] .. genreStart[i + 1])
+    private final int[] genreStart;
+    private final short[] genres;
+    private final long[] episodesOffset;
+    private final int[] episodesLength;
+    private final int[] episodeCounts;
+
+    private final List<String> genreNames;
+    private final List<String> statusNames;
+
+    // Index
+    private final int[] idTable;
+    private final int[][] titlesByGenre;
+    private final int[][] titlesByStatus;
+    private final int[] vipTitles;
+
+    private final Map<Integer, List<Episode>> episodeCache =
+            new LinkedHashMap<Integer, List<Episode>>(EPISODE_CACHE_SIZE, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Integer, List<Episode>> eldest) {
+                    return size() > EPISODE_CACHE_SIZE;
+                }
+            };
+
+    private AnimeCatalog(File source, Builder builder) {
+        this.source = source;
+        this.lastUpdated = builder.lastUpdated;
+        this.count = builder.count;
+        ids = Arrays.copyOf(builder.ids, count);
+        titles = Arrays.copyOf(builder.titles, count);
+        thumbnails = Arrays.copyOf(builder.thumbnails, count);
+        statuses = Arrays.copyOf(builder.statuses, count);
+        currentEpisodes = Arrays.copyOf(builder.currentEpisodes, count);
+        totalEpisodes = Arrays.copyOf(builder.totalEpisodes, count);
+        vipOnly = builder.vipOnly;
+        genreStart = Arrays.copyOf(builder.genreStart, count + 1);
+        genres = Arrays.copyOf(builder.genres, builder.genreCount);
+        episodesOffset = Arrays.copyOf(builder.episodesOffset, count);
+        episodesLength = Arrays.copyOf(builder.episodesLength, count);
+        episodeCounts = Arrays.copyOf(builder.episodeCounts, count);
+        genreNames = Collections.unmodifiableList(builder.genreNames);
+        statusNames = Collections.unmodifiableList(builder.statusNames);
+
+        idTable = buildIdTable();
+        titlesByGenre = buildPostings(genreNames.size(), genreStart, genres);
+        int[] statusStart = new int[count + 1];
+        short[] statusCodes = new short[count];
+        for (int i = 0; i < count; i++) {
+            statusStart[i + 1] = i + 1;
+            statusCodes[i] = statuses[i];
+        }
+        titlesByStatus = buildPostings(statusNames.size(), statusStart, statusCodes);
+        vipTitles = new int[vipOnly.cardinality()];
+        for (int i = vipOnly.nextSetBit(0), n = 0; i >= 0; i = vipOnly.nextSetBit(i + 1)) {
+            vipTitles[n++] = i;
+        }
+    }
+
+    public static AnimeCatalog load(File file) throws IOException {
+        InputStream in = new FileInputStream(file);
+        try {
+            Builder builder = new Builder();
+            builder.read(new JsonTokenizer(in));
+            return new AnimeCatalog(file, builder);
+        } finally {
+            in.close();
+        }
+    }
+
+    public File getSource() {
+        return source;
+    }
+
+    public String getLastUpdated() {
+        return lastUpdated;
+    }
+
+    public int size() {
+        return count;
+    }
+
+    /** Index judul dengan id tersebut, atau -1. */
+    public int indexOf(String id) {
+        int mask = idTable.length - 1;
+        for (int slot = mix(id.hashCode()) & mask; ; slot = (slot + 1) & mask) {
+            int index = idTable[slot];
+            if (index < 0 || ids[index].equals(id)) {
+                return index;
+            }
+        }
+    }
+
+    public String getId(int index) {
+        return ids[index];
+    }
+
+    public String getTitle(int index) {
+        return titles[index];
+    }
+
+    public String getThumbnail(int index) {
+        return thumbnails[index];
+    }
+
+    public String getStatus(int index) {
+        return statusNames.get(statuses[index]);
+    }
+
+    public boolean isVipOnly(int index) {
+        return vipOnly.get(index);
+    }
+
+    public int getCurrentEpisode(int index) {
+        return currentEpisodes[index];
+    }
+
+    public int getTotalEpisodes(int index) {
+        return totalEpisodes[index];
+    }
+
+    /** Jumlah elemen array episodes; tersedia tanpa memuat episode-nya. */
+    public int getEpisodeCount(int index) {
+        return episodeCounts[index];
+    }
+
+    public String[] getGenres(int index) {
+        String[] result = new String[genreStart[index + 1] - genreStart[index]];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = genreNames.get(genres[genreStart[index] + i]);
+        }
+        return result;
+    }
+
+    /** Semua genre yang muncul di katalog; posisinya = kode genre. */
+    public List<String> getGenreNames() {
+        return genreNames;
+    }
+
+    public List<String> getStatusNames() {
+        return statusNames;
+    }
+
+    /** Index judul dengan genre tersebut, urut naik. Array baru, boleh diubah pemanggil. */
+    public int[] withGenre(String genre) {
+        int code = genreNames.indexOf(genre);
+        return code < 0 ? new int[0] : titlesByGenre[code].clone();
+    }
+
+    public int[] withStatus(String status) {
+        int code = statusNames.indexOf(status);
+        return code < 0 ? new int[0] : titlesByStatus[code].clone();
+    }
+
+    public int[] withVipOnly() {
+        return vipTitles.clone();
+    }
+
+    /**
+     * Episode satu judul, dibaca dari file saat pertama kali dibuka lalu disimpan
+     * di cache kecil (LRU). File sumber tidak boleh berubah selama katalog dipakai.
+     */
+    public synchronized List<Episode> getEpisodes(int index) throws IOException {
+        List<Episode> episodes = episodeCache.get(index);
+        if (episodes != null) {
+            return episodes;
+        }
+        if (episodesOffset[index] < 0) {
+            return Collections.emptyList();
+        }
+        byte[] bytes = new byte[episodesLength[index]];
+        RandomAccessFile file = new RandomAccessFile(source, "r");
+        try {
+            file.seek(episodesOffset[index]);
+            file.readFully(bytes);
+        } finally {
+            file.close();
+        }
+        episodes = Collections.unmodifiableList(
+                readEpisodes(new JsonTokenizer(new ByteArrayInputStream(bytes), 0, Math.max(16, bytes.length))));
+        episodeCache.put(index, episodes);
+        return episodes;
+    }
+
+    static List<Episode> readEpisodes(JsonTokenizer json) throws IOException {
+        List<Episode> episodes = new ArrayList<Episode>();
+        json.beginArray();
+        while (json.hasNext()) {
+            episodes.add(Episode.read(json));
+        }
+        json.endArray();
+        return episodes;
+    }
+
+    private int[] buildIdTable() {
+        int capacity = Integer.highestOneBit(Math.max(2, count) * 2 - 1) << 1;
+        int[] table = new int[capacity];
+        Arrays.fill(table, -1);
+        int mask = capacity - 1;
+        for (int i = 0; i < count; i++) {
+            int slot = mix(ids[i].hashCode()) & mask;
+            while (table[slot] >= 0) {
+                if (ids[table[slot]].equals(ids[i])) {
+                    break; // id ganda: yang pertama menang
+                }
+                slot = (slot + 1) & mask;
+            }
+            if (table[slot] < 0) {
+                table[slot] = i;
+            }
+        }
+        return table;
+    }
+
+    // Posting list per kode: dua lintasan (hitung lalu isi), tanpa list sementara
+    private static int[][] buildPostings(int codes, int[] start, short[] values) {
+        int[] sizes = new int[codes];
+        for (int i = 0; i < start[start.length - 1]; i++) {
+            sizes[values[i]]++;
+        }
+        int[][] postings = new int[codes][];
+        for (int code = 0; code < codes; code++) {
+            postings[code] = new int[sizes[code]];
+        }
+        Arrays.fill(sizes, 0);
+        for (int title = 0; title < start.length - 1; title++) {
+            for (int i = start[title]; i < start[title + 1]; i++) {
+                int code = values[i];
+                int[] list = postings[code];
+                // Genre yang sama dua kali di satu judul cukup dicatat sekali
+                if (sizes[code] == 0 || list[sizes[code] - 1] != title) {
+                    list[sizes[code]++] = title;
+                }
+            }
+        }
+        for (int code = 0; code < codes; code++) {
+            if (sizes[code] != postings[code].length) {
+                postings[code] = Arrays.copyOf(postings[code], sizes[code]);
+            }
+        }
+        return postings;
+    }
+
+    private static int mix(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    /** Satu episode; hanya dibuat saat judulnya dibuka. */
+    public static class Episode {
+        private final int number;
+        private final String title;
+        private final String videoUrl;
+        private final List<String> mirrors;
+
+        public Episode(int number, String title, String videoUrl, List<String> mirrors) {
+            this.number = number;
+            this.title = title;
+            this.videoUrl = videoUrl;
+            this.mirrors = mirrors;
+        }
+
+        public int getNumber() {
+            return number;
+        }
+
+        public String getTitle() {
+            return title;
+        }
+
+        public String getVideoUrl() {
+            return videoUrl;
+        }
+
+        public List<String> getMirrors() {
+            return mirrors;
+        }
+
+        static Episode read(JsonTokenizer json) throws IOException {
+            int number = 0;
+            String title = "";
+            String videoUrl = "";
+            List<String> mirrors = Collections.emptyList();
+            json.beginObject();
+            while (json.hasNext()) {
+                String name = json.nextName();
+                if (name.equals("number")) {
+                    number = json.nextInt();
+                } else if (name.equals("title")) {
+                    title = json.nextStringOrNull("");
+                } else if (name.equals("video_url")) {
+                    videoUrl = json.nextStringOrNull("");
+                } else if (name.equals("mirrors")) {
+                    mirrors = readMirrors(json);
+                } else {
+                    json.skipValue();
+                }
+            }
+            json.endObject();
+            return new Episode(number, title, videoUrl, mirrors);
+        }
+
+        // Mirror bisa berupa string URL atau object dengan field "url"
+        private static List<String> readMirrors(JsonTokenizer json) throws IOException {
+            if (json.peek() != JsonTokenizer.BEGIN_ARRAY) {
+                json.skipValue();
+                return Collections.emptyList();
+            }
+            List<String> mirrors = new ArrayList<String>();
+            json.beginArray();
+            while (json.hasNext()) {
+                if (json.peek() == JsonTokenizer.STRING) {
+                    mirrors.add(json.nextString());
+                } else if (json.peek() == JsonTokenizer.BEGIN_OBJECT) {
+                    json.beginObject();
+                    while (json.hasNext()) {
+                        if (json.nextName().equals("url")) {
+                            mirrors.add(json.nextStringOrNull(""));
+                        } else {
+                            json.skipValue();
+                        }
+                    }
+                    json.endObject();
+                } else {
+                    json.skipValue();
+                }
+            }
+            json.endArray();
+            return mirrors.isEmpty() ? Collections.<String>emptyList() : Collections.unmodifiableList(mirrors);
+        }
+    }
+
+    // Mengisi kolom sambil membaca; array tumbuh 1.5x lalu dipangkas di konstruktor katalog
+    private static class Builder {
+        String lastUpdated = "";
+        int count;
+        String[] ids = new String[64];
+        String[] titles = new String[64];
+        String[] thumbnails = new String[64];
+        byte[] statuses = new byte[64];
+        int[] currentEpisodes = new int[64];
+        int[] totalEpisodes = new int[64];
+        final BitSet vipOnly = new BitSet();
+        int[] genreStart = new int[65];
+        short[] genres = new short[128];
+        int genreCount;
+        long[] episodesOffset = new long[64];
+        int[] episodesLength = new int[64];
+        int[] episodeCounts = new int[64];
+
+        final List<String> genreNames = new ArrayList<String>();
+        final Map<String, Integer> genreCodes = new HashMap<String, Integer>();
+        final List<String> statusNames = new ArrayList<String>();
+        final Map<String, Integer> statusCodes = new HashMap<String, Integer>();
+
+        void read(JsonTokenizer json) throws IOException {
+            json.beginObject();
+            while (json.hasNext()) {
+                String name = json.nextName();
+                if (name.equals("anime")) {
+                    json.beginArray();
+                    while (json.hasNext()) {
+                        readAnime(json);
+                    }
+                    json.endArray();
+                } else if (name.equals("last_updated")) {
+                    lastUpdated = json.nextStringOrNull("");
+                } else {
+                    json.skipValue();
+                }
+            }
+            json.endObject();
+        }
+
+        private void readAnime(JsonTokenizer json) throws IOException {
+            if (count == ids.length) {
+                grow();
+            }
+            int index = count;
+            ids[index] = "";
+            titles[index] = "";
+            thumbnails[index] = "";
+            statuses[index] = -1;
+            currentEpisodes[index] = 0;
+            totalEpisodes[index] = 0;
+            episodesOffset[index] = -1;
+            episodesLength[index] = 0;
+            episodeCounts[index] = 0;
+
+            json.beginObject();
+            while (json.hasNext()) {
+                String name = json.nextName();
+                if (name.equals("id")) {
+                    ids[index] = json.nextString();
+                } else if (name.equals("title")) {
+                    titles[index] = json.nextStringOrNull("");
+                } else if (name.equals("genres")) {
+                    readGenres(json);
+                } else if (name.equals("status")) {
+                    statuses[index] = (byte) code(statusNames, statusCodes,
+                            json.nextStringOrNull(""), Byte.MAX_VALUE);
+                } else if (name.equals("current_episode")) {
+                    currentEpisodes[index] = json.nextInt();
+                } else if (name.equals("total_episodes")) {
+                    totalEpisodes[index] = json.nextInt();
+                } else if (name.equals("thumbnail")) {
+                    // Thumbnail kosong sering muncul; pakai satu instance ""
+                    String thumbnail = json.nextStringOrNull("");
+                    thumbnails[index] = thumbnail.isEmpty() ? "" : thumbnail;
+                } else if (name.equals("vip_only")) {
+                    vipOnly.set(index, json.nextBoolean());
+                } else if (name.equals("episodes") && json.peek() == JsonTokenizer.BEGIN_ARRAY) {
+                    skipEpisodes(json, index);
+                } else {
+                    json.skipValue();
+                }
+            }
+            json.endObject();
+            if (statuses[index] < 0) {
+                statuses[index] = (byte) code(statusNames, statusCodes, "", Byte.MAX_VALUE);
+            }
+            count++;
+            genreStart[count] = genreCount;
+        }
+
+        private void readGenres(JsonTokenizer json) throws IOException {
+            if (json.peek() != JsonTokenizer.BEGIN_ARRAY) {
+                json.skipValue();
+                return;
+            }
+            json.beginArray();
+            while (json.hasNext()) {
+                if (json.peek() != JsonTokenizer.STRING) {
+                    json.skipValue();
+                    continue;
+                }
+                if (genreCount == genres.length) {
+                    genres = Arrays.copyOf(genres, genres.length * 2);
+                }
+                genres[genreCount++] = (short) code(genreNames, genreCodes, json.nextString(), Short.MAX_VALUE);
+            }
+            json.endArray();
+        }
+
+        // Hanya hitung elemen dan catat posisi byte array-nya
+        private void skipEpisodes(JsonTokenizer json, int index) throws IOException {
+            long start = json.getTokenOffset();
+            int episodes = json.skipValueCounting();
+            episodesOffset[index] = start;
+            episodesLength[index] = (int) (json.getOffset() - start);
+            episodeCounts[index] = episodes;
+        }
+
+        private static int code(List<String> names, Map<String, Integer> codes, String value, int max) {
+            Integer code = codes.get(value);
+            if (code == null) {
+                if (names.size() > max) {
+                    throw new IllegalStateException("Too many distinct values: " + value);
+                }
+                code = names.size();
+                names.add(value);
+                codes.put(value, code);
+            }
+            return code;
+        }
+
+        private void grow() {
+            int capacity = ids.length + (ids.length >> 1);
+            ids = Arrays.copyOf(ids, capacity);
+            titles = Arrays.copyOf(titles, capacity);
+            thumbnails = Arrays.copyOf(thumbnails, capacity);
+            statuses = Arrays.copyOf(statuses, capacity);
+            currentEpisodes = Arrays.copyOf(currentEpisodes, capacity);
+            totalEpisodes = Arrays.copyOf(totalEpisodes, capacity);
+            genreStart = Arrays.copyOf(genreStart, capacity + 1);
+            episodesOffset = Arrays.copyOf(episodesOffset, capacity);
+            episodesLength = Arrays.copyOf(episodesLength, capacity);
+            episodeCounts = Arrays.copyOf(episodeCounts, capacity);
+        }
+    }
+}
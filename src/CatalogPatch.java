@@ -0,0 +1,189 @@
+// CatalogPatch.java - Delta katalog dari satu last_updated ke last_updated berikutnya
+package com.gimm;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Format patch:
+ * <pre>
+ * {
+ *   "since": "2025-08-04T18:57:47.280Z",
+ *   "last_updated": "2025-08-05T09:00:00.000Z",
+ *   "removed": ["anime-1"],
+ *   "upserted": [ { objek anime lengkap, sama seperti di anime.json } ],
+ *   "episodes": [
+ *     { "anime_id": "anime-2", "upserted": [ { objek episode } ], "removed": [3] }
+ *   ]
+ * }
+ * </pre>
+ * Urutan penerapan per judul: removed, upserted, lalu episodes. Objek anime dan
+ * episode disimpan sebagai byte JSON mentah dan ditulis apa adanya ke cache.
+ */
+public class CatalogPatch {
+
+    private final String since;
+    private final String lastUpdated;
+    private final int size;
+    final Set<String> removed = new HashSet<String>();
+    final Map<String, byte[]> upserted = new LinkedHashMap<String, byte[]>();
+    final Map<String, EpisodeChanges> episodes = new LinkedHashMap<String, EpisodeChanges>();
+
+    private CatalogPatch(String since, String lastUpdated, int size) {
+        this.since = since;
+        this.lastUpdated = lastUpdated;
+        this.size = size;
+    }
+
+    public String getSince() {
+        return since;
+    }
+
+    public String getLastUpdated() {
+        return lastUpdated;
+    }
+
+    /** Ukuran patch dalam byte (yang benar-benar ditransfer). */
+    public int getSize() {
+        return size;
+    }
+
+    /** Apakah patch ini menyentuh judul tersebut. */
+    boolean touches(String id) {
+        return removed.contains(id) || upserted.containsKey(id) || episodes.containsKey(id);
+    }
+
+    public static CatalogPatch read(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] chunk = new byte[8192];
+        int n;
+        while ((n = in.read(chunk)) > 0) {
+            out.write(chunk, 0, n);
+        }
+        return parse(out.toByteArray());
+    }
+
+    static CatalogPatch parse(byte[] bytes) throws IOException {
+        JsonTokenizer json = new JsonTokenizer(new ByteArrayInputStream(bytes), 0, Math.max(16, bytes.length));
+        String since = null;
+        String lastUpdated = null;
+        // Isi dikumpulkan dulu karena "since"/"last_updated" boleh muncul di mana saja
+        Set<String> removed = new HashSet<String>();
+        Map<String, byte[]> upserted = new LinkedHashMap<String, byte[]>();
+        Map<String, EpisodeChanges> episodes = new LinkedHashMap<String, EpisodeChanges>();
+
+        json.beginObject();
+        while (json.hasNext()) {
+            String name = json.nextName();
+            if (name.equals("since")) {
+                since = json.nextString();
+            } else if (name.equals("last_updated")) {
+                lastUpdated = json.nextString();
+            } else if (name.equals("removed")) {
+                json.beginArray();
+                while (json.hasNext()) {
+                    removed.add(json.nextString());
+                }
+                json.endArray();
+            } else if (name.equals("upserted")) {
+                json.beginArray();
+                while (json.hasNext()) {
+                    long start = json.getTokenOffset();
+                    String id = readKey(json, "id");
+                    upserted.put(id, Arrays.copyOfRange(bytes, (int) start, (int) json.getOffset()));
+                }
+                json.endArray();
+            } else if (name.equals("episodes")) {
+                json.beginArray();
+                while (json.hasNext()) {
+                    readEpisodeChanges(json, bytes, episodes);
+                }
+                json.endArray();
+            } else {
+                json.skipValue();
+            }
+        }
+        json.endObject();
+
+        if (since == null || lastUpdated == null) {
+            throw new IOException("Patch without since/last_updated");
+        }
+        CatalogPatch patch = new CatalogPatch(since, lastUpdated, bytes.length);
+        patch.removed.addAll(removed);
+        patch.upserted.putAll(upserted);
+        patch.episodes.putAll(episodes);
+        return patch;
+    }
+
+    private static void readEpisodeChanges(JsonTokenizer json, byte[] bytes,
+                                           Map<String, EpisodeChanges> episodes) throws IOException {
+        String animeId = null;
+        EpisodeChanges changes = new EpisodeChanges();
+        json.beginObject();
+        while (json.hasNext()) {
+            String name = json.nextName();
+            if (name.equals("anime_id")) {
+                animeId = json.nextString();
+            } else if (name.equals("upserted")) {
+                json.beginArray();
+                while (json.hasNext()) {
+                    long start = json.getTokenOffset();
+                    int number = Integer.parseInt(readKey(json, "number"));
+                    changes.upserted.put(number, Arrays.copyOfRange(bytes, (int) start, (int) json.getOffset()));
+                }
+                json.endArray();
+            } else if (name.equals("removed")) {
+                json.beginArray();
+                while (json.hasNext()) {
+                    changes.removed.add(json.nextInt());
+                }
+                json.endArray();
+            } else {
+                json.skipValue();
+            }
+        }
+        json.endObject();
+        if (animeId == null) {
+            throw new IOException("Episode patch without anime_id");
+        }
+        EpisodeChanges existing = episodes.get(animeId);
+        if (existing == null) {
+            episodes.put(animeId, changes);
+        } else {
+            existing.removed.addAll(changes.removed);
+            existing.upserted.putAll(changes.upserted);
+        }
+    }
+
+    // Baca satu object dan kembalikan nilai field key (string atau angka)
+    static String readKey(JsonTokenizer json, String key) throws IOException {
+        String value = null;
+        json.beginObject();
+        while (json.hasNext()) {
+            if (json.nextName().equals(key) && value == null) {
+                value = json.nextString();
+            } else {
+                json.skipValue();
+            }
+        }
+        json.endObject();
+        if (value == null) {
+            throw new IOException("Object without \"" + key + "\"");
+        }
+        return value;
+    }
+
+    /** Perubahan episode satu judul; episode dikenali dari "number". */
+    static class EpisodeChanges {
+        final Map<Integer, byte[]> upserted = new TreeMap<Integer, byte[]>();
+        final Set<Integer> removed = new HashSet<Integer>();
+    }
+}
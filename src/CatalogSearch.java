@@ -0,0 +1,842 @@
+// CatalogSearch.java - Pencarian full-text, facet dan saran prefix untuk katalog anime
+package com.gimm;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Inverted index di memori atas judul dan judul episode, dengan filter/facet
+ * genre, status dan vip_only serta saran (typeahead) berdasarkan awal kata judul.
+ *
+ * <p>Dokumen bersifat append-only: mengubah judul berarti menandai dokumen lama
+ * mati lalu menambah dokumen baru di akhir, jadi posting list tetap urut tanpa
+ * penyisipan di tengah. Dokumen mati dibuang oleh {@link #compact()} yang jalan
+ * otomatis saat porsinya sudah besar. Semua method public synchronized; query
+ * memakai array kerja bersama sehingga tidak mengalokasi per dokumen.
+ */
+public class CatalogSearch {
+
+    /** Bobot satu kemunculan kata di judul relatif terhadap judul episode. */
+    public static final int TITLE_WEIGHT = 4;
+    private static final int MAX_QUERY_TERMS = 32;
+    private static final int MAX_OFFSET = 0xFFFF;
+    private static final int SUGGEST_DELTA_LIMIT = 4096;
+    private static final int SUGGEST_SCAN_LIMIT = 256;
+    private static final int COMPACT_MIN_DEAD = 1024;
+
+    // Kolom dokumen, index 0..docCount-1
+    private int docCount;
+    private int liveCount;
+    private String[] ids = new String[64];
+    private String[] titles = new String[64];
+    private String[] normalizedTitles = new String[64];
+    private byte[] statuses = new byte[64];
+    private int[] genreStart = new int[65];
+    private short[] genres = new short[128];
+    private final BitSet vipOnly = new BitSet();
+    private final BitSet live = new BitSet();
+    private final Map<String, Integer> docOfId = new HashMap<String, Integer>();
+
+    private final List<String> genreNames = new ArrayList<String>();
+    private final Map<String, Integer> genreCodes = new HashMap<String, Integer>();
+    private final List<String> statusNames = new ArrayList<String>();
+    private final Map<String, Integer> statusCodes = new HashMap<String, Integer>();
+
+    // Kamus term terurut (untuk ekspansi prefix) dan posting list per term id
+    private final TreeMap<String, Integer> termIds = new TreeMap<String, Integer>();
+    private int termCount;
+    private int[][] postingDocs = new int[256][];
+    private short[][] postingWeights = new short[256][];
+    private int[] postingSizes = new int[256];
+
+    // Saran: entri (doc << 16 | offset awal kata), urut menurut normalizedTitles[doc] mulai offset.
+    // Entri baru masuk delta dan digabung ke array utama saat delta sudah besar.
+    private long[] suggestions = new long[0];
+    private int suggestionCount;
+    private long[] suggestionDelta = new long[64];
+    private int deltaCount;
+    private boolean deltaSorted = true;
+
+    // Array kerja query, diindeks doc
+    private int[] stamps = new int[64];
+    private byte[] matched = new byte[64];
+    private float[] scores = new float[64];
+    private int epoch;
+    private int[] candidates = new int[64];
+
+    /** Index seluruh snapshot; episode dibaca langsung dari mmap. */
+    public static CatalogSearch build(CatalogSnapshot snapshot) {
+        CatalogSearch search = new CatalogSearch();
+        for (int i = 0; i < snapshot.size(); i++) {
+            search.put(snapshot, i);
+        }
+        return search;
+    }
+
+    /** Index seluruh AnimeCatalog; lebih lambat karena episode tiap judul dibaca dari file. */
+    public static CatalogSearch build(AnimeCatalog catalog) throws IOException {
+        CatalogSearch search = new CatalogSearch();
+        for (int i = 0; i < catalog.size(); i++) {
+            search.put(catalog, i);
+        }
+        return search;
+    }
+
+    public synchronized int size() {
+        return liveCount;
+    }
+
+    public synchronized void put(CatalogSnapshot snapshot, int index) {
+        int episodes = snapshot.getEpisodeCount(index);
+        List<String> episodeTitles = new ArrayList<String>(episodes);
+        for (int e = 0; e < episodes; e++) {
+            episodeTitles.add(snapshot.getEpisodeTitle(index, e));
+        }
+        put(snapshot.getId(index), snapshot.getTitle(index), snapshot.getGenres(index),
+                snapshot.getStatus(index), snapshot.isVipOnly(index), episodeTitles);
+    }
+
+    public synchronized void put(AnimeCatalog catalog, int index) throws IOException {
+        List<AnimeCatalog.Episode> episodes = catalog.getEpisodes(index);
+        List<String> episodeTitles = new ArrayList<String>(episodes.size());
+        for (AnimeCatalog.Episode episode : episodes) {
+            episodeTitles.add(episode.getTitle());
+        }
+        put(catalog.getId(index), catalog.getTitle(index), catalog.getGenres(index),
+                catalog.getStatus(index), catalog.isVipOnly(index), episodeTitles);
+    }
+
+    /**
+     * Terapkan perubahan setelah {@link CatalogSync}: id yang masih ada di snapshot
+     * di-index ulang, yang sudah hilang dihapus. Untuk sync FULL (tanpa daftar id)
+     * pakai {@link #build(CatalogSnapshot)}.
+     */
+    public synchronized void update(CatalogSnapshot snapshot, Collection<String> changedIds) {
+        for (String id : changedIds) {
+            int index = snapshot.indexOf(id);
+            if (index < 0) {
+                remove(id);
+            } else {
+                put(snapshot, index);
+            }
+        }
+    }
+
+    /** Tambah atau ganti satu judul. */
+    public synchronized void put(String id, String title, String[] titleGenres, String status,
+                                 boolean vip, Iterable<String> episodeTitles) {
+        removeDoc(id);
+        if (docCount == ids.length) {
+            grow();
+        }
+        int doc = docCount;
+        String normalized = normalize(title);
+        ids[doc] = id;
+        titles[doc] = title;
+        normalizedTitles[doc] = normalized;
+        statuses[doc] = (byte) code(statusNames, statusCodes, status, Byte.MAX_VALUE);
+        vipOnly.set(doc, vip);
+        int genreCount = genreStart[doc];
+        for (String genre : titleGenres) {
+            if (genreCount == genres.length) {
+                genres = Arrays.copyOf(genres, genres.length * 2);
+            }
+            genres[genreCount++] = (short) code(genreNames, genreCodes, genre, Short.MAX_VALUE);
+        }
+        genreStart[doc + 1] = genreCount;
+
+        // Bobot per term untuk dokumen ini, lalu satu posting per term
+        Map<String, Integer> weights = new HashMap<String, Integer>();
+        addTerms(weights, normalized, TITLE_WEIGHT);
+        for (String episodeTitle : episodeTitles) {
+            addTerms(weights, normalize(episodeTitle), 1);
+        }
+        for (Map.Entry<String, Integer> entry : weights.entrySet()) {
+            addPosting(termId(entry.getKey()), doc, Math.min(entry.getValue(), Short.MAX_VALUE));
+        }
+
+        live.set(doc);
+        docOfId.put(id, doc);
+        docCount++;
+        liveCount++;
+        for (int offset = 0; offset >= 0 && offset <= MAX_OFFSET && offset < normalized.length(); ) {
+            addSuggestion((long) doc << 16 | offset);
+            int space = normalized.indexOf(' ', offset);
+            offset = space < 0 ? -1 : space + 1;
+        }
+        compactIfNeeded();
+    }
+
+    public synchronized boolean remove(String id) {
+        boolean removed = removeDoc(id);
+        compactIfNeeded();
+        return removed;
+    }
+
+    private void compactIfNeeded() {
+        if (docCount - liveCount > Math.max(COMPACT_MIN_DEAD, liveCount / 4)) {
+            compact();
+        }
+    }
+
+    private boolean removeDoc(String id) {
+        Integer doc = docOfId.remove(id);
+        if (doc == null) {
+            return false;
+        }
+        live.clear(doc);
+        liveCount--;
+        return true;
+    }
+
+    // ---- query ----
+
+    public synchronized Result search(String text, int limit) {
+        return search(text, null, null, null, limit);
+    }
+
+    /**
+     * Semua kata harus cocok (AND); kata terakhir dianggap prefix kecuali teks
+     * diakhiri spasi. Filter null berarti tidak difilter; teks kosong mencocokkan
+     * semua judul (mode jelajah per facet). Facet dihitung atas hasil yang sudah
+     * melewati semua filter.
+     */
+    public synchronized Result search(String text, String genre, String status, Boolean vip, int limit) {
+        int genreCode = -1;
+        if (genre != null) {
+            Integer code = genreCodes.get(genre);
+            if (code == null) {
+                return emptyResult();
+            }
+            genreCode = code;
+        }
+        int statusCode = -1;
+        if (status != null) {
+            Integer code = statusCodes.get(status);
+            if (code == null) {
+                return emptyResult();
+            }
+            statusCode = code;
+        }
+
+        int count = text == null ? -1 : match(text);
+        if (count == 0) {
+            return emptyResult();
+        }
+        boolean all = count < 0;
+        int total = all ? docCount : count;
+
+        int[] genreCounts = new int[genreNames.size()];
+        int[] statusCounts = new int[statusNames.size()];
+        int vipCount = 0;
+        int hits = 0;
+        int[] top = new int[Math.max(0, limit)];
+        int topSize = 0;
+        for (int i = 0; i < total; i++) {
+            int doc = all ? i : candidates[i];
+            if (all && !live.get(doc)) {
+                continue;
+            }
+            if (statusCode >= 0 && statuses[doc] != statusCode) {
+                continue;
+            }
+            if (vip != null && vipOnly.get(doc) != vip) {
+                continue;
+            }
+            if (genreCode >= 0 && !hasGenre(doc, genreCode)) {
+                continue;
+            }
+            hits++;
+            statusCounts[statuses[doc]]++;
+            if (vipOnly.get(doc)) {
+                vipCount++;
+            }
+            for (int g = genreStart[doc]; g < genreStart[doc + 1]; g++) {
+                // Genre ganda di satu judul cukup dihitung sekali
+                if (!seenBefore(doc, g)) {
+                    genreCounts[genres[g]]++;
+                }
+            }
+            if (all) {
+                if (topSize < top.length) {
+                    top[topSize++] = doc;
+                }
+            } else {
+                topSize = offer(top, topSize, doc);
+            }
+        }
+
+        List<Hit> result = new ArrayList<Hit>(topSize);
+        if (!all) {
+            sortByScore(top, topSize);
+        }
+        for (int i = 0; i < topSize; i++) {
+            int doc = top[i];
+            result.add(new Hit(ids[doc], titles[doc], all ? 0 : scores[doc]));
+        }
+        return new Result(result, hits, counts(genreNames, genreCounts), counts(statusNames, statusCounts), vipCount);
+    }
+
+    /**
+     * Judul yang salah satu katanya diawali prefix (judul yang diawali prefix lebih
+     * dulu, lalu yang lebih pendek). Hanya binary search + scan terbatas.
+     */
+    public synchronized List<Hit> suggest(String prefix, int limit) {
+        String key = normalize(prefix);
+        if (key.isEmpty() || limit <= 0) {
+            return Collections.emptyList();
+        }
+        if (!deltaSorted) {
+            sortSuggestions(suggestionDelta, deltaCount);
+            deltaSorted = true;
+        }
+        List<long[]> found = new ArrayList<long[]>();
+        Map<Integer, Boolean> seen = new HashMap<Integer, Boolean>();
+        collectSuggestions(suggestions, suggestionCount, key, found, seen);
+        collectSuggestions(suggestionDelta, deltaCount, key, found, seen);
+        Collections.sort(found, new Comparator<long[]>() {
+            @Override
+            public int compare(long[] a, long[] b) {
+                if ((a[1] == 0) != (b[1] == 0)) {
+                    return a[1] == 0 ? -1 : 1;
+                }
+                int lengthA = normalizedTitles[(int) a[0]].length();
+                int lengthB = normalizedTitles[(int) b[0]].length();
+                if (lengthA != lengthB) {
+                    return lengthA - lengthB;
+                }
+                return normalizedTitles[(int) a[0]].compareTo(normalizedTitles[(int) b[0]]);
+            }
+        });
+        List<Hit> result = new ArrayList<Hit>(Math.min(limit, found.size()));
+        for (int i = 0; i < found.size() && result.size() < limit; i++) {
+            int doc = (int) found.get(i)[0];
+            result.add(new Hit(ids[doc], titles[doc], 0));
+        }
+        return result;
+    }
+
+    private void collectSuggestions(long[] entries, int count, String key,
+                                    List<long[]> found, Map<Integer, Boolean> seen) {
+        int low = 0;
+        int high = count;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (compareSuffix(entries[mid], key) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        for (int i = low, scanned = 0; i < count && scanned < SUGGEST_SCAN_LIMIT; i++, scanned++) {
+            int doc = (int) (entries[i] >>> 16);
+            int offset = (int) (entries[i] & 0xFFFF);
+            if (!normalizedTitles[doc].startsWith(key, offset)) {
+                break;
+            }
+            if (live.get(doc) && seen.put(doc, Boolean.TRUE) == null) {
+                found.add(new long[] {doc, offset});
+            }
+        }
+    }
+
+    // Jumlah kandidat di candidates[], atau -1 jika teks tidak punya kata (semua dokumen)
+    private int match(String text) {
+        String normalized = normalize(text);
+        if (normalized.isEmpty()) {
+            return -1;
+        }
+        String[] words = normalized.split(" ");
+        boolean prefix = !Character.isWhitespace(text.charAt(text.length() - 1));
+        int groups = Math.min(words.length, MAX_QUERY_TERMS);
+        int[][] groupTerms = new int[groups][];
+        long[] groupSizes = new long[groups];
+        for (int i = 0; i < groups; i++) {
+            if (prefix && i == words.length - 1) {
+                Collection<Integer> expanded =
+                        termIds.subMap(words[i], true, words[i] + Character.MAX_VALUE, false).values();
+                groupTerms[i] = new int[expanded.size()];
+                int n = 0;
+                for (Integer term : expanded) {
+                    groupTerms[i][n++] = term;
+                }
+            } else {
+                Integer term = termIds.get(words[i]);
+                groupTerms[i] = term == null ? new int[0] : new int[] {term};
+            }
+            for (int term : groupTerms[i]) {
+                groupSizes[i] += postingSizes[term];
+            }
+            if (groupSizes[i] == 0) {
+                return 0;
+            }
+        }
+        // Kelompok paling jarang dulu supaya kandidat awal sekecil mungkin
+        for (int i = 1; i < groups; i++) {
+            for (int j = i; j > 0 && groupSizes[j] < groupSizes[j - 1]; j--) {
+                long size = groupSizes[j];
+                groupSizes[j] = groupSizes[j - 1];
+                groupSizes[j - 1] = size;
+                int[] terms = groupTerms[j];
+                groupTerms[j] = groupTerms[j - 1];
+                groupTerms[j - 1] = terms;
+            }
+        }
+
+        if (++epoch == Integer.MAX_VALUE) {
+            Arrays.fill(stamps, 0);
+            epoch = 1;
+        }
+        int count = 0;
+        for (int i = 0; i < groups; i++) {
+            for (int term : groupTerms[i]) {
+                int[] docs = postingDocs[term];
+                short[] weights = postingWeights[term];
+                float idf = idf(postingSizes[term]);
+                for (int p = 0; p < postingSizes[term]; p++) {
+                    int doc = docs[p];
+                    if (i == 0) {
+                        if (stamps[doc] == epoch || !live.get(doc)) {
+                            continue;
+                        }
+                        stamps[doc] = epoch;
+                        matched[doc] = 1;
+                        scores[doc] = score(weights[p], idf);
+                    } else if (stamps[doc] == epoch && matched[doc] == i) {
+                        matched[doc] = (byte) (i + 1);
+                        scores[doc] += score(weights[p], idf);
+                    } else {
+                        continue;
+                    }
+                    if (i == groups - 1) {
+                        candidates[count++] = doc;
+                    }
+                }
+            }
+        }
+        return count;
+    }
+
+    // BM25 tanpa normalisasi panjang: tf jenuh, kata langka bernilai lebih
+    private float idf(int documentFrequency) {
+        return (float) Math.log(1 + (liveCount - documentFrequency + 0.5) / (documentFrequency + 0.5));
+    }
+
+    private static float score(int weight, float idf) {
+        return idf * weight * 2.2f / (weight + 1.2f);
+    }
+
+    private boolean hasGenre(int doc, int code) {
+        for (int g = genreStart[doc]; g < genreStart[doc + 1]; g++) {
+            if (genres[g] == code) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean seenBefore(int doc, int g) {
+        for (int k = genreStart[doc]; k < g; k++) {
+            if (genres[k] == genres[g]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Result emptyResult() {
+        return new Result(Collections.<Hit>emptyList(), 0,
+                Collections.<String, Integer>emptyMap(), Collections.<String, Integer>emptyMap(), 0);
+    }
+
+    private static Map<String, Integer> counts(List<String> names, int[] counts) {
+        Map<String, Integer> result = new LinkedHashMap<String, Integer>();
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] > 0) {
+                result.put(names.get(i), counts[i]);
+            }
+        }
+        return Collections.unmodifiableMap(result);
+    }
+
+    // ---- top-k: min-heap berukuran limit, akar = hit terlemah ----
+
+    private boolean better(int a, int b) {
+        return scores[a] != scores[b] ? scores[a] > scores[b] : a < b;
+    }
+
+    private int offer(int[] heap, int size, int doc) {
+        if (heap.length == 0) {
+            return 0;
+        }
+        if (size < heap.length) {
+            heap[size] = doc;
+            for (int i = size; i > 0 && better(heap[(i - 1) / 2], heap[i]); i = (i - 1) / 2) {
+                swap(heap, i, (i - 1) / 2);
+            }
+            return size + 1;
+        }
+        if (better(doc, heap[0])) {
+            heap[0] = doc;
+            siftDown(heap, 0, size);
+        }
+        return size;
+    }
+
+    private void siftDown(int[] heap, int i, int size) {
+        while (true) {
+            int weakest = i;
+            int left = 2 * i + 1;
+            if (left < size && better(heap[weakest], heap[left])) {
+                weakest = left;
+            }
+            if (left + 1 < size && better(heap[weakest], heap[left + 1])) {
+                weakest = left + 1;
+            }
+            if (weakest == i) {
+                return;
+            }
+            swap(heap, i, weakest);
+            i = weakest;
+        }
+    }
+
+    // Heap sort: keluarkan yang terlemah ke belakang, hasilnya urut terbaik dulu
+    private void sortByScore(int[] heap, int size) {
+        for (int end = size - 1; end > 0; end--) {
+            swap(heap, 0, end);
+            siftDown(heap, 0, end);
+        }
+    }
+
+    private static void swap(int[] values, int a, int b) {
+        int value = values[a];
+        values[a] = values[b];
+        values[b] = value;
+    }
+
+    // ---- index internal ----
+
+    private static void addTerms(Map<String, Integer> weights, String normalized, int weight) {
+        if (normalized.isEmpty()) {
+            return;
+        }
+        for (String word : normalized.split(" ")) {
+            Integer current = weights.get(word);
+            weights.put(word, current == null ? weight : current + weight);
+        }
+    }
+
+    private int termId(String term) {
+        Integer id = termIds.get(term);
+        if (id == null) {
+            if (termCount == postingDocs.length) {
+                int capacity = termCount * 2;
+                postingDocs = Arrays.copyOf(postingDocs, capacity);
+                postingWeights = Arrays.copyOf(postingWeights, capacity);
+                postingSizes = Arrays.copyOf(postingSizes, capacity);
+            }
+            id = termCount++;
+            postingDocs[id] = new int[4];
+            postingWeights[id] = new short[4];
+            termIds.put(term, id);
+        }
+        return id;
+    }
+
+    private void addPosting(int term, int doc, int weight) {
+        int size = postingSizes[term];
+        if (size == postingDocs[term].length) {
+            int capacity = size + (size >> 1) + 1;
+            postingDocs[term] = Arrays.copyOf(postingDocs[term], capacity);
+            postingWeights[term] = Arrays.copyOf(postingWeights[term], capacity);
+        }
+        postingDocs[term][size] = doc;
+        postingWeights[term][size] = (short) weight;
+        postingSizes[term] = size + 1;
+    }
+
+    private void addSuggestion(long entry) {
+        if (deltaCount == suggestionDelta.length) {
+            suggestionDelta = Arrays.copyOf(suggestionDelta, deltaCount * 2);
+        }
+        suggestionDelta[deltaCount++] = entry;
+        deltaSorted = false;
+        if (deltaCount > Math.max(SUGGEST_DELTA_LIMIT, suggestionCount / 4)) {
+            mergeSuggestions();
+        }
+    }
+
+    // Gabung delta ke array utama sambil membuang entri dokumen mati
+    private void mergeSuggestions() {
+        sortSuggestions(suggestionDelta, deltaCount);
+        long[] merged = new long[suggestionCount + deltaCount];
+        int n = 0;
+        int a = 0;
+        int b = 0;
+        while (a < suggestionCount || b < deltaCount) {
+            long entry;
+            if (b == deltaCount || (a < suggestionCount
+                    && compareEntries(suggestions[a], suggestionDelta[b]) <= 0)) {
+                entry = suggestions[a++];
+            } else {
+                entry = suggestionDelta[b++];
+            }
+            if (live.get((int) (entry >>> 16))) {
+                merged[n++] = entry;
+            }
+        }
+        suggestions = merged;
+        suggestionCount = n;
+        deltaCount = 0;
+        deltaSorted = true;
+    }
+
+    // Merge sort stabil atas entri saran (tanpa boxing)
+    private void sortSuggestions(long[] entries, int count) {
+        if (count < 2) {
+            return;
+        }
+        long[] buffer = new long[count];
+        for (int width = 1; width < count; width *= 2) {
+            for (int low = 0; low < count - width; low += 2 * width) {
+                int mid = low + width;
+                int high = Math.min(low + 2 * width, count);
+                int a = low;
+                int b = mid;
+                int n = low;
+                while (a < mid && b < high) {
+                    buffer[n++] = compareEntries(entries[a], entries[b]) <= 0 ? entries[a++] : entries[b++];
+                }
+                while (a < mid) {
+                    buffer[n++] = entries[a++];
+                }
+                while (b < high) {
+                    buffer[n++] = entries[b++];
+                }
+                System.arraycopy(buffer, low, entries, low, high - low);
+            }
+        }
+    }
+
+    private int compareEntries(long a, long b) {
+        String titleA = normalizedTitles[(int) (a >>> 16)];
+        String titleB = normalizedTitles[(int) (b >>> 16)];
+        int offsetA = (int) (a & 0xFFFF);
+        int offsetB = (int) (b & 0xFFFF);
+        int length = Math.min(titleA.length() - offsetA, titleB.length() - offsetB);
+        for (int i = 0; i < length; i++) {
+            char ca = titleA.charAt(offsetA + i);
+            char cb = titleB.charAt(offsetB + i);
+            if (ca != cb) {
+                return ca - cb;
+            }
+        }
+        return (titleA.length() - offsetA) - (titleB.length() - offsetB);
+    }
+
+    private int compareSuffix(long entry, String key) {
+        String title = normalizedTitles[(int) (entry >>> 16)];
+        int offset = (int) (entry & 0xFFFF);
+        int length = Math.min(title.length() - offset, key.length());
+        for (int i = 0; i < length; i++) {
+            char c = title.charAt(offset + i);
+            if (c != key.charAt(i)) {
+                return c - key.charAt(i);
+            }
+        }
+        return (title.length() - offset) - key.length();
+    }
+
+    /**
+     * Buang dokumen mati dan nomori ulang sisanya tanpa mengubah urutan, jadi
+     * posting list dan entri saran cukup disaring dan dipetakan ulang.
+     */
+    public synchronized void compact() {
+        if (liveCount == docCount) {
+            return;
+        }
+        int[] remap = new int[docCount];
+        int next = 0;
+        int genreNext = 0;
+        for (int doc = 0; doc < docCount; doc++) {
+            if (!live.get(doc)) {
+                remap[doc] = -1;
+                continue;
+            }
+            remap[doc] = next;
+            ids[next] = ids[doc];
+            titles[next] = titles[doc];
+            normalizedTitles[next] = normalizedTitles[doc];
+            statuses[next] = statuses[doc];
+            vipOnly.set(next, vipOnly.get(doc));
+            int start = genreStart[doc];
+            int end = genreStart[doc + 1];
+            genreStart[next] = genreNext;
+            System.arraycopy(genres, start, genres, genreNext, end - start);
+            genreNext += end - start;
+            next++;
+        }
+        genreStart[next] = genreNext;
+        Arrays.fill(ids, next, docCount, null);
+        Arrays.fill(titles, next, docCount, null);
+
+        for (int term = 0; term < termCount; term++) {
+            int[] docs = postingDocs[term];
+            short[] weights = postingWeights[term];
+            int n = 0;
+            for (int p = 0; p < postingSizes[term]; p++) {
+                if (remap[docs[p]] >= 0) {
+                    docs[n] = remap[docs[p]];
+                    weights[n++] = weights[p];
+                }
+            }
+            postingSizes[term] = n;
+        }
+        for (Map.Entry<String, Integer> entry : docOfId.entrySet()) {
+            entry.setValue(remap[entry.getValue()]);
+        }
+        suggestionCount = remapSuggestions(suggestions, suggestionCount, remap);
+        deltaCount = remapSuggestions(suggestionDelta, deltaCount, remap);
+        Arrays.fill(normalizedTitles, next, docCount, null);
+
+        live.clear();
+        live.set(0, next);
+        vipOnly.clear(next, docCount);
+        docCount = next;
+        liveCount = next;
+    }
+
+    private static int remapSuggestions(long[] entries, int count, int[] remap) {
+        int n = 0;
+        for (int i = 0; i < count; i++) {
+            int doc = remap[(int) (entries[i] >>> 16)];
+            if (doc >= 0) {
+                entries[n++] = (long) doc << 16 | (entries[i] & 0xFFFF);
+            }
+        }
+        return n;
+    }
+
+    private void grow() {
+        int capacity = ids.length + (ids.length >> 1);
+        ids = Arrays.copyOf(ids, capacity);
+        titles = Arrays.copyOf(titles, capacity);
+        normalizedTitles = Arrays.copyOf(normalizedTitles, capacity);
+        statuses = Arrays.copyOf(statuses, capacity);
+        genreStart = Arrays.copyOf(genreStart, capacity + 1);
+        stamps = Arrays.copyOf(stamps, capacity);
+        matched = Arrays.copyOf(matched, capacity);
+        scores = Arrays.copyOf(scores, capacity);
+        candidates = Arrays.copyOf(candidates, capacity);
+    }
+
+    private static int code(List<String> names, Map<String, Integer> codes, String value, int max) {
+        Integer code = codes.get(value);
+        if (code == null) {
+            if (names.size() > max) {
+                throw new IllegalStateException("Too many distinct values: " + value);
+            }
+            code = names.size();
+            names.add(value);
+            codes.put(value, code);
+        }
+        return code;
+    }
+
+    /** Huruf kecil, selain huruf/angka jadi satu spasi; dipakai untuk index dan query. */
+    static String normalize(String text) {
+        StringBuilder out = new StringBuilder(text.length());
+        boolean separator = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                if (separator && out.length() > 0) {
+                    out.append(' ');
+                }
+                separator = false;
+                out.append(Character.toLowerCase(c));
+            } else {
+                separator = true;
+            }
+        }
+        return out.toString();
+    }
+
+    public static class Hit {
+        private final String id;
+        private final String title;
+        private final float score;
+
+        Hit(String id, String title, float score) {
+            this.id = id;
+            this.title = title;
+            this.score = score;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public String getTitle() {
+            return title;
+        }
+
+        public float getScore() {
+            return score;
+        }
+
+        @Override
+        public String toString() {
+            return id + " " + title;
+        }
+    }
+
+    public static class Result {
+        private final List<Hit> hits;
+        private final int totalHits;
+        private final Map<String, Integer> genreCounts;
+        private final Map<String, Integer> statusCounts;
+        private final int vipCount;
+
+        Result(List<Hit> hits, int totalHits, Map<String, Integer> genreCounts,
+               Map<String, Integer> statusCounts, int vipCount) {
+            this.hits = Collections.unmodifiableList(hits);
+            this.totalHits = totalHits;
+            this.genreCounts = genreCounts;
+            this.statusCounts = statusCounts;
+            this.vipCount = vipCount;
+        }
+
+        /** Maksimal limit hit, skor tertinggi dulu. */
+        public List<Hit> getHits() {
+            return hits;
+        }
+
+        public int getTotalHits() {
+            return totalHits;
+        }
+
+        public Map<String, Integer> getGenreCounts() {
+            return genreCounts;
+        }
+
+        public Map<String, Integer> getStatusCounts() {
+            return statusCounts;
+        }
+
+        public int getVipCount() {
+            return vipCount;
+        }
+    }
+}
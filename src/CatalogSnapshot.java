@@ -0,0 +1,402 @@
+// CatalogSnapshot.java - Snapshot biner katalog (anime.json + <games> config.xml) yang di-mmap
+package com.gimm;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Dibuka dengan memory-map dan langsung di-query tanpa parsing: semua field adalah
+ * record lebar tetap atau referensi ke string table, jadi biaya buka hampir nol dan
+ * heap hanya dipakai untuk String yang benar-benar diminta. Dibuat oleh
+ * {@link CatalogSnapshotCompiler}.
+ *
+ * <pre>
+ * header (HEADER_SIZE byte, int little-endian di posisi H_*)
+ * string table  : int[stringCount + 1] offset ke data UTF-8, lalu datanya
+ * anime         : ANIME_RECORD byte per judul
+ * genre judul   : int[] kode genre, dirujuk dari record anime
+ * index         : nama + posting list (CSR) per genre dan status, daftar vip,
+ *                 hash table id (open addressing, FNV-1a atas byte UTF-8 id)
+ * episode       : EPISODE_RECORD byte per episode, mirror sebagai int[] string ref
+ * games         : GAME_RECORD byte per &lt;game&gt;
+ * </pre>
+ */
+public class CatalogSnapshot {
+
+    static final int MAGIC = 0x4E534B41; // "AKSN" little-endian
+    static final int VERSION = 1;
+
+    static final int H_MAGIC = 0;
+    static final int H_VERSION = 4;
+    static final int H_FILE_LENGTH = 8;
+    static final int H_STRING_COUNT = 12;
+    static final int H_STRING_OFFSETS = 16;
+    static final int H_STRING_DATA = 20;
+    static final int H_ANIME_COUNT = 24;
+    static final int H_ANIME = 28;
+    static final int H_ANIME_GENRES = 32;
+    static final int H_GENRE_COUNT = 36;
+    static final int H_GENRE_NAMES = 40;
+    static final int H_GENRE_POSTINGS = 44;
+    static final int H_STATUS_COUNT = 48;
+    static final int H_STATUS_NAMES = 52;
+    static final int H_STATUS_POSTINGS = 56;
+    static final int H_VIP_COUNT = 60;
+    static final int H_VIP = 64;
+    static final int H_ID_TABLE_SIZE = 68;
+    static final int H_ID_TABLE = 72;
+    static final int H_EPISODE_COUNT = 76;
+    static final int H_EPISODES = 80;
+    static final int H_MIRRORS = 84;
+    static final int H_GAME_COUNT = 88;
+    static final int H_GAMES = 92;
+    static final int H_LAST_UPDATED = 96;
+    static final int H_CONFIG_VERSION = 100;
+    static final int H_BASE_URL = 104;
+    static final int HEADER_SIZE = 128;
+
+    // Record anime: id, title, thumbnail, status(byte), vip(byte), genreCount(short),
+    // genreStart, currentEpisode, totalEpisodes, episodeStart, episodeCount
+    static final int ANIME_RECORD = 36;
+    static final int A_ID = 0;
+    static final int A_TITLE = 4;
+    static final int A_THUMBNAIL = 8;
+    static final int A_STATUS = 12;
+    static final int A_VIP = 13;
+    static final int A_GENRE_COUNT = 14;
+    static final int A_GENRE_START = 16;
+    static final int A_CURRENT_EPISODE = 20;
+    static final int A_TOTAL_EPISODES = 24;
+    static final int A_EPISODE_START = 28;
+    static final int A_EPISODE_COUNT = 32;
+
+    // Record episode: number, title, videoUrl, mirrorStart, mirrorCount
+    static final int EPISODE_RECORD = 20;
+    static final int E_NUMBER = 0;
+    static final int E_TITLE = 4;
+    static final int E_VIDEO_URL = 8;
+    static final int E_MIRROR_START = 12;
+    static final int E_MIRROR_COUNT = 16;
+
+    // Record game: name, type, path, size (string ref), sizeBytes (long)
+    static final int GAME_RECORD = 24;
+    static final int G_NAME = 0;
+    static final int G_TYPE = 4;
+    static final int G_PATH = 8;
+    static final int G_SIZE = 12;
+    static final int G_SIZE_BYTES = 16;
+
+    private final ByteBuffer data;
+    private final int stringOffsets;
+    private final int stringData;
+    private final int animeCount;
+    private final int anime;
+    private final int animeGenres;
+    private final int genreCount;
+    private final int statusCount;
+    private final int idTableSize;
+    private final int idTable;
+    private final int episodes;
+    private final int mirrors;
+    private final int gameCount;
+    private final int games;
+
+    CatalogSnapshot(ByteBuffer data) throws IOException {
+        this.data = data.order(ByteOrder.LITTLE_ENDIAN);
+        if (data.capacity() < HEADER_SIZE || data.getInt(H_MAGIC) != MAGIC) {
+            throw new IOException("Not a catalog snapshot");
+        }
+        if (data.getInt(H_VERSION) != VERSION) {
+            throw new IOException("Unsupported snapshot version: " + data.getInt(H_VERSION));
+        }
+        if (data.getInt(H_FILE_LENGTH) != data.capacity()) {
+            throw new IOException("Truncated snapshot");
+        }
+        stringOffsets = data.getInt(H_STRING_OFFSETS);
+        stringData = data.getInt(H_STRING_DATA);
+        animeCount = data.getInt(H_ANIME_COUNT);
+        anime = data.getInt(H_ANIME);
+        animeGenres = data.getInt(H_ANIME_GENRES);
+        genreCount = data.getInt(H_GENRE_COUNT);
+        statusCount = data.getInt(H_STATUS_COUNT);
+        idTableSize = data.getInt(H_ID_TABLE_SIZE);
+        idTable = data.getInt(H_ID_TABLE);
+        episodes = data.getInt(H_EPISODES);
+        mirrors = data.getInt(H_MIRRORS);
+        gameCount = data.getInt(H_GAME_COUNT);
+        games = data.getInt(H_GAMES);
+        if (Integer.bitCount(idTableSize) != 1 && animeCount > 0) {
+            throw new IOException("Corrupt snapshot id table");
+        }
+    }
+
+    /** Map file read-only; mapping tetap valid walau channel-nya ditutup. */
+    public static CatalogSnapshot open(File file) throws IOException {
+        RandomAccessFile raf = new RandomAccessFile(file, "r");
+        try {
+            FileChannel channel = raf.getChannel();
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return new CatalogSnapshot(mapped);
+        } finally {
+            raf.close();
+        }
+    }
+
+    public String getLastUpdated() {
+        return string(data.getInt(H_LAST_UPDATED));
+    }
+
+    /** &lt;version&gt; dari config.xml. */
+    public String getConfigVersion() {
+        return string(data.getInt(H_CONFIG_VERSION));
+    }
+
+    /** &lt;base-url&gt; dari config.xml. */
+    public String getBaseUrl() {
+        return string(data.getInt(H_BASE_URL));
+    }
+
+    // ---- anime ----
+
+    public int size() {
+        return animeCount;
+    }
+
+    public String getId(int index) {
+        return string(animeInt(index, A_ID));
+    }
+
+    public String getTitle(int index) {
+        return string(animeInt(index, A_TITLE));
+    }
+
+    public String getThumbnail(int index) {
+        return string(animeInt(index, A_THUMBNAIL));
+    }
+
+    public String getStatus(int index) {
+        int code = data.get(animeRecord(index) + A_STATUS) & 0xFF;
+        return string(data.getInt(data.getInt(H_STATUS_NAMES) + 4 * code));
+    }
+
+    public boolean isVipOnly(int index) {
+        return data.get(animeRecord(index) + A_VIP) != 0;
+    }
+
+    public int getCurrentEpisode(int index) {
+        return animeInt(index, A_CURRENT_EPISODE);
+    }
+
+    public int getTotalEpisodes(int index) {
+        return animeInt(index, A_TOTAL_EPISODES);
+    }
+
+    public String[] getGenres(int index) {
+        int record = animeRecord(index);
+        String[] result = new String[data.getShort(record + A_GENRE_COUNT)];
+        int start = data.getInt(record + A_GENRE_START);
+        for (int i = 0; i < result.length; i++) {
+            result[i] = getGenreName(data.getInt(animeGenres + 4 * (start + i)));
+        }
+        return result;
+    }
+
+    /** Index judul dengan id tersebut, atau -1. Tidak membuat String dari snapshot. */
+    public int indexOf(String id) {
+        if (animeCount == 0) {
+            return -1;
+        }
+        byte[] key = id.getBytes(StandardCharsets.UTF_8);
+        int mask = idTableSize - 1;
+        for (int slot = hash(key, 0, key.length) & mask; ; slot = (slot + 1) & mask) {
+            int index = data.getInt(idTable + 4 * slot);
+            if (index < 0 || stringEquals(animeInt(index, A_ID), key)) {
+                return index;
+            }
+        }
+    }
+
+    // ---- facet/index ----
+
+    public int getGenreCount() {
+        return genreCount;
+    }
+
+    public String getGenreName(int code) {
+        return string(data.getInt(data.getInt(H_GENRE_NAMES) + 4 * code));
+    }
+
+    public int getStatusCount() {
+        return statusCount;
+    }
+
+    public String getStatusName(int code) {
+        return string(data.getInt(data.getInt(H_STATUS_NAMES) + 4 * code));
+    }
+
+    public int[] withGenre(String genre) {
+        for (int code = 0; code < genreCount; code++) {
+            if (getGenreName(code).equals(genre)) {
+                return postings(data.getInt(H_GENRE_POSTINGS), genreCount, code);
+            }
+        }
+        return new int[0];
+    }
+
+    public int[] withStatus(String status) {
+        for (int code = 0; code < statusCount; code++) {
+            if (getStatusName(code).equals(status)) {
+                return postings(data.getInt(H_STATUS_POSTINGS), statusCount, code);
+            }
+        }
+        return new int[0];
+    }
+
+    public int[] withVipOnly() {
+        int[] result = new int[data.getInt(H_VIP_COUNT)];
+        int vip = data.getInt(H_VIP);
+        for (int i = 0; i < result.length; i++) {
+            result[i] = data.getInt(vip + 4 * i);
+        }
+        return result;
+    }
+
+    // ---- episode ----
+
+    public int getEpisodeCount(int index) {
+        return animeInt(index, A_EPISODE_COUNT);
+    }
+
+    public int getEpisodeNumber(int index, int episode) {
+        return data.getInt(episodeRecord(index, episode) + E_NUMBER);
+    }
+
+    public String getEpisodeTitle(int index, int episode) {
+        return string(data.getInt(episodeRecord(index, episode) + E_TITLE));
+    }
+
+    public String getEpisodeVideoUrl(int index, int episode) {
+        return string(data.getInt(episodeRecord(index, episode) + E_VIDEO_URL));
+    }
+
+    public String[] getEpisodeMirrors(int index, int episode) {
+        int record = episodeRecord(index, episode);
+        String[] result = new String[data.getInt(record + E_MIRROR_COUNT)];
+        int start = data.getInt(record + E_MIRROR_START);
+        for (int i = 0; i < result.length; i++) {
+            result[i] = string(data.getInt(mirrors + 4 * (start + i)));
+        }
+        return result;
+    }
+
+    // ---- games ----
+
+    public int getGameCount() {
+        return gameCount;
+    }
+
+    public String getGameName(int index) {
+        return string(gameInt(index, G_NAME));
+    }
+
+    public String getGameType(int index) {
+        return string(gameInt(index, G_TYPE));
+    }
+
+    public String getGamePath(int index) {
+        return string(gameInt(index, G_PATH));
+    }
+
+    /** Ukuran seperti tertulis di config.xml, mis. "2.5MB". */
+    public String getGameSize(int index) {
+        return string(gameInt(index, G_SIZE));
+    }
+
+    /** Ukuran dalam byte (hasil parse atribut size), -1 jika tidak bisa dibaca. */
+    public long getGameSizeBytes(int index) {
+        return data.getLong(gameRecord(index) + G_SIZE_BYTES);
+    }
+
+    // ---- internal ----
+
+    private int animeRecord(int index) {
+        if (index < 0 || index >= animeCount) {
+            throw new IndexOutOfBoundsException("anime " + index + " of " + animeCount);
+        }
+        return anime + ANIME_RECORD * index;
+    }
+
+    private int animeInt(int index, int field) {
+        return data.getInt(animeRecord(index) + field);
+    }
+
+    private int episodeRecord(int index, int episode) {
+        int record = animeRecord(index);
+        if (episode < 0 || episode >= data.getInt(record + A_EPISODE_COUNT)) {
+            throw new IndexOutOfBoundsException("episode " + episode);
+        }
+        return episodes + EPISODE_RECORD * (data.getInt(record + A_EPISODE_START) + episode);
+    }
+
+    private int gameRecord(int index) {
+        if (index < 0 || index >= gameCount) {
+            throw new IndexOutOfBoundsException("game " + index + " of " + gameCount);
+        }
+        return games + GAME_RECORD * index;
+    }
+
+    private int gameInt(int index, int field) {
+        return data.getInt(gameRecord(index) + field);
+    }
+
+    private int[] postings(int position, int count, int code) {
+        int lists = position + 4 * (count + 1);
+        int start = data.getInt(position + 4 * code);
+        int end = data.getInt(position + 4 * (code + 1));
+        int[] result = new int[end - start];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = data.getInt(lists + 4 * (start + i));
+        }
+        return result;
+    }
+
+    String string(int ref) {
+        int start = data.getInt(stringOffsets + 4 * ref);
+        int end = data.getInt(stringOffsets + 4 * (ref + 1));
+        byte[] bytes = new byte[end - start];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = data.get(stringData + start + i);
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private boolean stringEquals(int ref, byte[] key) {
+        int start = data.getInt(stringOffsets + 4 * ref);
+        int end = data.getInt(stringOffsets + 4 * (ref + 1));
+        if (end - start != key.length) {
+            return false;
+        }
+        for (int i = 0; i < key.length; i++) {
+            if (data.get(stringData + start + i) != key[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** FNV-1a; compiler dan reader harus memakai fungsi yang sama. */
+    static int hash(byte[] bytes, int offset, int length) {
+        int hash = 0x811C9DC5;
+        for (int i = offset; i < offset + length; i++) {
+            hash ^= bytes[i] & 0xFF;
+            hash *= 0x01000193;
+        }
+        return hash ^ (hash >>> 16);
+    }
+}
@@ -0,0 +1,478 @@
+// CatalogSnapshotCompiler.java - Mengubah anime.json + config.xml menjadi CatalogSnapshot
+package com.gimm;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * anime.json dibaca streaming dengan {@link JsonTokenizer} (episode ikut diparse
+ * sekali di sini supaya reader tidak perlu lagi), config.xml lewat
+ * {@link GameRepository}. Semua string masuk satu string table yang di-dedupe, jadi
+ * judul episode dan URL yang berulang hanya tersimpan sekali. File ditulis ke .tmp
+ * lalu di-rename.
+ *
+ * <pre>
+ * java CatalogSnapshotCompiler anime.json config.xml catalog.snap
+ * </pre>
+ */
+public class CatalogSnapshotCompiler {
+
+    private static final int WRITE_BUFFER_SIZE = 1 << 16;
+
+    private final Strings strings = new Strings();
+
+    private String lastUpdated = "";
+    private int animeCount;
+    private final IntList anime = new IntList();        // ANIME_RECORD / 4 int per judul
+    private final IntList animeGenres = new IntList();
+    private final List<String> genreNames = new ArrayList<String>();
+    private final Map<String, Integer> genreCodes = new HashMap<String, Integer>();
+    private final List<String> statusNames = new ArrayList<String>();
+    private final Map<String, Integer> statusCodes = new HashMap<String, Integer>();
+    private final IntList vip = new IntList();
+    private final IntList episodes = new IntList();     // EPISODE_RECORD / 4 int per episode
+    private final IntList mirrors = new IntList();
+
+    private String configVersion = "";
+    private String baseUrl = "";
+    private final List<GameRepository.Game> games = new ArrayList<GameRepository.Game>();
+
+    public static void main(String[] args) throws Exception {
+        if (args.length != 3) {
+            System.err.println("Usage: CatalogSnapshotCompiler <anime.json> <config.xml> <out.snap>");
+            System.exit(1);
+        }
+        long start = System.nanoTime();
+        CatalogSnapshotCompiler compiler = new CatalogSnapshotCompiler();
+        compiler.readAnime(new File(args[0]));
+        compiler.readConfig(new File(args[1]));
+        File out = new File(args[2]);
+        compiler.write(out);
+        System.out.printf(Locale.US, "%d titles, %d episodes, %d games, %d strings -> %s (%d bytes) in %.1f ms%n",
+                compiler.animeCount, compiler.episodes.size / (CatalogSnapshot.EPISODE_RECORD / 4),
+                compiler.games.size(), compiler.strings.count(), out, out.length(),
+                (System.nanoTime() - start) / 1e6);
+    }
+
+    public void readAnime(File file) throws IOException {
+        InputStream in = new FileInputStream(file);
+        try {
+            JsonTokenizer json = new JsonTokenizer(in, 0, 1 << 16);
+            json.beginObject();
+            while (json.hasNext()) {
+                String name = json.nextName();
+                if (name.equals("anime")) {
+                    json.beginArray();
+                    while (json.hasNext()) {
+                        readTitle(json);
+                    }
+                    json.endArray();
+                } else if (name.equals("last_updated")) {
+                    lastUpdated = json.nextStringOrNull("");
+                } else {
+                    json.skipValue();
+                }
+            }
+            json.endObject();
+        } finally {
+            in.close();
+        }
+    }
+
+    /** Ambil &lt;games&gt;, &lt;base-url&gt; dan &lt;version&gt; dari config.xml. */
+    public void readConfig(File file) throws IOException {
+        GameRepository repository = GameRepository.load(file);
+        baseUrl = repository.getBaseUrl();
+        configVersion = repository.getVersion();
+        games.addAll(repository.getGames());
+    }
+
+    private void readTitle(JsonTokenizer json) throws IOException {
+        String id = "";
+        String title = "";
+        String thumbnail = "";
+        int status = -1;
+        boolean vipOnly = false;
+        int currentEpisode = 0;
+        int totalEpisodes = 0;
+        int genreStart = animeGenres.size;
+        int episodeStart = episodes.size / (CatalogSnapshot.EPISODE_RECORD / 4);
+
+        json.beginObject();
+        while (json.hasNext()) {
+            String name = json.nextName();
+            if (name.equals("id")) {
+                id = json.nextString();
+            } else if (name.equals("title")) {
+                title = json.nextStringOrNull("");
+            } else if (name.equals("genres") && json.peek() == JsonTokenizer.BEGIN_ARRAY) {
+                json.beginArray();
+                while (json.hasNext()) {
+                    if (json.peek() == JsonTokenizer.STRING) {
+                        animeGenres.add(code(genreNames, genreCodes, json.nextString()));
+                    } else {
+                        json.skipValue();
+                    }
+                }
+                json.endArray();
+            } else if (name.equals("status")) {
+                status = code(statusNames, statusCodes, json.nextStringOrNull(""));
+            } else if (name.equals("current_episode")) {
+                currentEpisode = json.nextInt();
+            } else if (name.equals("total_episodes")) {
+                totalEpisodes = json.nextInt();
+            } else if (name.equals("thumbnail")) {
+                thumbnail = json.nextStringOrNull("");
+            } else if (name.equals("vip_only")) {
+                vipOnly = json.nextBoolean();
+            } else if (name.equals("episodes") && json.peek() == JsonTokenizer.BEGIN_ARRAY) {
+                json.beginArray();
+                while (json.hasNext()) {
+                    addEpisode(AnimeCatalog.Episode.read(json));
+                }
+                json.endArray();
+            } else {
+                json.skipValue();
+            }
+        }
+        json.endObject();
+        if (status < 0) {
+            status = code(statusNames, statusCodes, "");
+        }
+        if (status > 0xFF) {
+            throw new IOException("Too many distinct statuses");
+        }
+        if (animeGenres.size - genreStart > Short.MAX_VALUE) {
+            throw new IOException("Too many genres for " + id);
+        }
+        if (vipOnly) {
+            vip.add(animeCount);
+        }
+
+        anime.add(strings.ref(id));
+        anime.add(strings.ref(title));
+        anime.add(strings.ref(thumbnail));
+        // status, vip, genreCount dipak dalam satu int little-endian
+        anime.add(status | (vipOnly ? 1 : 0) << 8 | (animeGenres.size - genreStart) << 16);
+        anime.add(genreStart);
+        anime.add(currentEpisode);
+        anime.add(totalEpisodes);
+        anime.add(episodeStart);
+        anime.add(episodes.size / (CatalogSnapshot.EPISODE_RECORD / 4) - episodeStart);
+        animeCount++;
+    }
+
+    private void addEpisode(AnimeCatalog.Episode episode) {
+        episodes.add(episode.getNumber());
+        episodes.add(strings.ref(episode.getTitle()));
+        episodes.add(strings.ref(episode.getVideoUrl()));
+        episodes.add(mirrors.size);
+        episodes.add(episode.getMirrors().size());
+        for (String mirror : episode.getMirrors()) {
+            mirrors.add(strings.ref(mirror));
+        }
+    }
+
+    private static int code(List<String> names, Map<String, Integer> codes, String value) {
+        Integer code = codes.get(value);
+        if (code == null) {
+            code = names.size();
+            names.add(value);
+            codes.put(value, code);
+        }
+        return code;
+    }
+
+    public void write(File file) throws IOException {
+        int episodeCount = episodes.size / (CatalogSnapshot.EPISODE_RECORD / 4);
+        int lastUpdatedRef = strings.ref(lastUpdated);
+        int configVersionRef = strings.ref(configVersion);
+        int baseUrlRef = strings.ref(baseUrl);
+        int[] genreNameRefs = refs(genreNames);
+        int[] statusNameRefs = refs(statusNames);
+        int[] gameRefs = new int[games.size() * 4];
+        for (int i = 0; i < games.size(); i++) {
+            GameRepository.Game game = games.get(i);
+            gameRefs[i * 4] = strings.ref(game.getName());
+            gameRefs[i * 4 + 1] = strings.ref(game.getType());
+            gameRefs[i * 4 + 2] = strings.ref(game.getPath());
+            gameRefs[i * 4 + 3] = strings.ref(game.getSize());
+        }
+
+        int[][] genrePostings = postings(genreNames.size(), true);
+        int[][] statusPostings = postings(statusNames.size(), false);
+        int idTableSize = Integer.highestOneBit(Math.max(1, animeCount * 2 - 1)) << 1;
+        int[] idTable = buildIdTable(idTableSize);
+
+        // Section int dulu, data string (panjang ganjil) paling akhir supaya semua int tetap rata 4 byte
+        long position = CatalogSnapshot.HEADER_SIZE;
+        int[] header = new int[CatalogSnapshot.HEADER_SIZE / 4];
+        put(header, CatalogSnapshot.H_MAGIC, CatalogSnapshot.MAGIC);
+        put(header, CatalogSnapshot.H_VERSION, CatalogSnapshot.VERSION);
+        put(header, CatalogSnapshot.H_STRING_COUNT, strings.count());
+        put(header, CatalogSnapshot.H_STRING_OFFSETS, position);
+        position += 4L * (strings.count() + 1);
+        put(header, CatalogSnapshot.H_ANIME_COUNT, animeCount);
+        put(header, CatalogSnapshot.H_ANIME, position);
+        position += (long) CatalogSnapshot.ANIME_RECORD * animeCount;
+        put(header, CatalogSnapshot.H_ANIME_GENRES, position);
+        position += 4L * animeGenres.size;
+        put(header, CatalogSnapshot.H_GENRE_COUNT, genreNames.size());
+        put(header, CatalogSnapshot.H_GENRE_NAMES, position);
+        position += 4L * genreNameRefs.length;
+        put(header, CatalogSnapshot.H_GENRE_POSTINGS, position);
+        position += 4L * (genrePostings[0].length + genrePostings[1].length);
+        put(header, CatalogSnapshot.H_STATUS_COUNT, statusNames.size());
+        put(header, CatalogSnapshot.H_STATUS_NAMES, position);
+        position += 4L * statusNameRefs.length;
+        put(header, CatalogSnapshot.H_STATUS_POSTINGS, position);
+        position += 4L * (statusPostings[0].length + statusPostings[1].length);
+        put(header, CatalogSnapshot.H_VIP_COUNT, vip.size);
+        put(header, CatalogSnapshot.H_VIP, position);
+        position += 4L * vip.size;
+        put(header, CatalogSnapshot.H_ID_TABLE_SIZE, idTableSize);
+        put(header, CatalogSnapshot.H_ID_TABLE, position);
+        position += 4L * idTableSize;
+        put(header, CatalogSnapshot.H_EPISODE_COUNT, episodeCount);
+        put(header, CatalogSnapshot.H_EPISODES, position);
+        position += 4L * episodes.size;
+        put(header, CatalogSnapshot.H_MIRRORS, position);
+        position += 4L * mirrors.size;
+        put(header, CatalogSnapshot.H_GAME_COUNT, games.size());
+        put(header, CatalogSnapshot.H_GAMES, position);
+        position += (long) CatalogSnapshot.GAME_RECORD * games.size();
+        put(header, CatalogSnapshot.H_STRING_DATA, position);
+        position += strings.bytes;
+        put(header, CatalogSnapshot.H_FILE_LENGTH, position);
+        put(header, CatalogSnapshot.H_LAST_UPDATED, lastUpdatedRef);
+        put(header, CatalogSnapshot.H_CONFIG_VERSION, configVersionRef);
+        put(header, CatalogSnapshot.H_BASE_URL, baseUrlRef);
+
+        File tmp = new File(file.getPath() + ".tmp");
+        FileOutputStream out = new FileOutputStream(tmp);
+        try {
+            Output output = new Output(out.getChannel());
+            output.ints(header, header.length);
+            output.ints(strings.offsets.data, strings.offsets.size);
+            // Record anime disimpan sebagai int; status/vip/genreCount sudah dipak sesuai offset byte-nya
+            output.ints(anime.data, anime.size);
+            output.ints(animeGenres.data, animeGenres.size);
+            output.ints(genreNameRefs, genreNameRefs.length);
+            output.ints(genrePostings[0], genrePostings[0].length);
+            output.ints(genrePostings[1], genrePostings[1].length);
+            output.ints(statusNameRefs, statusNameRefs.length);
+            output.ints(statusPostings[0], statusPostings[0].length);
+            output.ints(statusPostings[1], statusPostings[1].length);
+            output.ints(vip.data, vip.size);
+            output.ints(idTable, idTable.length);
+            output.ints(episodes.data, episodes.size);
+            output.ints(mirrors.data, mirrors.size);
+            for (int i = 0; i < games.size(); i++) {
+                output.ints(Arrays.copyOfRange(gameRefs, i * 4, i * 4 + 4), 4);
+                output.longValue(games.get(i).getSizeBytes());
+            }
+            output.bytes(strings.data, strings.bytes);
+            output.flush();
+            if (output.written != position) {
+                throw new IllegalStateException("Snapshot layout mismatch: " + output.written + " != " + position);
+            }
+            out.getFD().sync();
+        } finally {
+            out.close();
+        }
+        if (!tmp.renameTo(file)) {
+            file.delete();
+            if (!tmp.renameTo(file)) {
+                throw new IOException("Cannot replace " + file);
+            }
+        }
+    }
+
+    private static void put(int[] header, int offset, long value) {
+        if (value > Integer.MAX_VALUE) {
+            throw new IllegalStateException("Snapshot exceeds 2 GB");
+        }
+        header[offset / 4] = (int) value;
+    }
+
+    private int[] refs(List<String> values) {
+        int[] refs = new int[values.size()];
+        for (int i = 0; i < refs.length; i++) {
+            refs[i] = strings.ref(values.get(i));
+        }
+        return refs;
+    }
+
+    // CSR: [0] = start per kode (count + 1), [1] = index judul berurutan
+    private int[][] postings(int codes, boolean genres) {
+        int fields = CatalogSnapshot.ANIME_RECORD / 4;
+        int packed = CatalogSnapshot.A_STATUS / 4;
+        int[] start = new int[codes + 1];
+        int[] last = new int[codes];
+        Arrays.fill(last, -1);
+        for (int i = 0; i < animeCount; i++) {
+            if (genres) {
+                int genreStart = anime.data[i * fields + CatalogSnapshot.A_GENRE_START / 4];
+                int genreCount = anime.data[i * fields + packed] >>> 16;
+                for (int g = genreStart; g < genreStart + genreCount; g++) {
+                    if (last[animeGenres.data[g]] != i) {
+                        last[animeGenres.data[g]] = i;
+                        start[animeGenres.data[g] + 1]++;
+                    }
+                }
+            } else {
+                start[(anime.data[i * fields + packed] & 0xFF) + 1]++;
+            }
+        }
+        for (int c = 0; c < codes; c++) {
+            start[c + 1] += start[c];
+        }
+        int[] fill = Arrays.copyOf(start, codes);
+        int[] titles = new int[start[codes]];
+        for (int i = 0; i < animeCount; i++) {
+            if (genres) {
+                int genreStart = anime.data[i * fields + CatalogSnapshot.A_GENRE_START / 4];
+                int genreCount = anime.data[i * fields + packed] >>> 16;
+                for (int g = genreStart; g < genreStart + genreCount; g++) {
+                    int code = animeGenres.data[g];
+                    // Genre yang sama dua kali di satu judul cukup dicatat sekali
+                    if (fill[code] == start[code] || titles[fill[code] - 1] != i) {
+                        titles[fill[code]++] = i;
+                    }
+                }
+            } else {
+                titles[fill[anime.data[i * fields + packed] & 0xFF]++] = i;
+            }
+        }
+        return new int[][] {start, titles};
+    }
+
+    private int[] buildIdTable(int size) {
+        int[] table = new int[size];
+        Arrays.fill(table, -1);
+        int mask = size - 1;
+        int fields = CatalogSnapshot.ANIME_RECORD / 4;
+        for (int i = 0; i < animeCount; i++) {
+            int ref = anime.data[i * fields + CatalogSnapshot.A_ID / 4];
+            int start = strings.offsets.data[ref];
+            int length = strings.offsets.data[ref + 1] - start;
+            int slot = CatalogSnapshot.hash(strings.data, start, length) & mask;
+            boolean duplicate = false;
+            while (table[slot] >= 0) {
+                // Id ganda: yang pertama menang, sama seperti AnimeCatalog
+                if (anime.data[table[slot] * fields + CatalogSnapshot.A_ID / 4] == ref) {
+                    duplicate = true;
+                    break;
+                }
+                slot = (slot + 1) & mask;
+            }
+            if (!duplicate) {
+                table[slot] = i;
+            }
+        }
+        return table;
+    }
+
+    // String table yang di-dedupe: offsets[ref] .. offsets[ref + 1] di data
+    private static class Strings {
+        final Map<String, Integer> refs = new HashMap<String, Integer>();
+        final IntList offsets = new IntList();
+        byte[] data = new byte[1 << 16];
+        int bytes;
+
+        Strings() {
+            offsets.add(0);
+        }
+
+        int count() {
+            return offsets.size - 1;
+        }
+
+        int ref(String value) {
+            Integer ref = refs.get(value);
+            if (ref == null) {
+                byte[] encoded = value.getBytes(StandardCharsets.UTF_8);
+                if (bytes + encoded.length > data.length) {
+                    data = Arrays.copyOf(data, Math.max(bytes + encoded.length, data.length * 2));
+                }
+                System.arraycopy(encoded, 0, data, bytes, encoded.length);
+                bytes += encoded.length;
+                ref = count();
+                offsets.add(bytes);
+                refs.put(value, ref);
+            }
+            return ref;
+        }
+    }
+
+    private static class IntList {
+        int[] data = new int[256];
+        int size;
+
+        void add(int value) {
+            if (size == data.length) {
+                data = Arrays.copyOf(data, data.length * 2);
+            }
+            data[size++] = value;
+        }
+    }
+
+    // Penulis sequential little-endian lewat satu buffer tetap
+    private static class Output {
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocate(WRITE_BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        long written;
+
+        Output(FileChannel channel) {
+            this.channel = channel;
+        }
+
+        void ints(int[] values, int count) throws IOException {
+            for (int i = 0; i < count; i++) {
+                if (buffer.remaining() < 4) {
+                    flush();
+                }
+                buffer.putInt(values[i]);
+            }
+        }
+
+        void longValue(long value) throws IOException {
+            if (buffer.remaining() < 8) {
+                flush();
+            }
+            buffer.putLong(value);
+        }
+
+        void bytes(byte[] values, int count) throws IOException {
+            for (int offset = 0; offset < count; ) {
+                if (!buffer.hasRemaining()) {
+                    flush();
+                }
+                int n = Math.min(buffer.remaining(), count - offset);
+                buffer.put(values, offset, n);
+                offset += n;
+            }
+        }
+
+        void flush() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                written += channel.write(buffer);
+            }
+            buffer.clear();
+        }
+    }
+}
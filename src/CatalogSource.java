@@ -0,0 +1,20 @@
+// CatalogSource.java - Sumber katalog anime (server atau pengganti lokal)
+package com.gimm;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+public interface CatalogSource {
+
+    /** last_updated katalog terbaru di sumber. */
+    String getLatestVersion() throws IOException;
+
+    /**
+     * Patch dari versi since ke versi berikutnya (lihat {@link CatalogPatch}), atau
+     * null jika sumber tidak punya patch untuk versi itu; client lalu mengambil full.
+     */
+    InputStream openPatch(String since) throws IOException;
+
+    /** Seluruh anime.json versi terbaru. */
+    InputStream openFull() throws IOException;
+}
@@ -0,0 +1,522 @@
+// CatalogSync.java - Sinkronisasi anime.json lokal dengan sumber katalog lewat patch
+package com.gimm;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Menyamakan cache anime.json dengan {@link CatalogSource}. Jika versi lokal
+ * (last_updated) diketahui sumber, yang diambil hanya rantai patch sampai versi
+ * terbaru; semua patch diterapkan dalam satu kali tulis ulang cache secara
+ * streaming: judul yang tidak disentuh patch disalin byte per byte tanpa diparse.
+ * Jika tidak ada rantai patch, seluruh katalog diunduh ulang; hasil unduhan
+ * divalidasi dulu sehingga cache lama tidak pernah diganti file rusak.
+ */
+public class CatalogSync {
+
+    // Rantai lebih panjang dari ini lebih murah diganti full download
+    public static final int MAX_PATCHES = 64;
+
+    public static final int UP_TO_DATE = 0;
+    public static final int PATCHED = 1;
+    public static final int FULL = 2;
+
+    private final CatalogSource source;
+    private final File cacheFile;
+
+    public CatalogSync(CatalogSource source, File cacheFile) {
+        this.source = source;
+        this.cacheFile = cacheFile;
+    }
+
+    public Result sync() throws IOException {
+        String latest = source.getLatestVersion();
+        String local = cacheFile.exists() ? readLastUpdated(cacheFile) : null;
+        if (latest.equals(local)) {
+            return new Result(UP_TO_DATE, latest, 0, Collections.<String>emptySet());
+        }
+
+        // Patch yang sudah terunduh tetap dihitung walau akhirnya jatuh ke full download
+        long transferred = 0;
+        if (local != null) {
+            List<CatalogPatch> patches = new ArrayList<CatalogPatch>();
+            String version = local;
+            while (!version.equals(latest) && patches.size() < MAX_PATCHES) {
+                InputStream in = source.openPatch(version);
+                if (in == null) {
+                    break;
+                }
+                CatalogPatch patch;
+                try {
+                    patch = CatalogPatch.read(in);
+                } finally {
+                    in.close();
+                }
+                if (!patch.getSince().equals(version)) {
+                    throw new IOException("Patch for " + patch.getSince() + " returned for " + version);
+                }
+                patches.add(patch);
+                transferred += patch.getSize();
+                version = patch.getLastUpdated();
+            }
+            if (version.equals(latest)) {
+                Set<String> changed = apply(patches);
+                return new Result(PATCHED, latest, transferred, changed);
+            }
+        }
+
+        return downloadFull(transferred);
+    }
+
+    /** Terapkan patch berurutan ke cache; mengembalikan id judul yang berubah. */
+    Set<String> apply(List<CatalogPatch> patches) throws IOException {
+        File temp = new File(cacheFile.getPath() + ".tmp");
+        String lastUpdated = patches.get(patches.size() - 1).getLastUpdated();
+        Set<String> changed = new LinkedHashSet<String>();
+        // Judul baru (belum ada di cache) ditambahkan di akhir sesuai urutan patch
+        Map<String, Boolean> pending = new LinkedHashMap<String, Boolean>();
+        for (CatalogPatch patch : patches) {
+            for (String id : patch.upserted.keySet()) {
+                pending.put(id, Boolean.TRUE);
+            }
+        }
+
+        InputStream in = new FileInputStream(cacheFile);
+        RangeReader raw = new RangeReader(cacheFile);
+        FileOutputStream file = new FileOutputStream(temp);
+        try {
+            OutputStream out = new BufferedOutputStream(file, 1 << 16);
+            JsonTokenizer json = new JsonTokenizer(in);
+            boolean sawAnime = false;
+            boolean firstField = true;
+
+            out.write('{');
+            json.beginObject();
+            while (json.hasNext()) {
+                String name = json.nextName();
+                if (name.equals("last_updated")) {
+                    json.skipValue();
+                    continue;
+                }
+                writeFieldStart(out, name, firstField, 2);
+                firstField = false;
+                if (!name.equals("anime")) {
+                    long start = json.getTokenOffset();
+                    json.skipValue();
+                    raw.copyTo(start, json.getOffset(), out);
+                    continue;
+                }
+
+                sawAnime = true;
+                out.write('[');
+                boolean first = true;
+                json.beginArray();
+                while (json.hasNext()) {
+                    long start = json.getTokenOffset();
+                    String id = CatalogPatch.readKey(json, "id");
+                    long end = json.getOffset();
+                    pending.remove(id);
+                    byte[] current = null;
+                    boolean touched = false;
+                    for (CatalogPatch patch : patches) {
+                        if (patch.touches(id)) {
+                            if (!touched) {
+                                current = raw.read(start, end);
+                                touched = true;
+                            }
+                            current = applyTo(patch, id, current);
+                        }
+                    }
+                    if (touched) {
+                        changed.add(id);
+                        if (current != null) {
+                            first = writeAnimeSeparator(out, first);
+                            out.write(current);
+                        }
+                    } else {
+                        first = writeAnimeSeparator(out, first);
+                        raw.copyTo(start, end, out);
+                    }
+                }
+                json.endArray();
+                for (String id : pending.keySet()) {
+                    byte[] current = null;
+                    for (CatalogPatch patch : patches) {
+                        current = applyTo(patch, id, current);
+                    }
+                    if (current != null) {
+                        changed.add(id);
+                        first = writeAnimeSeparator(out, first);
+                        out.write(current);
+                    }
+                }
+                out.write(ascii(first ? "]" : "\n  ]"));
+            }
+            json.endObject();
+            if (!sawAnime) {
+                throw new IOException("Cached catalog has no \"anime\" array");
+            }
+
+            writeFieldStart(out, "last_updated", firstField, 2);
+            writeString(out, lastUpdated);
+            out.write(ascii("\n}\n"));
+            out.flush();
+            file.getFD().sync();
+        } finally {
+            file.close();
+            raw.close();
+            in.close();
+        }
+        replace(temp);
+        return changed;
+    }
+
+    // Satu judul melewati satu patch: removed, lalu upserted, lalu perubahan episode
+    private static byte[] applyTo(CatalogPatch patch, String id, byte[] current) throws IOException {
+        if (patch.removed.contains(id)) {
+            current = null;
+        }
+        byte[] upserted = patch.upserted.get(id);
+        if (upserted != null) {
+            current = upserted;
+        }
+        CatalogPatch.EpisodeChanges changes = patch.episodes.get(id);
+        if (changes != null && current != null) {
+            current = applyEpisodes(current, changes);
+        }
+        return current;
+    }
+
+    // Tulis ulang satu objek anime; semua field disalin mentah kecuali array episodes
+    static byte[] applyEpisodes(byte[] anime, CatalogPatch.EpisodeChanges changes) throws IOException {
+        JsonTokenizer json = new JsonTokenizer(new ByteArrayInputStream(anime), 0, Math.max(16, anime.length));
+        ByteArrayOutputStream out = new ByteArrayOutputStream(anime.length + 256);
+        boolean firstField = true;
+        boolean sawEpisodes = false;
+
+        out.write('{');
+        json.beginObject();
+        while (json.hasNext()) {
+            String name = json.nextName();
+            writeFieldStart(out, name, firstField, 6);
+            firstField = false;
+            if (!name.equals("episodes") || json.peek() != JsonTokenizer.BEGIN_ARRAY) {
+                long start = json.getTokenOffset();
+                json.skipValue();
+                out.write(anime, (int) start, (int) (json.getOffset() - start));
+                continue;
+            }
+            sawEpisodes = true;
+            writeEpisodes(out, json, anime, changes);
+        }
+        json.endObject();
+        if (!sawEpisodes && !changes.upserted.isEmpty()) {
+            writeFieldStart(out, "episodes", firstField, 6);
+            writeEpisodes(out, null, anime, changes);
+        }
+        out.write(ascii("\n    }"));
+        return out.toByteArray();
+    }
+
+    // Episode lama sesuai urutan semula (diganti/dihapus sesuai patch), lalu episode baru urut nomor
+    private static void writeEpisodes(ByteArrayOutputStream out, JsonTokenizer json, byte[] anime,
+                                      CatalogPatch.EpisodeChanges changes) throws IOException {
+        Map<Integer, byte[]> remaining = new LinkedHashMap<Integer, byte[]>(changes.upserted);
+        boolean first = true;
+        out.write('[');
+        if (json != null) {
+            json.beginArray();
+            while (json.hasNext()) {
+                long start = json.getTokenOffset();
+                int number = Integer.parseInt(CatalogPatch.readKey(json, "number"));
+                byte[] replacement = remaining.remove(number);
+                if (replacement != null) {
+                    first = writeEpisodeSeparator(out, first);
+                    out.write(replacement);
+                } else if (!changes.removed.contains(number)) {
+                    first = writeEpisodeSeparator(out, first);
+                    out.write(anime, (int) start, (int) (json.getOffset() - start));
+                }
+            }
+            json.endArray();
+        }
+        for (byte[] episode : remaining.values()) {
+            first = writeEpisodeSeparator(out, first);
+            out.write(episode);
+        }
+        out.write(ascii(first ? "]" : "\n      ]"));
+    }
+
+    private Result downloadFull(long transferred) throws IOException {
+        File temp = new File(cacheFile.getPath() + ".tmp");
+        InputStream in = source.openFull();
+        FileOutputStream out = new FileOutputStream(temp);
+        try {
+            byte[] buffer = new byte[1 << 16];
+            int n;
+            while ((n = in.read(buffer)) > 0) {
+                out.write(buffer, 0, n);
+                transferred += n;
+            }
+            out.getFD().sync();
+        } finally {
+            out.close();
+            in.close();
+        }
+        String version;
+        try {
+            version = validateCatalog(temp);
+        } catch (IOException e) {
+            temp.delete();
+            throw new IOException("Downloaded catalog rejected, cache kept: " + e.getMessage(), e);
+        }
+        replace(temp);
+        return new Result(FULL, version, transferred, null);
+    }
+
+    /**
+     * Memastikan file adalah katalog utuh (object dengan last_updated dan array
+     * "anime" berisi object ber-id, tanpa sisa di belakangnya) lalu mengembalikan
+     * last_updated-nya. Isi setiap judul hanya di-scan, tidak diparse.
+     */
+    static String validateCatalog(File file) throws IOException {
+        InputStream in = new FileInputStream(file);
+        try {
+            JsonTokenizer json = new JsonTokenizer(in);
+            String lastUpdated = null;
+            boolean sawAnime = false;
+            json.beginObject();
+            while (json.hasNext()) {
+                String name = json.nextName();
+                if (name.equals("last_updated")) {
+                    lastUpdated = json.nextStringOrNull(null);
+                } else if (name.equals("anime")) {
+                    sawAnime = true;
+                    json.beginArray();
+                    while (json.hasNext()) {
+                        CatalogPatch.readKey(json, "id");
+                    }
+                    json.endArray();
+                } else {
+                    json.skipValue();
+                }
+            }
+            json.endObject();
+            // Melempar jika ada nilai lain setelah object utama
+            json.peek();
+            if (!sawAnime) {
+                throw new IOException("No \"anime\" array in " + file);
+            }
+            if (lastUpdated == null) {
+                throw new IOException("No last_updated in " + file);
+            }
+            return lastUpdated;
+        } finally {
+            in.close();
+        }
+    }
+
+    private void replace(File temp) throws IOException {
+        // rename menimpa file lama secara atomik di Android/Linux; di Windows harus dihapus dulu
+        if (!temp.renameTo(cacheFile) && !(cacheFile.delete() && temp.renameTo(cacheFile))) {
+            throw new IOException("Failed to replace " + cacheFile);
+        }
+    }
+
+    /** last_updated sebuah anime.json; array anime dilewati tanpa diparse. */
+    public static String readLastUpdated(File file) throws IOException {
+        InputStream in = new FileInputStream(file);
+        try {
+            JsonTokenizer json = new JsonTokenizer(in);
+            String lastUpdated = null;
+            json.beginObject();
+            while (json.hasNext()) {
+                if (json.nextName().equals("last_updated")) {
+                    lastUpdated = json.nextStringOrNull(null);
+                } else {
+                    json.skipValue();
+                }
+            }
+            if (lastUpdated == null) {
+                throw new IOException("No last_updated in " + file);
+            }
+            return lastUpdated;
+        } finally {
+            in.close();
+        }
+    }
+
+    /**
+     * Potongan file cache, dibaca maju lewat satu stream ber-buffer. Offset dari
+     * tokenizer selalu naik, jadi judul yang disalin tidak perlu seek dan read
+     * sendiri-sendiri; celah di antaranya (separator, judul yang diganti) dilewati.
+     */
+    private static final class RangeReader implements Closeable {
+        private final InputStream in;
+        private final byte[] buffer = new byte[1 << 16];
+        private long position;
+
+        RangeReader(File file) throws IOException {
+            in = new BufferedInputStream(new FileInputStream(file), 1 << 16);
+        }
+
+        void copyTo(long start, long end, OutputStream out) throws IOException {
+            skipTo(start);
+            while (position < end) {
+                int n = in.read(buffer, 0, (int) Math.min(buffer.length, end - position));
+                if (n < 0) {
+                    throw new EOFException("Cache ended at " + position + ", expected " + end);
+                }
+                out.write(buffer, 0, n);
+                position += n;
+            }
+        }
+
+        byte[] read(long start, long end) throws IOException {
+            skipTo(start);
+            byte[] bytes = new byte[(int) (end - start)];
+            int length = 0;
+            while (length < bytes.length) {
+                int n = in.read(bytes, length, bytes.length - length);
+                if (n < 0) {
+                    throw new EOFException("Cache ended at " + position + ", expected " + end);
+                }
+                length += n;
+                position += n;
+            }
+            return bytes;
+        }
+
+        private void skipTo(long start) throws IOException {
+            if (start < position) {
+                throw new IOException("Range " + start + " is behind " + position);
+            }
+            while (position < start) {
+                long n = in.skip(start - position);
+                if (n <= 0) {
+                    if (in.read() < 0) {
+                        throw new EOFException("Cache ended at " + position + ", expected " + start);
+                    }
+                    n = 1;
+                }
+                position += n;
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+
+    private static boolean writeAnimeSeparator(OutputStream out, boolean first) throws IOException {
+        out.write(ascii(first ? "\n    " : ",\n    "));
+        return false;
+    }
+
+    private static boolean writeEpisodeSeparator(OutputStream out, boolean first) throws IOException {
+        out.write(ascii(first ? "\n        " : ",\n        "));
+        return false;
+    }
+
+    private static void writeFieldStart(OutputStream out, String name, boolean first, int indent)
+            throws IOException {
+        out.write(first ? '\n' : ',');
+        if (!first) {
+            out.write('\n');
+        }
+        for (int i = 0; i < indent; i++) {
+            out.write(' ');
+        }
+        writeString(out, name);
+        out.write(ascii(": "));
+    }
+
+    static void writeString(OutputStream out, String value) throws IOException {
+        StringBuilder escaped = new StringBuilder(value.length() + 2).append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                escaped.append('\\').append(c);
+            } else if (c < 0x20) {
+                escaped.append(String.format("\\u%04x", (int) c));
+            } else {
+                escaped.append(c);
+            }
+        }
+        out.write(escaped.append('"').toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static byte[] ascii(String text) {
+        return text.getBytes(StandardCharsets.ISO_8859_1);
+    }
+
+    public static class Result {
+        private final int mode;
+        private final String version;
+        private final long bytesTransferred;
+        private final Set<String> changedIds;
+
+        Result(int mode, String version, long bytesTransferred, Set<String> changedIds) {
+            this.mode = mode;
+            this.version = version;
+            this.bytesTransferred = bytesTransferred;
+            this.changedIds = changedIds == null ? null : Collections.unmodifiableSet(changedIds);
+        }
+
+        /** UP_TO_DATE, PATCHED atau FULL. */
+        public int getMode() {
+            return mode;
+        }
+
+        public String getVersion() {
+            return version;
+        }
+
+        public long getBytesTransferred() {
+            return bytesTransferred;
+        }
+
+        /** Jumlah judul yang ditambah/diubah/dihapus; -1 untuk FULL. */
+        public int getChangedTitles() {
+            return changedIds == null ? -1 : changedIds.size();
+        }
+
+        /**
+         * Id judul yang ditambah/diubah/dihapus, untuk update incremental seperti
+         * {@link CatalogSearch#update}; null untuk FULL (semua harus dibangun ulang).
+         */
+        public Set<String> getChangedIds() {
+            return changedIds;
+        }
+
+        /** Cache berubah, jadi AnimeCatalog yang sudah dimuat harus dimuat ulang. */
+        public boolean isChanged() {
+            return mode != UP_TO_DATE;
+        }
+
+        @Override
+        public String toString() {
+            String name = mode == UP_TO_DATE ? "up-to-date" : (mode == PATCHED ? "patched" : "full");
+            return name + " " + version + " (" + bytesTransferred + " bytes, " + getChangedTitles() + " titles)";
+        }
+    }
+}
@@ -0,0 +1,54 @@
+// CharacterConfig.java - Isi characters/player.xml
+package com.gimm;
+
+import java.util.Collections;
+import java.util.Map;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+/** Immutable; nilai yang tidak ada atau tidak valid memakai default. */
+public class CharacterConfig {
+
+    public static final int DEFAULT_HEALTH = 100;
+    public static final float DEFAULT_SPEED = 10;
+
+    static final ConfigStore.Parser<CharacterConfig> PARSER = new ConfigStore.Parser<CharacterConfig>() {
+        @Override
+        public CharacterConfig parse(XMLStreamReader xml) throws XMLStreamException {
+            return new CharacterConfig(ConfigStore.readFields(xml));
+        }
+
+        @Override
+        public CharacterConfig defaults() {
+            return new CharacterConfig(Collections.<String, String>emptyMap());
+        }
+    };
+
+    private final String name;
+    private final int health;
+    private final float speed;
+
+    CharacterConfig(Map<String, String> values) {
+        String name = values.get("name");
+        this.name = name == null || name.isEmpty() ? "Player" : name;
+        this.health = Math.max(1, ConfigStore.parseInt(values.get("health"), DEFAULT_HEALTH));
+        this.speed = Math.max(0, ConfigStore.parseFloat(values.get("speed"), DEFAULT_SPEED));
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getHealth() {
+        return health;
+    }
+
+    public float getSpeed() {
+        return speed;
+    }
+
+    @Override
+    public String toString() {
+        return name + " (health=" + health + ", speed=" + speed + ")";
+    }
+}
@@ -0,0 +1,315 @@
+// ConfigStore.java - Cache config XML (settings, karakter, layout) dengan hot-reload
+package com.gimm;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+/**
+ * File dibaca saat pertama diminta (StAX), hasilnya objek immutable yang
+ * di-cache. Setelah {@link #startWatching()}, thread daemon menunggu WatchService,
+ * mem-parse ulang file yang berubah lalu menukar referensinya; game loop cukup
+ * memanggil getter (satu baca volatile) dan tidak pernah menunggu I/O. File yang
+ * gagal diparse (mis. sedang ditulis editor) tidak mengganti nilai lama.
+ */
+public class ConfigStore implements Closeable {
+
+    public static final String SETTINGS = "config/settings.xml";
+    public static final String PLAYER = "characters/player.xml";
+    public static final String LAYOUTS = "layouts/";
+    // Editor sering menulis file dalam beberapa langkah; kumpulkan event sebentar
+    private static final long DEBOUNCE_MS = 50;
+
+    /** Mengubah isi satu file menjadi objek immutable. */
+    public interface Parser<T> {
+        /** xml berada di START_ELEMENT elemen root. */
+        T parse(XMLStreamReader xml) throws XMLStreamException;
+
+        /** Nilai jika file tidak ada. */
+        T defaults();
+    }
+
+    /** Dipanggil dari thread watcher setelah file di-reload. */
+    public interface Listener {
+        void onReload(String path);
+    }
+
+    private final File root;
+    private final XMLInputFactory factory = XMLInputFactory.newInstance();
+    private final ConcurrentHashMap<String, Entry<?>> entries = new ConcurrentHashMap<String, Entry<?>>();
+    private final CopyOnWriteArrayList<Listener> listeners = new CopyOnWriteArrayList<Listener>();
+    private final AtomicInteger generation = new AtomicInteger();
+    private WatchService watcher;
+    private Thread watchThread;
+
+    public ConfigStore(File root) {
+        this.root = root;
+    }
+
+    public GameSettings getSettings() {
+        return get(SETTINGS, GameSettings.PARSER);
+    }
+
+    public CharacterConfig getPlayer() {
+        return get(PLAYER, CharacterConfig.PARSER);
+    }
+
+    /** layouts/&lt;name&gt;.xml, mis. "main_menu" atau "game_ui". */
+    public LayoutConfig getLayout(String name) {
+        return get(LAYOUTS + name + ".xml", LayoutConfig.PARSER);
+    }
+
+    /** Nilai ter-cache untuk path (relatif terhadap root); diparse saat pertama diminta. */
+    @SuppressWarnings("unchecked")
+    public <T> T get(String path, Parser<T> parser) {
+        Entry<?> entry = entries.get(path);
+        if (entry == null) {
+            Entry<?> created = new Entry<T>(path, parser);
+            entry = entries.putIfAbsent(path, created);
+            if (entry == null) {
+                entry = created;
+            }
+        }
+        return ((Entry<T>) entry).get();
+    }
+
+    /** Naik setiap kali ada file yang di-reload; murah untuk dicek tiap frame. */
+    public int getGeneration() {
+        return generation.get();
+    }
+
+    public void addListener(Listener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(Listener listener) {
+        listeners.remove(listener);
+    }
+
+    /** Mulai memantau folder config, characters dan layouts. */
+    public synchronized void startWatching() throws IOException {
+        if (watcher != null) {
+            return;
+        }
+        watcher = FileSystems.getDefault().newWatchService();
+        final Map<WatchKey, String> directories = new HashMap<WatchKey, String>();
+        for (String directory : new String[] {"config", "characters", "layouts"}) {
+            File file = new File(root, directory);
+            if (file.isDirectory()) {
+                WatchKey key = file.toPath().register(watcher, StandardWatchEventKinds.ENTRY_CREATE,
+                        StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+                directories.put(key, directory + "/");
+            }
+        }
+        final WatchService service = watcher;
+        watchThread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                watch(service, directories);
+            }
+        }, "config-watcher");
+        watchThread.setDaemon(true);
+        watchThread.start();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (watcher != null) {
+            watcher.close();
+            watchThread.interrupt();
+            watcher = null;
+            watchThread = null;
+        }
+    }
+
+    private void watch(WatchService service, Map<WatchKey, String> directories) {
+        try {
+            while (true) {
+                WatchKey key = service.take();
+                Thread.sleep(DEBOUNCE_MS);
+                Set<String> changed = new LinkedHashSet<String>();
+                boolean overflow = false;
+                do {
+                    String directory = directories.get(key);
+                    for (WatchEvent<?> event : key.pollEvents()) {
+                        if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                            overflow = true;
+                        } else if (directory != null) {
+                            changed.add(directory + ((Path) event.context()).getFileName());
+                        }
+                    }
+                    key.reset();
+                } while ((key = service.poll()) != null);
+                if (overflow) {
+                    changed.addAll(entries.keySet());
+                }
+                for (String path : changed) {
+                    Entry<?> entry = entries.get(path);
+                    // File yang belum pernah diminta tetap lazy, tidak perlu diparse sekarang
+                    if (entry != null && entry.reload()) {
+                        generation.incrementAndGet();
+                        for (Listener listener : listeners) {
+                            listener.onReload(path);
+                        }
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            // close()
+        } catch (ClosedWatchServiceException e) {
+            // close()
+        }
+    }
+
+    private <T> T load(String path, Parser<T> parser) throws IOException {
+        File file = new File(root, path);
+        if (!file.isFile()) {
+            return parser.defaults();
+        }
+        InputStream in = new FileInputStream(file);
+        try {
+            XMLStreamReader xml;
+            synchronized (factory) {
+                xml = factory.createXMLStreamReader(in);
+            }
+            try {
+                while (xml.hasNext() && xml.next() != XMLStreamConstants.START_ELEMENT) {
+                    // lewati prolog dan komentar sampai elemen root
+                }
+                if (!xml.isStartElement()) {
+                    throw new IOException("Empty config: " + path);
+                }
+                return parser.parse(xml);
+            } finally {
+                xml.close();
+            }
+        } catch (XMLStreamException e) {
+            throw new IOException("Invalid config " + path + ": " + e.getMessage(), e);
+        } finally {
+            in.close();
+        }
+    }
+
+    /**
+     * Isi elemen anak langsung dari elemen root sebagai nama -&gt; teks, untuk file
+     * datar seperti settings.xml dan player.xml. Elemen bersarang dilewati.
+     */
+    static Map<String, String> readFields(XMLStreamReader xml) throws XMLStreamException {
+        Map<String, String> fields = new HashMap<String, String>();
+        while (xml.hasNext()) {
+            int event = xml.next();
+            if (event == XMLStreamConstants.END_ELEMENT) {
+                break;
+            }
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                String name = xml.getLocalName();
+                fields.put(name, readText(xml));
+            }
+        }
+        return fields;
+    }
+
+    /** Teks elemen saat ini sampai END_ELEMENT-nya; teks elemen anak ikut digabung. */
+    static String readText(XMLStreamReader xml) throws XMLStreamException {
+        StringBuilder text = new StringBuilder();
+        int depth = 1;
+        while (depth > 0 && xml.hasNext()) {
+            int event = xml.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                depth++;
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                depth--;
+            } else if (event == XMLStreamConstants.CHARACTERS || event == XMLStreamConstants.CDATA) {
+                text.append(xml.getText());
+            }
+        }
+        return text.toString().trim();
+    }
+
+    /** Angka dari teks config, atau fallback jika kosong/bukan angka. */
+    public static int parseInt(String value, int fallback) {
+        if (value == null) {
+            return fallback;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            return fallback;
+        }
+    }
+
+    static float parseFloat(String value, float fallback) {
+        if (value == null) {
+            return fallback;
+        }
+        try {
+            return Float.parseFloat(value.trim());
+        } catch (NumberFormatException e) {
+            return fallback;
+        }
+    }
+
+    // Satu file: nilai volatile yang ditukar utuh saat reload
+    private class Entry<T> {
+        private final String path;
+        private final Parser<T> parser;
+        private volatile T value;
+
+        Entry(String path, Parser<T> parser) {
+            this.path = path;
+            this.parser = parser;
+        }
+
+        T get() {
+            T current = value;
+            if (current != null) {
+                return current;
+            }
+            synchronized (this) {
+                if (value == null) {
+                    try {
+                        value = load(path, parser);
+                    } catch (IOException e) {
+                        System.err.println("Config " + path + " unreadable, using defaults: " + e.getMessage());
+                        value = parser.defaults();
+                    }
+                }
+                return value;
+            }
+        }
+
+        /** true jika nilai diganti; file rusak membiarkan nilai lama. */
+        synchronized boolean reload() {
+            if (value == null) {
+                return false;
+            }
+            try {
+                value = load(path, parser);
+                return true;
+            } catch (IOException e) {
+                System.err.println("Config " + path + " not reloaded: " + e.getMessage());
+                return false;
+            }
+        }
+    }
+}
@@ -0,0 +1,114 @@
+// GameClient.java - Client protokol socket GameServer
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.Socket;
+
+/**
+ * Satu koneksi TCP ke {@link GameServer} yang bisa membawa banyak sesi. Semua
+ * angka big-endian (DataOutput), string memakai writeUTF:
+ * <pre>
+ * client -&gt; server  JOIN     byte 1, int token
+ *                   INPUT    byte 2, int session, long stamp, UTF command
+ *                   LEAVE    byte 3, int session
+ * server -&gt; client  JOINED   byte 11, int token, int session
+ *                   SNAPSHOT byte 12, int session, long tick, byte mode, int score,
+ *                            int health, float playTime, long stamp
+ * </pre>
+ * command sama dengan input konsol GameEngine ("1", "p", "m", ...). stamp INPUT
+ * yang bukan 0 dikembalikan pada snapshot pertama setelah input diproses; snapshot
+ * periodik membawa stamp 0. Pesan keluar di-buffer sampai {@link #flush()}.
+ */
+public class GameClient implements Closeable {
+
+    /** Dipanggil dari thread pembaca client. */
+    public interface Listener {
+        void onJoined(int token, int sessionId);
+
+        void onSnapshot(int sessionId, long tick, GameLoop.Mode mode, int score, int health,
+                float playTime, long stamp);
+    }
+
+    private static final GameLoop.Mode[] MODES = GameLoop.Mode.values();
+
+    private final Socket socket;
+    private final DataOutputStream out;
+
+    public GameClient(int port, final Listener listener) throws IOException {
+        socket = new Socket(InetAddress.getLoopbackAddress(), port);
+        socket.setTcpNoDelay(true);
+        out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream(), 1 << 16));
+        final DataInputStream in = new DataInputStream(
+                new BufferedInputStream(socket.getInputStream(), 1 << 16));
+        Thread reader = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                read(in, listener);
+            }
+        }, "game-client-" + socket.getLocalPort());
+        reader.setDaemon(true);
+        reader.start();
+    }
+
+    public synchronized void join(int token) throws IOException {
+        out.writeByte(GameServer.MSG_JOIN);
+        out.writeInt(token);
+    }
+
+    public synchronized void input(int sessionId, long stamp, String command) throws IOException {
+        out.writeByte(GameServer.MSG_INPUT);
+        out.writeInt(sessionId);
+        out.writeLong(stamp);
+        out.writeUTF(command);
+    }
+
+    public synchronized void leave(int sessionId) throws IOException {
+        out.writeByte(GameServer.MSG_LEAVE);
+        out.writeInt(sessionId);
+    }
+
+    public synchronized void flush() throws IOException {
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        socket.close();
+    }
+
+    private void read(DataInputStream in, Listener listener) {
+        try {
+            while (true) {
+                int type = in.read();
+                if (type < 0) {
+                    return;
+                }
+                if (type == GameServer.MSG_JOINED) {
+                    int token = in.readInt();
+                    listener.onJoined(token, in.readInt());
+                } else if (type == GameServer.MSG_SNAPSHOT) {
+                    int sessionId = in.readInt();
+                    long tick = in.readLong();
+                    GameLoop.Mode mode = MODES[in.readUnsignedByte()];
+                    int score = in.readInt();
+                    int health = in.readInt();
+                    float playTime = in.readFloat();
+                    listener.onSnapshot(sessionId, tick, mode, score, health, playTime, in.readLong());
+                } else {
+                    throw new IOException("Unknown message type " + type);
+                }
+            }
+        } catch (EOFException e) {
+            // server menutup koneksi
+        } catch (IOException e) {
+            if (!socket.isClosed()) {
+                System.err.println("Game client disconnected: " + e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,441 @@
+// GameDownloader.java - Unduh paket game dari config.xml: paralel terbatas, resume, SHA-256, cache LRU
+package com.gimm;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+
+/**
+ * Paket disimpan di cacheDirectory dengan kunci versi config + path paket, jadi
+ * membuka game yang sama dua kali tidak mengunduh ulang, dan naik versi otomatis
+ * memakai entri baru. Entri lama tersingkir oleh LRU (waktu akses = lastModified
+ * file) saat total cache melewati batas.
+ *
+ * <p>Unduhan ditulis ke file .part; koneksi yang putus dilanjutkan dengan header
+ * Range (plus If-Range berisi ETag) dari byte terakhir. Checksum diambil dari
+ * atribut sha256 di config.xml atau file "&lt;paket&gt;.sha256" di server; paket
+ * tanpa checksum hanya dicek panjangnya. Jika &lt;cache-enabled&gt; false, paket
+ * selalu diunduh ulang.
+ */
+public class GameDownloader {
+
+    public static final int DEFAULT_PARALLELISM = 3;
+    private static final int MAX_ATTEMPTS = 4;
+    private static final long RETRY_DELAY_MS = 250;
+    private static final int CONNECT_TIMEOUT_MS = 10000;
+    private static final int READ_TIMEOUT_MS = 30000;
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final String PACKAGE_SUFFIX = ".pkg";
+    private static final String PART_SUFFIX = ".part";
+    private static final String ETAG_SUFFIX = ".etag";
+
+    private final GameRepository repository;
+    private final File cacheDirectory;
+    private final long maxCacheBytes;
+    private final ExecutorService executor;
+    // Permintaan paket yang sama selagi masih diunduh memakai Future yang sama
+    private final ConcurrentHashMap<String, Future<Result>> inFlight =
+            new ConcurrentHashMap<String, Future<Result>>();
+
+    public GameDownloader(GameRepository repository, File cacheDirectory, long maxCacheBytes, int parallelism) {
+        this.repository = repository;
+        this.cacheDirectory = cacheDirectory;
+        this.maxCacheBytes = maxCacheBytes;
+        this.executor = Executors.newFixedThreadPool(parallelism);
+    }
+
+    /** Ambil satu paket di background; selesai dengan file paket yang sudah terverifikasi. */
+    public Future<Result> fetch(final GameRepository.Game game) {
+        final String key = cacheKey(game);
+        FutureTask<Result> task = new FutureTask<Result>(new Callable<Result>() {
+            @Override
+            public Result call() throws IOException, InterruptedException {
+                try {
+                    return load(game, key);
+                } finally {
+                    inFlight.remove(key);
+                }
+            }
+        });
+        Future<Result> existing = inFlight.putIfAbsent(key, task);
+        if (existing != null) {
+            return existing;
+        }
+        executor.execute(task);
+        return task;
+    }
+
+    /** Ambil semua game di config.xml, paling banyak parallelism unduhan sekaligus. */
+    public List<Result> fetchAll() throws IOException, InterruptedException {
+        List<Future<Result>> futures = new ArrayList<Future<Result>>();
+        for (GameRepository.Game game : repository.getGames()) {
+            futures.add(fetch(game));
+        }
+        List<Result> results = new ArrayList<Result>();
+        for (Future<Result> future : futures) {
+            try {
+                results.add(future.get());
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof IOException) {
+                    throw (IOException) e.getCause();
+                }
+                throw new IOException(e.getCause());
+            }
+        }
+        return results;
+    }
+
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /** File paket di cache jika sudah ada, tanpa mengunduh; null jika belum. */
+    public File getCachedPackage(GameRepository.Game game) {
+        File file = new File(cacheDirectory, cacheKey(game) + PACKAGE_SUFFIX);
+        return repository.isCacheEnabled() && file.isFile() ? file : null;
+    }
+
+    private Result load(GameRepository.Game game, String key) throws IOException, InterruptedException {
+        File target = new File(cacheDirectory, key + PACKAGE_SUFFIX);
+        if (repository.isCacheEnabled() && target.isFile()) {
+            target.setLastModified(System.currentTimeMillis());
+            return new Result(game, target, true, 0, false);
+        }
+        if (!cacheDirectory.isDirectory() && !cacheDirectory.mkdirs()) {
+            throw new IOException("Cannot create " + cacheDirectory);
+        }
+
+        String url = repository.getPackageUrl(game);
+        String expected = game.getSha256().isEmpty() ? fetchChecksum(url + ".sha256") : game.getSha256();
+        File part = new File(cacheDirectory, key + PART_SUFFIX);
+        File etag = new File(cacheDirectory, key + ETAG_SUFFIX);
+        long transferred = 0;
+        boolean resumed = false;
+        IOException failure = null;
+        for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+            if (attempt > 0) {
+                Thread.sleep(RETRY_DELAY_MS << (attempt - 1));
+            }
+            Transfer transfer = new Transfer();
+            try {
+                download(url, part, etag, transfer);
+            } catch (IOException e) {
+                // Byte yang sudah masuk .part tetap dipakai pada percobaan berikutnya
+                failure = e;
+                continue;
+            } finally {
+                transferred += transfer.bytes;
+                resumed |= transfer.resumed;
+            }
+            String actual = sha256(part);
+            if (!expected.isEmpty() && !expected.equals(actual)) {
+                part.delete();
+                etag.delete();
+                failure = new IOException("Checksum mismatch for " + url + ": " + actual);
+                continue;
+            }
+            replace(part, target);
+            etag.delete();
+            evict(target);
+            return new Result(game, target, false, transferred, resumed);
+        }
+        throw failure;
+    }
+
+    private static void download(String url, File part, File etag, Transfer transfer) throws IOException {
+        long have = part.length();
+        HttpURLConnection connection = open(url);
+        try {
+            String validator = have > 0 && etag.isFile() ? readText(etag) : "";
+            if (have > 0) {
+                connection.setRequestProperty("Range", "bytes=" + have + "-");
+                if (!validator.isEmpty()) {
+                    connection.setRequestProperty("If-Range", validator);
+                }
+            }
+            int code = connection.getResponseCode();
+            long total;
+            if (code == HttpURLConnection.HTTP_PARTIAL) {
+                long[] range = parseContentRange(connection.getHeaderField("Content-Range"));
+                if (range[0] != have) {
+                    throw new IOException("Unexpected Content-Range from " + url);
+                }
+                total = range[1];
+                transfer.resumed = true;
+            } else if (code == HttpURLConnection.HTTP_OK) {
+                // Server mengabaikan Range atau isi sudah berubah (If-Range gagal): mulai dari nol
+                have = 0;
+                total = connection.getContentLengthLong();
+                String tag = connection.getHeaderField("ETag");
+                writeText(etag, tag == null ? "" : tag);
+            } else if (code == 416) {
+                // .part tidak cocok lagi dengan isi server
+                part.delete();
+                throw new IOException("Range not satisfiable for " + url);
+            } else {
+                throw new IOException("HTTP " + code + " for " + url);
+            }
+
+            InputStream in = connection.getInputStream();
+            FileOutputStream out = new FileOutputStream(part, have > 0);
+            try {
+                byte[] buffer = new byte[BUFFER_SIZE];
+                int n;
+                while ((n = in.read(buffer)) > 0) {
+                    out.write(buffer, 0, n);
+                    transfer.bytes += n;
+                    have += n;
+                }
+                out.getFD().sync();
+            } finally {
+                out.close();
+                in.close();
+            }
+            if (total >= 0 && have != total) {
+                throw new IOException("Short transfer for " + url + ": " + have + " of " + total);
+            }
+        } finally {
+            connection.disconnect();
+        }
+    }
+
+    // "" jika server tidak punya file checksum
+    private static String fetchChecksum(String url) throws IOException {
+        HttpURLConnection connection = open(url);
+        try {
+            if (connection.getResponseCode() != HttpURLConnection.HTTP_OK) {
+                return "";
+            }
+            InputStream in = connection.getInputStream();
+            try {
+                // Format sha256sum: "<hex>  <nama file>"
+                String text = new String(readAll(in), StandardCharsets.US_ASCII).trim();
+                int space = text.indexOf(' ');
+                return (space < 0 ? text : text.substring(0, space)).toLowerCase(Locale.US);
+            } finally {
+                in.close();
+            }
+        } catch (FileNotFoundException e) {
+            return "";
+        } finally {
+            connection.disconnect();
+        }
+    }
+
+    private static HttpURLConnection open(String url) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) new URL(url).openConnection();
+        connection.setConnectTimeout(CONNECT_TIMEOUT_MS);
+        connection.setReadTimeout(READ_TIMEOUT_MS);
+        // Byte mentah, supaya Range dan panjang sesuai file di server
+        connection.setRequestProperty("Accept-Encoding", "identity");
+        return connection;
+    }
+
+    // "bytes 100-199/200" -> {100, 200}; total -1 jika "*"
+    static long[] parseContentRange(String header) throws IOException {
+        if (header == null || !header.startsWith("bytes ")) {
+            throw new IOException("Missing Content-Range");
+        }
+        int dash = header.indexOf('-');
+        int slash = header.indexOf('/');
+        if (dash < 0 || slash < dash) {
+            throw new IOException("Invalid Content-Range: " + header);
+        }
+        try {
+            long start = Long.parseLong(header.substring(6, dash).trim());
+            String total = header.substring(slash + 1).trim();
+            return new long[] {start, total.equals("*") ? -1 : Long.parseLong(total)};
+        } catch (NumberFormatException e) {
+            throw new IOException("Invalid Content-Range: " + header);
+        }
+    }
+
+    /** Hapus paket yang paling lama tidak dipakai sampai cache muat lagi. */
+    synchronized void evict(File keep) {
+        File[] files = cacheDirectory.listFiles();
+        if (files == null) {
+            return;
+        }
+        List<File> packages = new ArrayList<File>();
+        long total = 0;
+        for (File file : files) {
+            if (file.getName().endsWith(PACKAGE_SUFFIX)) {
+                packages.add(file);
+                total += file.length();
+            }
+        }
+        File[] sorted = packages.toArray(new File[0]);
+        Arrays.sort(sorted, new Comparator<File>() {
+            @Override
+            public int compare(File a, File b) {
+                return Long.compare(a.lastModified(), b.lastModified());
+            }
+        });
+        for (int i = 0; i < sorted.length && total > maxCacheBytes; i++) {
+            if (sorted[i].equals(keep)) {
+                continue;
+            }
+            long length = sorted[i].length();
+            if (sorted[i].delete()) {
+                total -= length;
+            }
+        }
+    }
+
+    // Nama file aman untuk versi + path: prefix hash supaya unik, akhiran supaya terbaca
+    private String cacheKey(GameRepository.Game game) {
+        String key = repository.getVersion() + "/" + game.getPackagePath();
+        StringBuilder name = new StringBuilder(hex(digest(key.getBytes(StandardCharsets.UTF_8))).substring(0, 16));
+        name.append('-');
+        String readable = game.getPackagePath();
+        for (int i = 0; i < readable.length() && name.length() < 64; i++) {
+            char c = readable.charAt(i);
+            name.append(Character.isLetterOrDigit(c) || c == '.' || c == '-' ? c : '_');
+        }
+        return name.toString();
+    }
+
+    /** SHA-256 isi file dalam hex huruf kecil. */
+    public static String sha256(File file) throws IOException {
+        MessageDigest digest = newDigest();
+        InputStream in = new FileInputStream(file);
+        try {
+            byte[] buffer = new byte[BUFFER_SIZE];
+            int n;
+            while ((n = in.read(buffer)) > 0) {
+                digest.update(buffer, 0, n);
+            }
+        } finally {
+            in.close();
+        }
+        return hex(digest.digest());
+    }
+
+    private static byte[] digest(byte[] bytes) {
+        return newDigest().digest(bytes);
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String hex(byte[] bytes) {
+        StringBuilder out = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            out.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return out.toString();
+    }
+
+    private static void replace(File from, File to) throws IOException {
+        if (!from.renameTo(to)) {
+            to.delete();
+            if (!from.renameTo(to)) {
+                throw new IOException("Cannot replace " + to);
+            }
+        }
+    }
+
+    private static byte[] readAll(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[4096];
+        int n;
+        while ((n = in.read(buffer)) > 0) {
+            out.write(buffer, 0, n);
+        }
+        return out.toByteArray();
+    }
+
+    private static String readText(File file) throws IOException {
+        InputStream in = new FileInputStream(file);
+        try {
+            return new String(readAll(in), StandardCharsets.UTF_8);
+        } finally {
+            in.close();
+        }
+    }
+
+    private static void writeText(File file, String text) throws IOException {
+        FileOutputStream out = new FileOutputStream(file);
+        try {
+            out.write(text.getBytes(StandardCharsets.UTF_8));
+        } finally {
+            out.close();
+        }
+    }
+
+    // Dicatat walau percobaan gagal, supaya Result menghitung semua byte yang masuk
+    private static class Transfer {
+        long bytes;
+        boolean resumed;
+    }
+
+    public static class Result {
+        private final GameRepository.Game game;
+        private final File file;
+        private final boolean cacheHit;
+        private final long bytesTransferred;
+        private final boolean resumed;
+
+        Result(GameRepository.Game game, File file, boolean cacheHit, long bytesTransferred, boolean resumed) {
+            this.game = game;
+            this.file = file;
+            this.cacheHit = cacheHit;
+            this.bytesTransferred = bytesTransferred;
+            this.resumed = resumed;
+        }
+
+        public GameRepository.Game getGame() {
+            return game;
+        }
+
+        /** Paket di cache; bisa dihapus LRU setelah unduhan lain, jadi pakai segera. */
+        public File getFile() {
+            return file;
+        }
+
+        public boolean isCacheHit() {
+            return cacheHit;
+        }
+
+        public long getBytesTransferred() {
+            return bytesTransferred;
+        }
+
+        /** Setidaknya satu bagian diambil lewat Range dari .part sebelumnya. */
+        public boolean isResumed() {
+            return resumed;
+        }
+
+        @Override
+        public String toString() {
+            return game.getName() + (cacheHit ? " (cache)" : " (" + bytesTransferred + " bytes"
+                    + (resumed ? ", resumed)" : ")")) + " -> " + file;
+        }
+    }
+}
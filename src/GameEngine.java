@@ -1,24 +1,179 @@
-public class GameEngine {
+import com.gimm.CharacterConfig;
+import com.gimm.ConfigStore;
+import com.gimm.GameSettings;
+import com.gimm.LayoutConfig;
+import java.io.PrintStream;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Dijalankan oleh {@link GameLoop}: menu memakai mode IDLE (frame rate rendah),
+ * permainan RUNNING, dan pause PAUSED. Input dari thread lain masuk lewat
+ * {@link #post(String)} dan diproses di awal update berikutnya. Tanpa PrintStream
+ * engine berjalan headless, mis. sebagai salah satu sesi di {@link GameServer}.
+ */
+public class GameEngine implements GameLoop.Game {
+    private static final int STATE_MENU = 0;
+    private static final int STATE_PLAYING = 1;
+    private static final int STATE_PAUSED = 2;
+
+    private final ConfigStore config;
+    private final PrintStream out;
+    private final ConcurrentLinkedQueue<String> commands = new ConcurrentLinkedQueue<String>();
+    private volatile int state = STATE_MENU;
+    private GameLoop loop;
     private int score = 0;
-    private int health = 100;
+    private int health = CharacterConfig.DEFAULT_HEALTH;
+    private double playTime;
+    // Generation ConfigStore saat menu terakhir ditampilkan; -1 = perlu digambar ulang
+    private int menuGeneration = -1;
+
+    public GameEngine(ConfigStore config) {
+        this(config, System.out);
+    }
+
+    /** out null: tidak ada output konsol. */
+    public GameEngine(ConfigStore config, PrintStream out) {
+        this.config = config;
+        this.out = out;
+    }
+
+    /**
+     * Loop untuk engine ini dengan rate dari settings.xml (&lt;tick-rate&gt;,
+     * &lt;frame-rate&gt;, &lt;idle-rate&gt;); nilai yang tidak ada memakai default GameLoop.
+     * Pilihan "exit" di menu menghentikan loop ini.
+     */
+    public GameLoop createLoop() {
+        GameSettings settings = config.getSettings();
+        loop = new GameLoop(this,
+                rate(settings, "tick-rate", GameLoop.DEFAULT_RATE),
+                rate(settings, "frame-rate", GameLoop.DEFAULT_RATE),
+                rate(settings, "idle-rate", GameLoop.DEFAULT_IDLE_RATE),
+                GameLoop.DEFAULT_PAUSED_RATE);
+        return loop;
+    }
+
+    private static int rate(GameSettings settings, String name, int fallback) {
+        int value = ConfigStore.parseInt(settings.get(name), fallback);
+        return value > 0 ? value : fallback;
+    }
+
+    /** Boleh dipanggil dari thread mana pun. */
+    public void post(String command) {
+        commands.add(command.trim());
+        GameLoop current = loop;
+        if (current != null) {
+            // Di menu loop tidur sampai 100 ms; input diproses tanpa menunggu frame berikutnya
+            current.wakeUp();
+        }
+    }
+
+    /** true jika ada input yang belum diproses update. */
+    public boolean hasPendingInput() {
+        return !commands.isEmpty();
+    }
+
+    public int getScore() {
+        return score;
+    }
+
+    public int getHealth() {
+        return health;
+    }
+
+    /** Detik bermain sejak startGame, tidak termasuk waktu pause. */
+    public double getPlayTime() {
+        return playTime;
+    }
+
+    @Override
+    public GameLoop.Mode getMode() {
+        switch (state) {
+            case STATE_PLAYING: return GameLoop.Mode.RUNNING;
+            case STATE_PAUSED: return GameLoop.Mode.PAUSED;
+            default: return GameLoop.Mode.IDLE;
+        }
+    }
+
+    @Override
+    public void update(double dt) {
+        String command;
+        while ((command = commands.poll()) != null) {
+            handleCommand(command);
+        }
+        if (state == STATE_PLAYING) {
+            playTime += dt;
+            // Logika utama game di sini
+        }
+    }
+
+    @Override
+    public void render(double alpha) {
+        // Konsol hanya menggambar ulang menu saat layout berubah (hot-reload)
+        if (out != null && state == STATE_MENU && menuGeneration != config.getGeneration()) {
+            menuGeneration = config.getGeneration();
+            showMainMenu();
+        }
+    }
+
+    private void handleCommand(String command) {
+        if (state == STATE_MENU) {
+            String action = command;
+            List<LayoutConfig.Widget> buttons = config.getLayout("main_menu").getWidgets("button");
+            int number = ConfigStore.parseInt(command, 0);
+            if (number >= 1 && number <= buttons.size()) {
+                action = buttons.get(number - 1).getId();
+            }
+            if (action.equals("start")) {
+                startGame();
+            } else if (action.equals("settings")) {
+                showSettings();
+                menuGeneration = -1;
+            } else if (action.equals("exit") && loop != null) {
+                loop.stop();
+            }
+        } else if (command.equals("p")) {
+            state = state == STATE_PAUSED ? STATE_PLAYING : STATE_PAUSED;
+            println(state == STATE_PAUSED ? "Paused" : "Resumed");
+        } else if (command.equals("m")) {
+            if (out != null) {
+                out.printf("Score: %d, time: %.1fs%n", score, playTime);
+            }
+            state = STATE_MENU;
+            menuGeneration = -1;
+        }
+    }
 
     public void showMainMenu() {
-        System.out.println("=== Akay Game ===");
-        System.out.println("1. Start Game");
-        System.out.println("2. Settings");
-        System.out.println("3. Exit");
-        // Logic untuk menerima input user dan mengatur aksi selanjutnya
+        // Teks menu dari layouts/main_menu.xml; ikut berubah saat file diedit
+        LayoutConfig menu = config.getLayout("main_menu");
+        println("=== " + menu.getTitle("Akay Game") + " ===");
+        int number = 1;
+        for (LayoutConfig.Widget button : menu.getWidgets("button")) {
+            println(number++ + ". " + button.getText());
+        }
     }
 
     public void startGame() {
-        System.out.println("Game Started!");
+        println("Game Started! (p = pause, m = menu)");
         score = 0;
-        health = 100;
-        // Logika utama game di sini
+        health = config.getPlayer().getHealth();
+        playTime = 0;
+        state = STATE_PLAYING;
     }
 
     public void showSettings() {
-        System.out.println("Settings menu");
-        // Tampilkan dan ubah pengaturan dari config/settings.xml
+        println("Settings menu");
+        // Pengaturan dari config/settings.xml, di-reload otomatis oleh ConfigStore
+        GameSettings settings = config.getSettings();
+        println("Difficulty: " + settings.getDifficulty());
+        println("Sound: " + (settings.isSoundEnabled() ? "on" : "off"));
+        println("Language: " + settings.getLanguage());
+    }
+
+    private void println(String line) {
+        if (out != null) {
+            out.println(line);
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,227 @@
+// GameLoop.java - Loop fixed-update / variable-render dengan frame pacing
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Update berjalan dengan langkah tetap 1/updateRate lewat accumulator, render
+ * sekali per frame dengan alpha untuk interpolasi. Di antara frame loop menunggu
+ * deadline berikutnya: sebagian besar dengan park (tidak memakai CPU), lalu spin
+ * untuk sisa terakhir karena presisi sleep OS tidak cukup untuk pacing 60 Hz yang
+ * rata. Panjang spin menyesuaikan diri dari keterlambatan park yang terukur.
+ *
+ * Mode dibaca dari game setiap frame. IDLE (menu) dan PAUSED menurunkan frekuensi
+ * frame dan tidak pernah spin, jadi loop hampir tidak memakai CPU selama pemain
+ * diam di menu. {@link #wakeUp()} membangunkan loop yang sedang tidur, mis.
+ * setelah ada input.
+ */
+public class GameLoop implements Runnable {
+
+    public enum Mode {
+        /** Update tetap dan render pada frame rate target. */
+        RUNNING,
+        /** Menu: satu update per frame dengan dt sebenarnya, pada idle rate. */
+        IDLE,
+        /** Update dengan dt 0 (hanya input) dan render pada paused rate. */
+        PAUSED
+    }
+
+    /** Dipanggil dari thread loop. */
+    public interface Game {
+        /** Dibaca sekali di awal setiap frame. */
+        Mode getMode();
+
+        /** Satu langkah logika selama dt detik. */
+        void update(double dt);
+
+        /** alpha: sisa accumulator dalam [0, 1) untuk interpolasi; 0 di luar RUNNING. */
+        void render(double alpha);
+    }
+
+    public static final int DEFAULT_RATE = 60;
+    public static final int DEFAULT_IDLE_RATE = 10;
+    public static final int DEFAULT_PAUSED_RATE = 2;
+    // Batas frame time supaya tidak terjadi "spiral of death" setelah freeze
+    private static final long MAX_FRAME_NANOS = 250000000L;
+    // Rentang sisa waktu yang di-spin; park di bawah ini tidak bisa dipercaya
+    private static final long MIN_SPIN_NANOS = 50000L;
+    private static final long MAX_SPIN_NANOS = 3000000L;
+
+    private final Game game;
+    private final long stepNanos;
+    private final double stepSeconds;
+    private final long framePeriod;
+    private final long idlePeriod;
+    private final long pausedPeriod;
+
+    private volatile boolean stopRequested;
+    private volatile boolean spinEnabled = true;
+    private volatile boolean wakeRequested;
+    private volatile Thread thread;
+
+    // Rata-rata bergerak keterlambatan park, dalam nanodetik
+    private long parkOvershoot = MIN_SPIN_NANOS;
+    private volatile long frames;
+    private volatile long updates;
+    private volatile long lateFrames;
+
+    public GameLoop(Game game) {
+        this(game, DEFAULT_RATE, DEFAULT_RATE, DEFAULT_IDLE_RATE, DEFAULT_PAUSED_RATE);
+    }
+
+    /**
+     * @param updateRate langkah update tetap per detik di mode RUNNING
+     * @param frameRate target frame per detik di mode RUNNING
+     */
+    public GameLoop(Game game, int updateRate, int frameRate, int idleRate, int pausedRate) {
+        if (updateRate <= 0 || frameRate <= 0 || idleRate <= 0 || pausedRate <= 0) {
+            throw new IllegalArgumentException("Rates must be positive: update=" + updateRate
+                    + " frame=" + frameRate + " idle=" + idleRate + " paused=" + pausedRate);
+        }
+        this.game = game;
+        this.stepNanos = 1000000000L / updateRate;
+        this.stepSeconds = stepNanos / 1e9;
+        this.framePeriod = 1000000000L / frameRate;
+        this.idlePeriod = 1000000000L / idleRate;
+        this.pausedPeriod = 1000000000L / pausedRate;
+    }
+
+    /**
+     * Spin sebelum deadline memberi pacing paling rata untuk satu loop render, tetapi
+     * membuang CPU jika banyak loop berbagi core (mis. shard {@link GameServer}).
+     */
+    public void setSpinEnabled(boolean spinEnabled) {
+        this.spinEnabled = spinEnabled;
+    }
+
+    /**
+     * Memotong tunggu frame saat ini, mis. supaya input di menu diproses tanpa jeda.
+     * Boleh dipanggil dari thread mana pun.
+     */
+    public void wakeUp() {
+        wakeRequested = true;
+        Thread current = thread;
+        if (current != null) {
+            LockSupport.unpark(current);
+        }
+    }
+
+    /** Menghentikan loop setelah frame yang sedang berjalan. */
+    public void stop() {
+        stopRequested = true;
+        wakeUp();
+    }
+
+    public boolean isRunning() {
+        return thread != null;
+    }
+
+    /** Menjalankan loop di thread daemon baru. */
+    public Thread start(String name) {
+        Thread loopThread = new Thread(this, name);
+        loopThread.setDaemon(true);
+        loopThread.start();
+        return loopThread;
+    }
+
+    @Override
+    public void run() {
+        thread = Thread.currentThread();
+        long previous = System.nanoTime();
+        long deadline = previous;
+        long accumulator = 0;
+        Mode lastMode = game.getMode();
+        try {
+            while (!stopRequested) {
+                Mode current = game.getMode();
+                long now = System.nanoTime();
+                long elapsed = Math.min(now - previous, MAX_FRAME_NANOS);
+                previous = now;
+                if (current != lastMode) {
+                    // Waktu tidur di menu tidak boleh menjadi tumpukan update saat game mulai
+                    elapsed = 0;
+                    accumulator = 0;
+                    deadline = now;
+                    lastMode = current;
+                }
+
+                if (current == Mode.RUNNING) {
+                    accumulator += elapsed;
+                    while (accumulator >= stepNanos) {
+                        game.update(stepSeconds);
+                        accumulator -= stepNanos;
+                        updates++;
+                    }
+                    game.render((double) accumulator / stepNanos);
+                } else {
+                    game.update(current == Mode.IDLE ? elapsed / 1e9 : 0);
+                    updates++;
+                    game.render(0);
+                }
+                frames++;
+                if (game.getMode() != current) {
+                    // Mode berubah di frame ini (mis. game dimulai dari menu): jangan tunggu
+                    continue;
+                }
+
+                long period = current == Mode.RUNNING ? framePeriod
+                        : current == Mode.IDLE ? idlePeriod : pausedPeriod;
+                deadline += period;
+                now = System.nanoTime();
+                if (now - deadline > period) {
+                    // Tertinggal lebih dari satu frame: jadwal ulang, jangan kejar dengan burst
+                    deadline = now;
+                    lateFrames++;
+                }
+                if (waitUntil(deadline, spinEnabled && current == Mode.RUNNING)) {
+                    deadline = System.nanoTime();
+                }
+            }
+        } finally {
+            thread = null;
+        }
+    }
+
+    // true jika dibangunkan oleh wakeUp() sebelum deadline
+    private boolean waitUntil(long deadline, boolean spin) {
+        while (true) {
+            if (wakeRequested) {
+                wakeRequested = false;
+                return true;
+            }
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                return false;
+            }
+            long spinNanos = spin
+                    ? Math.min(MAX_SPIN_NANOS, Math.max(MIN_SPIN_NANOS, parkOvershoot * 2)) : 0;
+            if (remaining > spinNanos) {
+                long sleep = remaining - spinNanos;
+                long before = System.nanoTime();
+                LockSupport.parkNanos(this, sleep);
+                long overshoot = System.nanoTime() - before - sleep;
+                if (overshoot > 0) {
+                    parkOvershoot += (overshoot - parkOvershoot) / 8;
+                }
+            } else {
+                Thread.onSpinWait();
+            }
+        }
+    }
+
+    public long getFrames() {
+        return frames;
+    }
+
+    public long getUpdates() {
+        return updates;
+    }
+
+    /** Frame yang tertinggal lebih dari satu periode sehingga jadwalnya di-reset. */
+    public long getLateFrames() {
+        return lateFrames;
+    }
+
+    /** Perkiraan keterlambatan park saat ini; menentukan panjang spin sebelum deadline. */
+    public long getParkOvershootNanos() {
+        return parkOvershoot;
+    }
+}
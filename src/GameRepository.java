@@ -0,0 +1,194 @@
+// GameRepository.java - Isi config.xml: repository, daftar <games> dan <settings>
+package com.gimm;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+/**
+ * Dibaca sekali dengan StAX dan tidak berubah setelahnya. Paket game ada di
+ * base-url + path; path yang diakhiri "/" menunjuk folder berisi
+ * {@link #PACKAGE_FILE}. Atribut opsional sha256 pada &lt;game&gt; dipakai
+ * {@link GameDownloader} untuk verifikasi.
+ */
+public class GameRepository {
+
+    public static final String PACKAGE_FILE = "package.zip";
+
+    private final String baseUrl;
+    private final String version;
+    private final boolean cacheEnabled;
+    private final List<Game> games;
+
+    public GameRepository(String baseUrl, String version, boolean cacheEnabled, List<Game> games) {
+        this.baseUrl = baseUrl.isEmpty() || baseUrl.endsWith("/") ? baseUrl : baseUrl + "/";
+        this.version = version;
+        this.cacheEnabled = cacheEnabled;
+        this.games = Collections.unmodifiableList(new ArrayList<Game>(games));
+    }
+
+    public static GameRepository load(File file) throws IOException {
+        InputStream in = new FileInputStream(file);
+        try {
+            return read(in);
+        } catch (XMLStreamException e) {
+            throw new IOException("Invalid config: " + file, e);
+        } finally {
+            in.close();
+        }
+    }
+
+    static GameRepository read(InputStream in) throws XMLStreamException {
+        String baseUrl = "";
+        String version = "";
+        boolean cacheEnabled = true;
+        List<Game> games = new ArrayList<Game>();
+        XMLStreamReader xml = XMLInputFactory.newInstance().createXMLStreamReader(in);
+        try {
+            while (xml.hasNext()) {
+                if (xml.next() != XMLStreamConstants.START_ELEMENT) {
+                    continue;
+                }
+                String name = xml.getLocalName();
+                if (name.equals("game")) {
+                    games.add(new Game(attribute(xml, "name"), attribute(xml, "type"),
+                            attribute(xml, "path"), attribute(xml, "size"), attribute(xml, "sha256")));
+                } else if (name.equals("base-url")) {
+                    baseUrl = xml.getElementText().trim();
+                } else if (name.equals("version")) {
+                    version = xml.getElementText().trim();
+                } else if (name.equals("cache-enabled")) {
+                    cacheEnabled = !xml.getElementText().trim().equalsIgnoreCase("false");
+                }
+            }
+        } finally {
+            xml.close();
+        }
+        return new GameRepository(baseUrl, version, cacheEnabled, games);
+    }
+
+    private static String attribute(XMLStreamReader xml, String name) {
+        String value = xml.getAttributeValue(null, name);
+        return value == null ? "" : value.trim();
+    }
+
+    /** &lt;base-url&gt;, selalu diakhiri "/" (atau kosong). */
+    public String getBaseUrl() {
+        return baseUrl;
+    }
+
+    /** &lt;settings&gt;&lt;version&gt;; paket di-cache per versi ini. */
+    public String getVersion() {
+        return version;
+    }
+
+    /** &lt;cache-enabled&gt;; default true jika tidak ada. */
+    public boolean isCacheEnabled() {
+        return cacheEnabled;
+    }
+
+    public List<Game> getGames() {
+        return games;
+    }
+
+    public Game findGame(String name) {
+        for (Game game : games) {
+            if (game.getName().equals(name)) {
+                return game;
+            }
+        }
+        return null;
+    }
+
+    public String getPackageUrl(Game game) {
+        return baseUrl + game.getPackagePath();
+    }
+
+    /** "2.5MB" -> 2621440; -1 jika format tidak dikenal. */
+    static long parseSize(String size) {
+        String text = size.trim().toUpperCase(Locale.US);
+        long unit = 1;
+        if (text.endsWith("GB")) {
+            unit = 1L << 30;
+        } else if (text.endsWith("MB")) {
+            unit = 1L << 20;
+        } else if (text.endsWith("KB")) {
+            unit = 1L << 10;
+        }
+        if (unit > 1) {
+            text = text.substring(0, text.length() - 2);
+        } else if (text.endsWith("B")) {
+            text = text.substring(0, text.length() - 1);
+        }
+        try {
+            return Math.round(Double.parseDouble(text.trim()) * unit);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /** Satu &lt;game name type path size [sha256]&gt;. */
+    public static class Game {
+        private final String name;
+        private final String type;
+        private final String path;
+        private final String size;
+        private final long sizeBytes;
+        private final String sha256;
+
+        public Game(String name, String type, String path, String size, String sha256) {
+            this.name = name;
+            this.type = type;
+            this.path = path;
+            this.size = size;
+            this.sizeBytes = parseSize(size);
+            this.sha256 = sha256.toLowerCase(Locale.US);
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getType() {
+            return type;
+        }
+
+        public String getPath() {
+            return path;
+        }
+
+        /** Ukuran seperti tertulis di config.xml, mis. "2.5MB". */
+        public String getSize() {
+            return size;
+        }
+
+        /** Perkiraan ukuran dalam byte, -1 jika tidak bisa dibaca. */
+        public long getSizeBytes() {
+            return sizeBytes;
+        }
+
+        /** SHA-256 hex dari config.xml, atau "" jika tidak ditulis. */
+        public String getSha256() {
+            return sha256;
+        }
+
+        /** Path file paket relatif terhadap base-url. */
+        public String getPackagePath() {
+            return path.isEmpty() || path.endsWith("/") ? path + PACKAGE_FILE : path;
+        }
+
+        @Override
+        public String toString() {
+            return name + " (" + type + ", " + size + ")";
+        }
+    }
+}
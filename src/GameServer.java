@@ -0,0 +1,418 @@
+// GameServer.java - Server headless: banyak sesi GameEngine pada tick scheduler bersama
+import com.gimm.ConfigStore;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Setiap sesi adalah GameEngine headless biasa dengan score dan health-nya
+ * sendiri. Sesi tidak punya thread: sesi dibagi ke beberapa shard (default satu
+ * per core) dan setiap shard adalah satu {@link GameLoop} yang meng-update semua
+ * sesinya per tick. Sesi di menu atau pause hanya di-update setiap
+ * {@link #IDLE_INTERVAL} tick kecuali ada input baru, sama seperti downshift
+ * GameLoop pada mode IDLE/PAUSED.
+ *
+ * Client terhubung lewat TCP di loopback dan boleh membawa banyak sesi dalam satu
+ * koneksi; format pesan ada di {@link GameClient}. Snapshot dikirim setelah input
+ * diproses dan setiap {@link #SNAPSHOT_INTERVAL} tick selama sesi bermain.
+ */
+public class GameServer implements Closeable {
+    // Pesan client -> server
+    static final int MSG_JOIN = 1;
+    static final int MSG_INPUT = 2;
+    static final int MSG_LEAVE = 3;
+    // Pesan server -> client
+    static final int MSG_JOINED = 11;
+    static final int MSG_SNAPSHOT = 12;
+
+    public static final int DEFAULT_TICK_RATE = GameLoop.DEFAULT_RATE;
+    // Pada 60 tick/detik: sesi idle di-update dan sesi bermain dikirim 10x per detik
+    public static final int IDLE_INTERVAL = 6;
+    public static final int SNAPSHOT_INTERVAL = 6;
+
+    /** Dipanggil dari thread shard setelah setiap tick. */
+    public interface TickObserver {
+        void onTick(int shard, int sessions, long nanos);
+    }
+
+    private final ConfigStore config;
+    private final ServerSocket serverSocket;
+    private final Shard[] shards;
+    private final ConcurrentHashMap<Integer, Session> sessions = new ConcurrentHashMap<Integer, Session>();
+    private final CopyOnWriteArrayList<Connection> connections = new CopyOnWriteArrayList<Connection>();
+    private final AtomicInteger nextSessionId = new AtomicInteger(1);
+    private volatile TickObserver tickObserver;
+    private volatile boolean closed;
+
+    /**
+     * @param port 0 untuk port bebas, lihat {@link #getPort()}
+     * @param shardCount jumlah thread tick, 1..64
+     */
+    public GameServer(ConfigStore config, int port, int shardCount, int tickRate) throws IOException {
+        if (shardCount < 1 || shardCount > 64 || tickRate < 1) {
+            throw new IllegalArgumentException("shards=" + shardCount + " tickRate=" + tickRate);
+        }
+        this.config = config;
+        this.serverSocket = new ServerSocket(port, 256, InetAddress.getLoopbackAddress());
+        this.shards = new Shard[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            shards[i] = new Shard(i, tickRate);
+        }
+    }
+
+    public void start() {
+        for (Shard shard : shards) {
+            shard.loop.start("game-shard-" + shard.index);
+        }
+        Thread acceptThread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                acceptLoop();
+            }
+        }, "game-accept");
+        acceptThread.setDaemon(true);
+        acceptThread.start();
+    }
+
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    public void setTickObserver(TickObserver observer) {
+        this.tickObserver = observer;
+    }
+
+    public int getSessionCount() {
+        return sessions.size();
+    }
+
+    /** Jumlah GameEngine.update() di semua shard sejak start. */
+    public long getSessionUpdates() {
+        long total = 0;
+        for (Shard shard : shards) {
+            total += shard.sessionUpdates;
+        }
+        return total;
+    }
+
+    /** Tick yang tertinggal lebih dari satu periode, dijumlah dari semua shard. */
+    public long getLateTicks() {
+        long total = 0;
+        for (Shard shard : shards) {
+            total += shard.loop.getLateFrames();
+        }
+        return total;
+    }
+
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        serverSocket.close();
+        for (Shard shard : shards) {
+            shard.loop.stop();
+        }
+        for (Connection connection : connections) {
+            connection.close();
+        }
+    }
+
+    private void acceptLoop() {
+        int count = 0;
+        while (!closed) {
+            try {
+                Socket socket = serverSocket.accept();
+                socket.setTcpNoDelay(true);
+                Connection connection = new Connection(socket);
+                connections.add(connection);
+                Thread thread = new Thread(connection, "game-connection-" + count++);
+                thread.setDaemon(true);
+                thread.start();
+            } catch (IOException e) {
+                if (!closed) {
+                    System.err.println("Accept failed: " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    private Shard shardOf(int sessionId) {
+        return shards[sessionId % shards.length];
+    }
+
+    // Satu sesi pemain; field tanpa volatile hanya disentuh thread shard-nya
+    private static final class Session {
+        final int id;
+        final GameEngine engine;
+        final Connection connection;
+        // Stamp input terakhir yang belum dibalas snapshot, 0 jika tidak ada
+        final AtomicLong inputStamp = new AtomicLong();
+        int slot = -1;
+        int ticksSinceUpdate;
+        // Diset sebelum sesi masuk antrian removed; JOIN yang belum diproses shard lalu dilewati
+        volatile boolean left;
+
+        Session(int id, GameEngine engine, Connection connection) {
+            this.id = id;
+            this.engine = engine;
+            this.connection = connection;
+        }
+    }
+
+    private final class Shard implements GameLoop.Game {
+        final int index;
+        final GameLoop loop;
+        private final ArrayList<Session> active = new ArrayList<Session>();
+        private final ConcurrentLinkedQueue<Session> added = new ConcurrentLinkedQueue<Session>();
+        private final ConcurrentLinkedQueue<Session> removed = new ConcurrentLinkedQueue<Session>();
+        private long tick;
+        volatile long sessionUpdates;
+
+        Shard(int index, int tickRate) {
+            this.index = index;
+            this.loop = new GameLoop(this, tickRate, tickRate, 1, 1);
+            // Banyak shard berbagi core; spin hanya mencuri CPU dari shard lain
+            loop.setSpinEnabled(false);
+        }
+
+        @Override
+        public GameLoop.Mode getMode() {
+            return GameLoop.Mode.RUNNING;
+        }
+
+        @Override
+        public void update(double dt) {
+            long start = System.nanoTime();
+            Session session;
+            while ((session = added.poll()) != null) {
+                if (session.left) {
+                    // LEAVE/putus koneksi datang sebelum shard sempat menambah sesi ini
+                    continue;
+                }
+                session.slot = active.size();
+                active.add(session);
+            }
+            while ((session = removed.poll()) != null) {
+                if (session.slot >= 0) {
+                    // Swap-remove: slot sesi terakhir dipindah ke slot yang kosong
+                    Session last = active.remove(active.size() - 1);
+                    if (last != session) {
+                        active.set(session.slot, last);
+                        last.slot = session.slot;
+                    }
+                    session.slot = -1;
+                }
+            }
+
+            tick++;
+            long updates = 0;
+            for (int i = 0, n = active.size(); i < n; i++) {
+                session = active.get(i);
+                GameEngine engine = session.engine;
+                session.ticksSinceUpdate++;
+                boolean playing = engine.getMode() == GameLoop.Mode.RUNNING;
+                if (playing || session.ticksSinceUpdate >= IDLE_INTERVAL || engine.hasPendingInput()) {
+                    engine.update(playing ? dt : dt * session.ticksSinceUpdate);
+                    session.ticksSinceUpdate = 0;
+                    updates++;
+                }
+
+                long stamp = session.inputStamp.get();
+                if (stamp != 0 && !engine.hasPendingInput() && session.inputStamp.compareAndSet(stamp, 0)) {
+                    session.connection.sendSnapshot(session, tick, stamp, index);
+                } else if (engine.getMode() == GameLoop.Mode.RUNNING
+                        && (tick + session.id) % SNAPSHOT_INTERVAL == 0) {
+                    session.connection.sendSnapshot(session, tick, 0, index);
+                }
+            }
+            sessionUpdates += updates;
+            for (Connection connection : connections) {
+                connection.flushFrom(index);
+            }
+
+            TickObserver observer = tickObserver;
+            if (observer != null) {
+                observer.onTick(index, active.size(), System.nanoTime() - start);
+            }
+        }
+
+        @Override
+        public void render(double alpha) {
+            // Headless: state dikirim sebagai snapshot di update
+        }
+    }
+
+    private final class Connection implements Runnable {
+        private final Socket socket;
+        private final DataInputStream in;
+        private final DataOutputStream out;
+        // Sesi milik koneksi ini; hanya disentuh thread pembaca
+        private final List<Session> owned = new ArrayList<Session>();
+        // Bit per shard yang sudah menulis ke buffer sejak flush terakhir
+        private final AtomicLong dirtyShards = new AtomicLong();
+
+        Connection(Socket socket) throws IOException {
+            this.socket = socket;
+            this.in = new DataInputStream(new BufferedInputStream(socket.getInputStream(), 1 << 16));
+            this.out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream(), 1 << 16));
+        }
+
+        @Override
+        public void run() {
+            try {
+                while (true) {
+                    int type = in.read();
+                    if (type < 0) {
+                        break;
+                    }
+                    switch (type) {
+                        case MSG_JOIN:
+                            join(in.readInt());
+                            break;
+                        case MSG_INPUT:
+                            input(in.readInt(), in.readLong(), in.readUTF());
+                            break;
+                        case MSG_LEAVE:
+                            leave(in.readInt());
+                            break;
+                        default:
+                            throw new IOException("Unknown message type " + type);
+                    }
+                }
+            } catch (EOFException e) {
+                // client menutup koneksi
+            } catch (IOException e) {
+                if (!closed) {
+                    System.err.println("Connection dropped: " + e.getMessage());
+                }
+            } finally {
+                close();
+                for (Session session : owned) {
+                    sessions.remove(session.id);
+                    session.left = true;
+                    shardOf(session.id).removed.add(session);
+                }
+                owned.clear();
+                connections.remove(this);
+            }
+        }
+
+        private void join(int token) throws IOException {
+            int id = nextSessionId.getAndIncrement();
+            Session session = new Session(id, new GameEngine(config, null), this);
+            owned.add(session);
+            sessions.put(id, session);
+            shardOf(id).added.add(session);
+            synchronized (out) {
+                out.writeByte(MSG_JOINED);
+                out.writeInt(token);
+                out.writeInt(id);
+                out.flush();
+            }
+        }
+
+        private void input(int sessionId, long stamp, String command) {
+            Session session = sessions.get(sessionId);
+            if (session == null || session.connection != this) {
+                return;
+            }
+            // Stamp dipasang sesudah post, jadi tidak pernah dibalas sebelum input diproses
+            session.engine.post(command);
+            if (stamp != 0) {
+                session.inputStamp.set(stamp);
+            }
+        }
+
+        private void leave(int sessionId) {
+            Session session = sessions.get(sessionId);
+            if (session != null && session.connection == this) {
+                sessions.remove(sessionId);
+                owned.remove(session);
+                session.left = true;
+                shardOf(sessionId).removed.add(session);
+            }
+        }
+
+        // Dari thread shard; flush dilakukan sekali per tick lewat flushFrom
+        void sendSnapshot(Session session, long tick, long stamp, int shard) {
+            GameEngine engine = session.engine;
+            try {
+                synchronized (out) {
+                    out.writeByte(MSG_SNAPSHOT);
+                    out.writeInt(session.id);
+                    out.writeLong(tick);
+                    out.writeByte(engine.getMode().ordinal());
+                    out.writeInt(engine.getScore());
+                    out.writeInt(engine.getHealth());
+                    out.writeFloat((float) engine.getPlayTime());
+                    out.writeLong(stamp);
+                }
+                long bit = 1L << shard;
+                long dirty;
+                do {
+                    dirty = dirtyShards.get();
+                } while ((dirty & bit) == 0 && !dirtyShards.compareAndSet(dirty, dirty | bit));
+            } catch (IOException e) {
+                close();
+            }
+        }
+
+        void flushFrom(int shard) {
+            long bit = 1L << shard;
+            long dirty = dirtyShards.get();
+            if ((dirty & bit) == 0) {
+                return;
+            }
+            // Bit ini hanya di-set dan di-clear oleh thread shard yang sama
+            dirtyShards.addAndGet(-bit);
+            try {
+                synchronized (out) {
+                    out.flush();
+                }
+            } catch (IOException e) {
+                close();
+            }
+        }
+
+        void close() {
+            try {
+                socket.close();
+            } catch (IOException e) {
+                // sudah tertutup
+            }
+        }
+    }
+
+    /** Argumen: [root config] [port] [shards]. Statistik dicetak setiap 5 detik. */
+    public static void main(String[] args) throws Exception {
+        ConfigStore config = new ConfigStore(new File(args.length > 0 ? args[0] : "."));
+        int port = args.length > 1 ? Integer.parseInt(args[1]) : 7777;
+        int shardCount = args.length > 2 ? Integer.parseInt(args[2])
+                : Runtime.getRuntime().availableProcessors();
+        GameServer server = new GameServer(config, port, shardCount, DEFAULT_TICK_RATE);
+        server.start();
+        System.out.println("Game server on 127.0.0.1:" + server.getPort() + ", " + shardCount + " shards");
+        long updates = server.getSessionUpdates();
+        while (true) {
+            Thread.sleep(5000);
+            long now = server.getSessionUpdates();
+            System.out.printf("sessions %d, %.0f session updates/s, late ticks %d%n",
+                    server.getSessionCount(), (now - updates) / 5.0, server.getLateTicks());
+            updates = now;
+        }
+    }
+}
@@ -0,0 +1,63 @@
+// GameSettings.java - Isi config/settings.xml
+package com.gimm;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+/** Immutable; nilai yang tidak ada di file memakai default. */
+public class GameSettings {
+
+    public static final String DEFAULT_DIFFICULTY = "normal";
+
+    static final ConfigStore.Parser<GameSettings> PARSER = new ConfigStore.Parser<GameSettings>() {
+        @Override
+        public GameSettings parse(XMLStreamReader xml) throws XMLStreamException {
+            return new GameSettings(ConfigStore.readFields(xml));
+        }
+
+        @Override
+        public GameSettings defaults() {
+            return new GameSettings(Collections.<String, String>emptyMap());
+        }
+    };
+
+    private final String difficulty;
+    private final boolean sound;
+    private final String language;
+    private final Map<String, String> values;
+
+    GameSettings(Map<String, String> values) {
+        String difficulty = values.get("difficulty");
+        this.difficulty = difficulty == null || difficulty.isEmpty() ? DEFAULT_DIFFICULTY : difficulty;
+        this.sound = !"false".equalsIgnoreCase(values.get("sound"));
+        String language = values.get("language");
+        this.language = language == null || language.isEmpty() ? "en" : language;
+        this.values = Collections.unmodifiableMap(new HashMap<String, String>(values));
+    }
+
+    /** Nama profil kesulitan, mis. "easy", "normal", "hard". */
+    public String getDifficulty() {
+        return difficulty;
+    }
+
+    public boolean isSoundEnabled() {
+        return sound;
+    }
+
+    public String getLanguage() {
+        return language;
+    }
+
+    /** Nilai mentah elemen lain di settings.xml, atau null. */
+    public String get(String name) {
+        return values.get(name);
+    }
+
+    @Override
+    public String toString() {
+        return "difficulty=" + difficulty + ", sound=" + sound + ", language=" + language;
+    }
+}
@@ -0,0 +1,561 @@
+// JsonTokenizer.java - Pull parser JSON level token; membaca byte langsung dari stream
+// tanpa membangun tree, dan mencatat offset byte setiap token (untuk lazy loading)
+package com.gimm;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+public class JsonTokenizer {
+
+    public static final int BEGIN_OBJECT = 1;
+    public static final int END_OBJECT = 2;
+    public static final int BEGIN_ARRAY = 3;
+    public static final int END_ARRAY = 4;
+    public static final int NAME = 5;
+    public static final int STRING = 6;
+    public static final int NUMBER = 7;
+    public static final int BOOLEAN = 8;
+    public static final int NULL = 9;
+    public static final int END_DOCUMENT = 10;
+
+    private static final int EMPTY_DOCUMENT = 0;
+    private static final int NONEMPTY_DOCUMENT = 1;
+    private static final int EMPTY_ARRAY = 2;
+    private static final int NONEMPTY_ARRAY = 3;
+    private static final int EMPTY_OBJECT = 4;
+    private static final int DANGLING_NAME = 5;
+    private static final int NONEMPTY_OBJECT = 6;
+
+    private final InputStream in;
+    private final byte[] buffer;
+    private int pos;
+    private int limit;
+    // Offset absolut dari buffer[0]
+    private long bufferOffset;
+
+    private int[] stack = new int[32];
+    private int depth;
+    private int peeked;
+    private long tokenOffset;
+
+    private final StringBuilder chars = new StringBuilder(64);
+    // Nama field sangat berulang; String-nya dipakai ulang supaya tidak dialokasi per objek
+    private final String[] names = new String[64];
+
+    public JsonTokenizer(InputStream in) {
+        this(in, 0, 64 * 1024);
+    }
+
+    /** baseOffset = offset byte pertama stream di file asalnya. */
+    public JsonTokenizer(InputStream in, long baseOffset, int bufferSize) {
+        this.in = in;
+        this.buffer = new byte[bufferSize];
+        this.bufferOffset = baseOffset;
+        stack[depth++] = EMPTY_DOCUMENT;
+    }
+
+    /** Token berikutnya tanpa mengkonsumsinya. */
+    public int peek() throws IOException {
+        if (peeked == 0) {
+            peeked = doPeek();
+        }
+        return peeked;
+    }
+
+    /** Offset byte awal token hasil peek() terakhir, mis. '[' sebuah array. */
+    public long getTokenOffset() throws IOException {
+        peek();
+        return tokenOffset;
+    }
+
+    /** Offset byte tepat setelah token terakhir yang dikonsumsi. */
+    public long getOffset() {
+        return bufferOffset + pos;
+    }
+
+    public boolean hasNext() throws IOException {
+        int token = peek();
+        return token != END_OBJECT && token != END_ARRAY && token != END_DOCUMENT;
+    }
+
+    public void beginObject() throws IOException {
+        expect(BEGIN_OBJECT);
+        push(EMPTY_OBJECT);
+    }
+
+    public void endObject() throws IOException {
+        expect(END_OBJECT);
+        depth--;
+    }
+
+    public void beginArray() throws IOException {
+        expect(BEGIN_ARRAY);
+        push(EMPTY_ARRAY);
+    }
+
+    public void endArray() throws IOException {
+        expect(END_ARRAY);
+        depth--;
+    }
+
+    public String nextName() throws IOException {
+        expect(NAME);
+        int end = findAsciiStringEnd();
+        if (end >= 0) {
+            String name = cachedName(end);
+            pos = end + 1;
+            return name;
+        }
+        readString();
+        return cachedName();
+    }
+
+    public String nextString() throws IOException {
+        int token = peek();
+        if (token == NUMBER) {
+            peeked = 0;
+            readNumber();
+            return chars.toString();
+        }
+        expect(STRING);
+        int end = findAsciiStringEnd();
+        if (end >= 0) {
+            String value = new String(buffer, pos, end - pos, StandardCharsets.ISO_8859_1);
+            pos = end + 1;
+            return value;
+        }
+        readString();
+        return chars.toString();
+    }
+
+    /** String, atau fallback jika nilainya null. */
+    public String nextStringOrNull(String fallback) throws IOException {
+        if (peek() == NULL) {
+            nextNull();
+            return fallback;
+        }
+        return nextString();
+    }
+
+    public long nextLong() throws IOException {
+        expect(NUMBER);
+        readNumber();
+        int length = chars.length();
+        boolean negative = length > 0 && chars.charAt(0) == '-';
+        long value = 0;
+        for (int i = negative ? 1 : 0; i < length; i++) {
+            char c = chars.charAt(i);
+            if (c < '0' || c > '9') {
+                // Pecahan/eksponen: jalur lambat
+                return (long) Double.parseDouble(chars.toString());
+            }
+            value = value * 10 + (c - '0');
+        }
+        return negative ? -value : value;
+    }
+
+    public int nextInt() throws IOException {
+        return (int) nextLong();
+    }
+
+    public boolean nextBoolean() throws IOException {
+        expect(BOOLEAN);
+        byte first = read();
+        if (first == 't') {
+            expectLiteral("rue");
+            return true;
+        }
+        expectLiteral("alse");
+        return false;
+    }
+
+    public void nextNull() throws IOException {
+        expect(NULL);
+        read();
+        expectLiteral("ull");
+    }
+
+    /** Lewati satu nilai lengkap (termasuk object/array bersarang) tanpa decode string. */
+    public void skipValue() throws IOException {
+        skipValueCounting();
+    }
+
+    /**
+     * Seperti skipValue(); untuk array mengembalikan jumlah elemennya. Object dan array
+     * dilewati dengan scan byte mentah (hanya melacak kedalaman dan string), jauh lebih
+     * murah daripada tokenisasi penuh.
+     */
+    public int skipValueCounting() throws IOException {
+        switch (peek()) {
+            case BEGIN_OBJECT:
+            case BEGIN_ARRAY:
+                peeked = 0;
+                return scanContainer();
+            case STRING:
+                peeked = 0;
+                skipString();
+                return 0;
+            case NUMBER:
+                peeked = 0;
+                readNumber();
+                return 0;
+            case BOOLEAN:
+                nextBoolean();
+                return 0;
+            case NULL:
+                nextNull();
+                return 0;
+            default:
+                throw syntaxError("Expected a value");
+        }
+    }
+
+    // Pembuka '[' atau '{' sudah dikonsumsi doPeek. Loop bekerja langsung di buffer
+    // dengan variabel lokal; ini jalur terpanas saat melewati episode.
+    private int scanContainer() throws IOException {
+        int level = 1;
+        int commas = 0;
+        boolean empty = true;
+        boolean inString = false;
+        byte[] buffer = this.buffer;
+        while (true) {
+            if (pos == limit && !fill()) {
+                throw new EOFException("Unexpected end of JSON at offset " + getOffset());
+            }
+            int p = pos;
+            int end = limit;
+            while (p < end) {
+                int b = buffer[p++];
+                if (inString) {
+                    if (b == '"') {
+                        inString = false;
+                    } else if (b == '\\') {
+                        if (p == end) {
+                            // Escape terpotong di batas buffer: ambil byte berikutnya lewat read()
+                            pos = p;
+                            read();
+                            p = pos;
+                            end = limit;
+                        } else {
+                            p++;
+                        }
+                    }
+                    continue;
+                }
+                switch (b) {
+                    case '"':
+                        inString = true;
+                        empty = false;
+                        break;
+                    case '[':
+                    case '{':
+                        level++;
+                        empty = false;
+                        break;
+                    case ']':
+                    case '}':
+                        if (--level == 0) {
+                            pos = p;
+                            return empty ? 0 : commas + 1;
+                        }
+                        break;
+                    case ',':
+                        if (level == 1) {
+                            commas++;
+                        }
+                        break;
+                    case ' ':
+                    case '\n':
+                    case '\r':
+                    case '\t':
+                        break;
+                    default:
+                        empty = false;
+                }
+            }
+            pos = p;
+        }
+    }
+
+    private int doPeek() throws IOException {
+        int context = stack[depth - 1];
+        int c;
+        switch (context) {
+            case EMPTY_ARRAY:
+                stack[depth - 1] = NONEMPTY_ARRAY;
+                c = nextNonWhitespace();
+                if (c == ']') {
+                    return END_ARRAY;
+                }
+                pos--;
+                break;
+            case NONEMPTY_ARRAY:
+                c = nextNonWhitespace();
+                if (c == ']') {
+                    return END_ARRAY;
+                }
+                if (c != ',') {
+                    throw syntaxError("Expected ',' or ']'");
+                }
+                break;
+            case EMPTY_OBJECT:
+            case NONEMPTY_OBJECT:
+                c = nextNonWhitespace();
+                if (c == '}') {
+                    return END_OBJECT;
+                }
+                if (context == NONEMPTY_OBJECT) {
+                    if (c != ',') {
+                        throw syntaxError("Expected ',' or '}'");
+                    }
+                    c = nextNonWhitespace();
+                }
+                if (c != '"') {
+                    throw syntaxError("Expected name");
+                }
+                stack[depth - 1] = DANGLING_NAME;
+                return NAME;
+            case DANGLING_NAME:
+                stack[depth - 1] = NONEMPTY_OBJECT;
+                if (nextNonWhitespace() != ':') {
+                    throw syntaxError("Expected ':'");
+                }
+                break;
+            case EMPTY_DOCUMENT:
+                stack[depth - 1] = NONEMPTY_DOCUMENT;
+                break;
+            default:
+                if (nextNonWhitespaceOrEof() == -1) {
+                    return END_DOCUMENT;
+                }
+                throw syntaxError("Multiple top-level values");
+        }
+
+        c = nextNonWhitespace();
+        switch (c) {
+            case '{':
+                return BEGIN_OBJECT;
+            case '[':
+                return BEGIN_ARRAY;
+            case '"':
+                return STRING;
+            case 't':
+            case 'f':
+                pos--;
+                return BOOLEAN;
+            case 'n':
+                pos--;
+                return NULL;
+            default:
+                if (c == '-' || (c >= '0' && c <= '9')) {
+                    pos--;
+                    return NUMBER;
+                }
+                throw syntaxError("Unexpected character '" + (char) c + "'");
+        }
+    }
+
+    private void expect(int token) throws IOException {
+        int actual = peek();
+        if (actual != token) {
+            throw syntaxError("Expected token " + token + " but was " + actual);
+        }
+        peeked = 0;
+    }
+
+    private void push(int context) {
+        if (depth == stack.length) {
+            stack = java.util.Arrays.copyOf(stack, depth * 2);
+        }
+        stack[depth++] = context;
+    }
+
+    private int nextNonWhitespace() throws IOException {
+        int c = nextNonWhitespaceOrEof();
+        if (c == -1) {
+            throw new EOFException("Unexpected end of JSON at offset " + getOffset());
+        }
+        return c;
+    }
+
+    // Juga mencatat offset token: byte non-whitespace terakhir yang dibaca di doPeek
+    // selalu merupakan awal token
+    private int nextNonWhitespaceOrEof() throws IOException {
+        while (true) {
+            if (pos == limit && !fill()) {
+                return -1;
+            }
+            int c = buffer[pos++];
+            if (c != ' ' && c != '\n' && c != '\r' && c != '\t') {
+                tokenOffset = bufferOffset + pos - 1;
+                return c;
+            }
+        }
+    }
+
+    private byte read() throws IOException {
+        if (pos == limit && !fill()) {
+            throw new EOFException("Unexpected end of JSON at offset " + getOffset());
+        }
+        return buffer[pos++];
+    }
+
+    private boolean fill() throws IOException {
+        bufferOffset += limit;
+        pos = 0;
+        limit = 0;
+        int n = in.read(buffer, 0, buffer.length);
+        if (n <= 0) {
+            return false;
+        }
+        limit = n;
+        return true;
+    }
+
+    private void expectLiteral(String rest) throws IOException {
+        for (int i = 0; i < rest.length(); i++) {
+            if (read() != rest.charAt(i)) {
+                throw syntaxError("Invalid literal");
+            }
+        }
+    }
+
+    // Baca isi string (tanda kutip pembuka sudah dikonsumsi) ke chars, decode UTF-8 dan escape
+    private void readString() throws IOException {
+        chars.setLength(0);
+        while (true) {
+            int b = read();
+            if (b == '"') {
+                return;
+            }
+            if (b == '\\') {
+                readEscape();
+            } else if (b >= 0) {
+                chars.append((char) b);
+            } else if ((b & 0xE0) == 0xC0) {
+                chars.append((char) (((b & 0x1F) << 6) | (read() & 0x3F)));
+            } else if ((b & 0xF0) == 0xE0) {
+                chars.append((char) (((b & 0x0F) << 12) | ((read() & 0x3F) << 6) | (read() & 0x3F)));
+            } else {
+                int codePoint = ((b & 0x07) << 18) | ((read() & 0x3F) << 12)
+                        | ((read() & 0x3F) << 6) | (read() & 0x3F);
+                chars.appendCodePoint(codePoint);
+            }
+        }
+    }
+
+    private void readEscape() throws IOException {
+        int c = read();
+        switch (c) {
+            case 'n': chars.append('\n'); break;
+            case 't': chars.append('\t'); break;
+            case 'r': chars.append('\r'); break;
+            case 'b': chars.append('\b'); break;
+            case 'f': chars.append('\f'); break;
+            case 'u':
+                int value = 0;
+                for (int i = 0; i < 4; i++) {
+                    int digit = Character.digit(read(), 16);
+                    if (digit < 0) {
+                        throw syntaxError("Invalid \\u escape");
+                    }
+                    value = (value << 4) | digit;
+                }
+                chars.append((char) value);
+                break;
+            default:
+                // \" \\ \/
+                chars.append((char) c);
+        }
+    }
+
+    private void skipString() throws IOException {
+        while (true) {
+            int b = read();
+            if (b == '"') {
+                return;
+            }
+            if (b == '\\') {
+                read();
+            }
+        }
+    }
+
+    private void readNumber() throws IOException {
+        chars.setLength(0);
+        while (true) {
+            if (pos == limit && !fill()) {
+                return;
+            }
+            int c = buffer[pos];
+            if ((c >= '0' && c <= '9') || c == '-' || c == '+' || c == '.' || c == 'e' || c == 'E') {
+                chars.append((char) c);
+                pos++;
+            } else {
+                return;
+            }
+        }
+    }
+
+    // Jalur cepat: string ASCII tanpa escape yang seluruhnya sudah ada di buffer.
+    // Mengembalikan index tanda kutip penutup, atau -1 jika harus lewat readString().
+    private int findAsciiStringEnd() {
+        byte[] buffer = this.buffer;
+        for (int p = pos, end = limit; p < end; p++) {
+            int b = buffer[p];
+            if (b == '"') {
+                return p;
+            }
+            if (b == '\\' || b < 0) {
+                return -1;
+            }
+        }
+        return -1;
+    }
+
+    private String cachedName(int end) {
+        int hash = 0;
+        for (int p = pos; p < end; p++) {
+            hash = 31 * hash + buffer[p];
+        }
+        int slot = (hash ^ (hash >>> 16)) & (names.length - 1);
+        String name = names[slot];
+        if (name == null || !equalsAscii(name, pos, end)) {
+            name = new String(buffer, pos, end - pos, StandardCharsets.ISO_8859_1);
+            names[slot] = name;
+        }
+        return name;
+    }
+
+    private boolean equalsAscii(String name, int start, int end) {
+        if (name.length() != end - start) {
+            return false;
+        }
+        for (int i = 0; i < name.length(); i++) {
+            if (name.charAt(i) != buffer[start + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private String cachedName() {
+        int hash = 0;
+        for (int i = 0, n = chars.length(); i < n; i++) {
+            hash = 31 * hash + chars.charAt(i);
+        }
+        int slot = (hash ^ (hash >>> 16)) & (names.length - 1);
+        String name = names[slot];
+        if (name == null || !name.contentEquals(chars)) {
+            name = chars.toString();
+            names[slot] = name;
+        }
+        return name;
+    }
+
+    private IOException syntaxError(String message) {
+        return new IOException(message + " at offset " + getOffset());
+    }
+}
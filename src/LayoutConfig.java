@@ -0,0 +1,118 @@
+// LayoutConfig.java - Isi layouts/*.xml (menu dan HUD)
+package com.gimm;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+/**
+ * Elemen anak root sesuai urutan di file: &lt;button id="start"&gt;Start Game&lt;/button&gt;
+ * menjadi Widget("button", "start", "Start Game"). Immutable.
+ */
+public class LayoutConfig {
+
+    static final ConfigStore.Parser<LayoutConfig> PARSER = new ConfigStore.Parser<LayoutConfig>() {
+        @Override
+        public LayoutConfig parse(XMLStreamReader xml) throws XMLStreamException {
+            String root = xml.getLocalName();
+            List<Widget> widgets = new ArrayList<Widget>();
+            while (xml.hasNext()) {
+                int event = xml.next();
+                if (event == XMLStreamConstants.END_ELEMENT) {
+                    break;
+                }
+                if (event == XMLStreamConstants.START_ELEMENT) {
+                    String tag = xml.getLocalName();
+                    String id = xml.getAttributeValue(null, "id");
+                    widgets.add(new Widget(tag, id == null ? "" : id, ConfigStore.readText(xml)));
+                }
+            }
+            return new LayoutConfig(root, widgets);
+        }
+
+        @Override
+        public LayoutConfig defaults() {
+            return new LayoutConfig("", Collections.<Widget>emptyList());
+        }
+    };
+
+    private final String root;
+    private final List<Widget> widgets;
+
+    LayoutConfig(String root, List<Widget> widgets) {
+        this.root = root;
+        this.widgets = Collections.unmodifiableList(new ArrayList<Widget>(widgets));
+    }
+
+    /** Nama elemen root, mis. "menu" atau "ui"; "" jika file tidak ada. */
+    public String getRoot() {
+        return root;
+    }
+
+    public List<Widget> getWidgets() {
+        return widgets;
+    }
+
+    /** Teks &lt;title&gt; pertama, atau fallback. */
+    public String getTitle(String fallback) {
+        for (Widget widget : widgets) {
+            if (widget.getTag().equals("title")) {
+                return widget.getText();
+            }
+        }
+        return fallback;
+    }
+
+    /** Teks widget dengan id tersebut, atau fallback. */
+    public String getText(String id, String fallback) {
+        for (Widget widget : widgets) {
+            if (widget.getId().equals(id)) {
+                return widget.getText();
+            }
+        }
+        return fallback;
+    }
+
+    /** Semua widget dengan tag tersebut, mis. "button". */
+    public List<Widget> getWidgets(String tag) {
+        List<Widget> result = new ArrayList<Widget>();
+        for (Widget widget : widgets) {
+            if (widget.getTag().equals(tag)) {
+                result.add(widget);
+            }
+        }
+        return result;
+    }
+
+    public static class Widget {
+        private final String tag;
+        private final String id;
+        private final String text;
+
+        Widget(String tag, String id, String text) {
+            this.tag = tag;
+            this.id = id;
+            this.text = text;
+        }
+
+        public String getTag() {
+            return tag;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public String getText() {
+            return text;
+        }
+
+        @Override
+        public String toString() {
+            return tag + (id.isEmpty() ? "" : "#" + id) + " " + text;
+        }
+    }
+}
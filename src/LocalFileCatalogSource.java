@@ -0,0 +1,85 @@
+// LocalFileCatalogSource.java - Pengganti server katalog berbasis folder
+package com.gimm;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Layout folder:
+ * <pre>
+ * root/anime.json       snapshot penuh versi terbaru
+ * root/patches/*.json   patch (lihat {@link CatalogPatch}), nama file bebas
+ * </pre>
+ * Dipakai untuk development dan test sync tanpa server; implementasi HTTP cukup
+ * memetakan tiga method {@link CatalogSource} ke endpoint yang sama. Folder patch
+ * diindeks since -&gt; file sekali, dan diindeks ulang hanya jika isi folder berubah.
+ */
+public class LocalFileCatalogSource implements CatalogSource {
+
+    private final File snapshot;
+    private final File patchDirectory;
+    private Map<String, File> patchesBySince;
+    private long indexedModified;
+
+    public LocalFileCatalogSource(File root) {
+        this.snapshot = new File(root, "anime.json");
+        this.patchDirectory = new File(root, "patches");
+    }
+
+    @Override
+    public String getLatestVersion() throws IOException {
+        return CatalogSync.readLastUpdated(snapshot);
+    }
+
+    @Override
+    public synchronized InputStream openPatch(String since) throws IOException {
+        File file = indexPatches().get(since);
+        return file == null ? null : new FileInputStream(file);
+    }
+
+    @Override
+    public InputStream openFull() throws IOException {
+        return new FileInputStream(snapshot);
+    }
+
+    // lastModified folder berubah saat file patch ditambah atau dihapus
+    private Map<String, File> indexPatches() throws IOException {
+        long modified = patchDirectory.lastModified();
+        if (patchesBySince == null || modified != indexedModified) {
+            Map<String, File> index = new HashMap<String, File>();
+            File[] files = patchDirectory.listFiles();
+            if (files != null) {
+                for (File file : files) {
+                    if (file.isFile() && file.getName().endsWith(".json")) {
+                        index.put(readSince(file), file);
+                    }
+                }
+            }
+            patchesBySince = index;
+            indexedModified = modified;
+        }
+        return patchesBySince;
+    }
+
+    // Hanya field since yang dibaca; isi patch dilewati tanpa diparse
+    private static String readSince(File file) throws IOException {
+        InputStream in = new FileInputStream(file);
+        try {
+            JsonTokenizer json = new JsonTokenizer(in);
+            json.beginObject();
+            while (json.hasNext()) {
+                if (json.nextName().equals("since")) {
+                    return json.nextString();
+                }
+                json.skipValue();
+            }
+            throw new IOException("Patch without \"since\": " + file);
+        } finally {
+            in.close();
+        }
+    }
+}
@@ -1,6 +1,39 @@
+import com.gimm.ConfigStore;
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+
 public class MainActivity {
-    public static void main(String[] args) {
-        GameEngine game = new GameEngine();
-        game.showMainMenu();
+    public static void main(String[] args) throws Exception {
+        ConfigStore config = new ConfigStore(new File(args.length > 0 ? args[0] : "."));
+        config.startWatching();
+        final GameEngine game = new GameEngine(config);
+        final GameLoop loop = game.createLoop();
+
+        // Input konsol dibaca di thread terpisah supaya loop tidak pernah blok di I/O
+        Thread input = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                BufferedReader reader = new BufferedReader(new InputStreamReader(System.in));
+                try {
+                    String line;
+                    while ((line = reader.readLine()) != null) {
+                        game.post(line);
+                    }
+                } catch (IOException e) {
+                    System.err.println("Console input closed: " + e.getMessage());
+                } finally {
+                    // EOF (Ctrl-D, pipe habis): tidak ada lagi yang bisa menghentikan loop
+                    loop.stop();
+                }
+            }
+        }, "console-input");
+        input.setDaemon(true);
+        input.start();
+
+        // Berjalan sampai "exit" dipilih di menu atau input konsol habis
+        loop.run();
+        config.close();
     }
-}
\ No newline at end of file
+}
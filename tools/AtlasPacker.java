@@ -0,0 +1,33 @@
+package com.gimm.tools;
+
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.tools.texturepacker.TexturePacker;
+
+/**
+ * Build-time tool (desktop, butuh gdx-tools): mengemas semua PNG sprite menjadi
+ * satu sprites.atlas yang dibaca oleh GameAssets.
+ *
+ * Pemakaian: AtlasPacker &lt;folder sprite&gt; &lt;folder assets output&gt;
+ */
+public class AtlasPacker {
+  public static void main(String[] args) {
+    if (args.length != 2) {
+      System.err.println("Usage: AtlasPacker <sprite-dir> <assets-dir>");
+      System.exit(1);
+    }
+
+    TexturePacker.Settings settings = new TexturePacker.Settings();
+    settings.maxWidth = 2048;
+    settings.maxHeight = 2048;
+    settings.pot = true;
+    // Padding + duplicatePadding mencegah bleeding antar sprite saat filtering
+    settings.paddingX = 2;
+    settings.paddingY = 2;
+    settings.duplicatePadding = true;
+    settings.filterMin = Texture.TextureFilter.Linear;
+    settings.filterMag = Texture.TextureFilter.Linear;
+
+    TexturePacker.process(settings, args[0], args[1], "sprites");
+    System.out.println("Packed " + args[0] + " into " + args[1] + "/sprites.atlas");
+  }
+}